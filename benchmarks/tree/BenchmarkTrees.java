@@ -0,0 +1,72 @@
+package tree;
+
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the trees of an exact size and of the given shape for the benchmarks. The nodes are created one by one,
+ * and every new node is attached to a node which was created before it. The same seed gives the same tree.
+ */
+public class BenchmarkTrees {
+    private static final int BALANCED_CHILDREN_COUNT = 4;
+    private static final int DEEP_WINDOW = 4;
+
+
+    public static MutableTree<Integer> createMutableTree(int size, TreeShape shape, long seed) {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        Random random = new Random(seed);
+
+        List<MutableNode<Integer>> nodes = new ArrayList<>(size);
+        nodes.add(new MutableNode<>(operations, getRandomValue(random)));
+
+        for (int i = 1; i < size; i++) {
+            MutableNode<Integer> parent = nodes.get(getParentIndex(i, shape, random));
+            MutableNode<Integer> node = new MutableNode<>(operations, getRandomValue(random));
+
+            node.setParent(parent);
+            parent.addChild(node);
+            nodes.add(node);
+        }
+
+        return new MutableTree<>(operations, nodes.get(0));
+    }
+
+    public static ImmutableTree<Integer> createImmutableTree(int size, TreeShape shape, long seed) {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        Random random = new Random(seed);
+
+        List<ImmutableNode<Integer>> nodes = new ArrayList<>(size);
+        nodes.add(new ImmutableNode<>(operations, getRandomValue(random)));
+
+        for (int i = 1; i < size; i++) {
+            ImmutableNode<Integer> parent = nodes.get(getParentIndex(i, shape, random));
+            ImmutableNode<Integer> node = new ImmutableNode<>(operations, getRandomValue(random), new ArrayList<>(), parent);
+
+            parent.getChildren().add(node);
+            nodes.add(node);
+        }
+
+        return new ImmutableTree<>(operations, nodes.get(0));
+    }
+
+    /**
+     * Chooses the parent of the node with the given index among the nodes which were created before it.
+     */
+    private static int getParentIndex(int index, TreeShape shape, Random random) {
+        switch (shape) {
+            case BALANCED:
+                return (index - 1) / BALANCED_CHILDREN_COUNT;
+            case DEEP:
+                return index - 1 - random.nextInt(Math.min(index, DEEP_WINDOW));
+            default:
+                return random.nextInt(index);
+        }
+    }
+
+    private static int getRandomValue(Random random) {
+        return random.nextInt(21) - 10;
+    }
+}
@@ -0,0 +1,49 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures getChildParentMap of the mutable and immutable trees. The map stores all parents of every node, so its
+ * size is the sum of the depths of all nodes: it is quadratic for the deep trees, and the sizes here are smaller than
+ * in the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildParentMapBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "5000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> mutableTree;
+    private ImmutableTree<Integer> immutableTree;
+
+
+    @Setup
+    public void setUp() {
+        mutableTree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        immutableTree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+    }
+
+
+    @Benchmark
+    public Map<Node<Integer>, Set<Node<Integer>>> mutableGetChildParentMap() {
+        return mutableTree.getChildParentMap();
+    }
+
+    @Benchmark
+    public Map<Node<Integer>, Set<Node<Integer>>> immutableGetChildParentMap() {
+        return immutableTree.getChildParentMap();
+    }
+}
@@ -0,0 +1,49 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the random generation of the mutable and immutable trees with TreeGenerator. The size and the shape of
+ * the generated trees are given by the height and the maximum number of children of every node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"4", "6"})
+    private int height;
+
+    @Param({"4", "8"})
+    private int maxChildrenCount;
+
+    private TreeGenerator<Integer> generator;
+
+
+    @Setup
+    public void setUp() {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(height, maxChildrenCount, new Interval<>(operations, -10, 10)));
+    }
+
+
+    @Benchmark
+    public AbstractTree<Integer> generateMutableTree() {
+        return generator.generateRandomMutableTree().getTree();
+    }
+
+    @Benchmark
+    public AbstractTree<Integer> generateImmutableTree() {
+        return generator.generateRandomImmutableTree().getTree();
+    }
+}
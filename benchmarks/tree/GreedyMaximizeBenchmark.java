@@ -0,0 +1,49 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the greedy maximizeGreedy() of the mutable and immutable trees. The immutable tree copies only the path
+ * from the removed node to the root, but it still scans the whole tree for the deepest negative subtree after every
+ * removal, so it is O(n^2), and the trees are smaller than in MaximizeBenchmark.
+ * The mutable tree updates a NegativeSubtreeIndex along the path to the root instead, which is only quadratic
+ * for the deep trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreedyMaximizeBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> mutableTree;
+    private ImmutableTree<Integer> immutableTree;
+
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        mutableTree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        immutableTree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+    }
+
+
+    @Benchmark
+    public AbstractTree<Integer> mutableMaximizeGreedy() {
+        return mutableTree.maximizeGreedy();
+    }
+
+    @Benchmark
+    public AbstractTree<Integer> immutableMaximizeGreedy() {
+        return immutableTree.maximizeGreedy();
+    }
+}
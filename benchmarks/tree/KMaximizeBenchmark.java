@@ -0,0 +1,54 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+import tree.maximizer.TreeKMaximizer;
+import tree.maximizer.TreeKnapsackKMaximizer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search of the nodes to remove with no more than k removals. TreeKMaximizer is O(k^2 * n^2), so the
+ * trees are small. A new maximizer is created for every invocation, but the maximizers take the nodes and the index
+ * from the TreeIndexes of the tree, which are built lazily once for its version and are not changed by maximize(k).
+ * The indexes are built in the setup, so only the search itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KMaximizeBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"100", "400"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    @Param({"1", "3", "5"})
+    private int k;
+
+    private ImmutableTree<Integer> tree;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+        tree.getRoot().getSubtreeWeight();
+        tree.getTreeIndex();
+    }
+
+
+    @Benchmark
+    public List<Node<Integer>> treeKMaximizer() {
+        return new TreeKMaximizer<>(tree).maximize(k);
+    }
+
+    @Benchmark
+    public List<Node<Integer>> treeKnapsackKMaximizer() {
+        return new TreeKnapsackKMaximizer<>(tree).maximize(k);
+    }
+}
@@ -0,0 +1,50 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the single-pass maximize() of the mutable and immutable trees on trees of up to 10^6 nodes. The mutable
+ * tree is changed by the maximization, so both trees are created again before every invocation (the creation is not
+ * measured). The subtree weights are not calculated in advance: all maximizations calculate them.
+ *
+ * The greedy maximizeGreedy() is quadratic, so it is measured by GreedyMaximizeBenchmark only on 1000 and 10000
+ * nodes. These sizes are measured here too, so the single-pass and the greedy maximizations can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaximizeBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> mutableTree;
+    private ImmutableTree<Integer> immutableTree;
+
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        mutableTree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        immutableTree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+    }
+
+
+    @Benchmark
+    public AbstractTree<Integer> mutableMaximize() {
+        return mutableTree.maximize();
+    }
+
+    @Benchmark
+    public AbstractTree<Integer> immutableMaximize() {
+        return immutableTree.maximize();
+    }
+}
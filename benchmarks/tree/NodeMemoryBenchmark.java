@@ -0,0 +1,152 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory of the mutable nodes with the intrusive sibling lists with the layout where every node has
+ * its own ArrayList of children (as MutableNode had before). Run it with the gc profiler: gc.alloc.rate.norm is
+ * the number of bytes which are allocated to build the tree, and the trees are not changed after that.
+ *
+ *     java -jar target/benchmarks.jar NodeMemoryBenchmark -prof gc
+ *
+ * The reparent benchmarks move every node of the tree to another parent, which shows the cost of the detach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeMemoryBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private Operations<Integer> operations = Operations.getIntegerOperations();
+    private int[] parents;
+    private int[] newParents;
+
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        parents = new int[size];
+        newParents = new int[size];
+
+        List<Node<Integer>> nodes = BenchmarkTrees.createMutableTree(size, shape, SEED).getNodesCollection();
+        List<Node<Integer>> order = new ArrayList<>(nodes);
+        order.sort((first, second) -> Integer.compare(first.getHeight(), second.getHeight()));
+
+        Map<Node<Integer>, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            indexes.put(order.get(i), i);
+        }
+
+        //The parent of every node goes before it, and the node can be moved to any node before it.
+        parents[0] = -1;
+        newParents[0] = -1;
+        for (int i = 1; i < order.size(); i++) {
+            parents[i] = indexes.get(order.get(i).getParent());
+            newParents[i] = random.nextInt(i);
+        }
+    }
+
+
+    @Benchmark
+    public Object buildLinkedNodes() {
+        return buildLinkedTree();
+    }
+
+    @Benchmark
+    public Object buildArrayListNodes() {
+        return buildArrayListTree();
+    }
+
+    @Benchmark
+    public Object reparentLinkedNodes() {
+        MutableNode<Integer>[] nodes = buildLinkedTree();
+
+        for (int i = 1; i < nodes.length; i++) {
+            nodes[newParents[i]].addChild(nodes[i]);
+        }
+
+        return nodes;
+    }
+
+    @Benchmark
+    public Object reparentArrayListNodes() {
+        ArrayListNode[] nodes = buildArrayListTree();
+
+        for (int i = 1; i < nodes.length; i++) {
+            nodes[i].parent.children.remove(nodes[i]);
+            nodes[i].parent = nodes[newParents[i]];
+            nodes[newParents[i]].children.add(nodes[i]);
+        }
+
+        return nodes;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private MutableNode<Integer>[] buildLinkedTree() {
+        MutableNode<Integer>[] nodes = new MutableNode[size];
+
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new MutableNode<>(operations, i);
+
+            if (parents[i] >= 0) {
+                nodes[parents[i]].addChild(nodes[i]);
+            }
+        }
+
+        return nodes;
+    }
+
+    private ArrayListNode[] buildArrayListTree() {
+        ArrayListNode[] nodes = new ArrayListNode[size];
+
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new ArrayListNode(operations, i);
+
+            if (parents[i] >= 0) {
+                nodes[i].parent = nodes[parents[i]];
+                nodes[i].height = nodes[i].parent.height + 1;
+                nodes[parents[i]].children.add(nodes[i]);
+            }
+        }
+
+        return nodes;
+    }
+
+
+    /**
+     * The fields of MutableNode before the children were stored as the sibling lists.
+     */
+    private static class ArrayListNode {
+        private Integer value;
+        private ArrayListNode parent;
+        private Collection<ArrayListNode> children = new ArrayList<>();
+        private Integer subtreeWeight;
+        private int height;
+        private Operations<Integer> operations;
+
+        ArrayListNode(Operations<Integer> operations, Integer value) {
+            this.operations = operations;
+            this.subtreeWeight = operations.getZero();
+            this.value = value;
+        }
+    }
+}
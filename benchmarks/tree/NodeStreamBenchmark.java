@@ -0,0 +1,55 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stream of nodes from AbstractTree.nodes with the stream of the copied list of nodes, sequential and
+ * parallel (in the common pool). The parallel results only make sense on a machine with several cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeStreamBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> tree;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        tree.calculateSizeAndSum();
+    }
+
+
+    @Benchmark
+    public long nodesStream() {
+        return tree.nodes().filter(node -> node.getValue() < 0).count();
+    }
+
+    @Benchmark
+    public long nodesParallelStream() {
+        return tree.nodes().parallel().filter(node -> node.getValue() < 0).count();
+    }
+
+    @Benchmark
+    public long collectionStream() {
+        return tree.getNodesCollection().stream().filter(node -> node.getValue() < 0).count();
+    }
+
+    @Benchmark
+    public long collectionParallelStream() {
+        return tree.getNodesCollection().parallelStream().filter(node -> node.getValue() < 0).count();
+    }
+}
@@ -0,0 +1,91 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookups of the ids of all nodes in NodeIds (the ids of the tree are kept by the mutable nodes,
+ * the immutable nodes are found in the identity map) with the lookups in HashMap&lt;Node, Integer&gt;, and measures
+ * how long the TreeIndex is built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeTableBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"RANDOM"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> mutableTree;
+    private List<Node<Integer>> mutableNodes;
+    private List<Node<Integer>> immutableNodes;
+    private NodeIds<Integer> mutableNodeIds;
+    private NodeIds<Integer> immutableNodeIds;
+    private Map<Node<Integer>, Integer> nodesMap;
+
+
+    @Setup
+    public void setUp() {
+        mutableTree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        mutableNodes = mutableTree.getNodesCollection();
+        immutableNodes = BenchmarkTrees.createImmutableTree(size, shape, SEED).getNodesCollection();
+        mutableNodeIds = mutableTree.getNodeIds();
+        immutableNodeIds = new NodeIds<>(immutableNodes);
+        immutableNodeIds.getId(immutableNodes.get(0));
+
+        nodesMap = new HashMap<>();
+        for (int i = 0; i < mutableNodes.size(); i++) {
+            nodesMap.put(mutableNodes.get(i), i);
+        }
+    }
+
+
+    @Benchmark
+    public long mutableNodeIds() {
+        long sum = 0;
+
+        for (Node<Integer> node : mutableNodes) {
+            sum += mutableNodeIds.getId(node);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long immutableNodeIds() {
+        long sum = 0;
+
+        for (Node<Integer> node : immutableNodes) {
+            sum += immutableNodeIds.getId(node);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long hashMap() {
+        long sum = 0;
+
+        for (Node<Integer> node : mutableNodes) {
+            sum += nodesMap.get(node);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public TreeIndex<Integer> buildTreeIndex() {
+        return new TreeIndex<>(mutableTree.getRoot());
+    }
+}
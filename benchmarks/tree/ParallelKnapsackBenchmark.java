@@ -0,0 +1,69 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+import tree.maximizer.KMaximizer;
+import tree.maximizer.ParallelTreeKnapsackKMaximizer;
+import tree.maximizer.TreeKnapsackKMaximizer;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the tree knapsack DP of the K-maximization scales with the number of threads. threads=0 is
+ * TreeKnapsackKMaximizer, other values are the sizes of the pool of ParallelTreeKnapsackKMaximizer. The results
+ * only make sense on a machine with at least that many cores:
+ *
+ *     java -jar target/benchmarks.jar ParallelKnapsackBenchmark -p threads=0,1,2,4,8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelKnapsackBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM"})
+    private TreeShape shape;
+
+    @Param({"20", "200"})
+    private int k;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int threads;
+
+    private ImmutableTree<Integer> tree;
+    private ForkJoinPool pool;
+    private KMaximizer<Integer> maximizer;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            maximizer = new ParallelTreeKnapsackKMaximizer<>(tree, pool);
+        } else {
+            maximizer = new TreeKnapsackKMaximizer<>(tree);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+
+    @Benchmark
+    public List<Node<Integer>> maximize() {
+        return maximizer.maximize(k);
+    }
+}
@@ -0,0 +1,65 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how calculateSizeAndSum and getNodesCollection scale with the number of threads. threads=0 is
+ * the sequential BFS, other values are the sizes of the fork/join pool. The deep tree has narrow levels, so it shows
+ * the overhead of the level-synchronous BFS when nothing is processed in the pool:
+ *
+ *     java -jar target/benchmarks.jar ParallelLevelTraversalBenchmark -p threads=0,1,2,4,8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLevelTraversalBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int threads;
+
+    private MutableTree<Integer> tree;
+    private ForkJoinPool pool;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            tree.setParallelPool(pool);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+
+    @Benchmark
+    public Integer calculateSizeAndSum() {
+        return tree.calculateSizeAndSum().getSum();
+    }
+
+    @Benchmark
+    public List<Node<Integer>> getNodesCollection() {
+        return tree.getNodesCollection();
+    }
+}
@@ -0,0 +1,60 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the calculation of the subtree weights of the mutable tree scales with the number of threads.
+ * threads=0 is the sequential calculation, other values are the sizes of the fork/join pool. The results only make
+ * sense on a machine with at least that many cores:
+ *
+ *     java -jar target/benchmarks.jar ParallelWeightsBenchmark -p threads=0,1,2,4,8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelWeightsBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int threads;
+
+    private MutableTree<Integer> tree;
+    private ForkJoinPool pool;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            tree.setParallelPool(pool);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+
+    @Benchmark
+    public Integer calculateSubtreesWeights() {
+        tree.calculateSubtreesWeights();
+        return tree.getRoot().getSubtreeWeight();
+    }
+}
@@ -0,0 +1,70 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+import tree.columnar.LongColumnarTree;
+import tree.maximizer.TreeKnapsackKMaximizer;
+import tree.operations.IntOperations;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hot loops with the default Integer operations (the lambdas and the boxed sums) with the same loops
+ * for IntOperations, which the algorithms detect and run without boxing. Run it with the gc profiler to see
+ * the allocation rate:
+ *
+ *     java -jar target/benchmarks.jar PrimitiveOperationsBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimitiveOperationsBenchmark {
+    private static final long SEED = 42;
+    private static final int K = 5;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    @Param({"BOXED", "PRIMITIVE"})
+    private String operations;
+
+    private MutableTree<Integer> tree;
+
+
+    @Setup
+    public void setUp() {
+        tree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+
+        if (operations.equals("PRIMITIVE")) {
+            tree = LongColumnarTree.fromTree(tree).toMutableTree(new IntOperations(), value -> (int)value);
+        }
+    }
+
+
+    @Benchmark
+    public Integer calculateSizeAndSum() {
+        return tree.calculateSizeAndSum().getSum();
+    }
+
+    @Benchmark
+    public Integer calculateSubtreesWeights() {
+        tree.calculateSubtreesWeights();
+        return tree.getRoot().getSubtreeWeight();
+    }
+
+    @Benchmark
+    public List<Node<Integer>> findNegativeSubtreesToRemove() {
+        return tree.findNegativeSubtreesToRemove();
+    }
+
+    @Benchmark
+    public List<Node<Integer>> knapsackKMaximizer() {
+        return new TreeKnapsackKMaximizer<>(tree).maximize(K);
+    }
+}
@@ -0,0 +1,79 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the subtree weights of the immutable nodes calculated with a BFS on every call (as it was before
+ * the weights were cached) with the cached weights. The weight of every node is read, as findDeepestNegativeSubtree
+ * does. A new tree is created before every invocation, so the cached weights are calculated by the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubtreeWeightBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private List<Node<Integer>> nodes;
+
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        nodes = BenchmarkTrees.createImmutableTree(size, shape, SEED).getNodesCollection();
+    }
+
+
+    @Benchmark
+    public int allWeightsWithBfs() {
+        int result = 0;
+
+        for (Node<Integer> node : nodes) {
+            result += calculateSubtreeWeightWithBfs(node);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public int allCachedWeights() {
+        int result = 0;
+
+        for (Node<Integer> node : nodes) {
+            result += node.getSubtreeWeight();
+        }
+
+        return result;
+    }
+
+
+    /**
+     * The weight calculation which ImmutableNode used before the weights were cached.
+     */
+    private static int calculateSubtreeWeightWithBfs(Node<Integer> node) {
+        int subtreeWeight = node.getValue();
+
+        Queue<Node<Integer>> pendingNodes = new ArrayDeque<>(node.getChildren());
+
+        while (pendingNodes.size() > 0) {
+            Node<Integer> currNode = pendingNodes.poll();
+            subtreeWeight += currNode.getValue();
+
+            pendingNodes.addAll(currNode.getChildren());
+        }
+
+        return subtreeWeight;
+    }
+}
@@ -0,0 +1,71 @@
+package tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole-tree scans of the mutable and immutable trees. The trees are created once per trial and are
+ * not changed by the benchmarks. The subtree weights are calculated in the setup, so findDeepestNegativeSubtree
+ * only reads them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"BALANCED", "RANDOM", "DEEP"})
+    private TreeShape shape;
+
+    private MutableTree<Integer> mutableTree;
+    private ImmutableTree<Integer> immutableTree;
+
+
+    @Setup
+    public void setUp() {
+        mutableTree = BenchmarkTrees.createMutableTree(size, shape, SEED);
+        mutableTree.calculateSubtreesWeights();
+
+        immutableTree = BenchmarkTrees.createImmutableTree(size, shape, SEED);
+        immutableTree.getRoot().getSubtreeWeight();
+    }
+
+
+    @Benchmark
+    public AbstractTree<Integer> mutableCalculateSizeAndSum() {
+        return mutableTree.calculateSizeAndSum();
+    }
+
+    @Benchmark
+    public AbstractTree<Integer> immutableCalculateSizeAndSum() {
+        return immutableTree.calculateSizeAndSum();
+    }
+
+    @Benchmark
+    public List<Node<Integer>> mutableGetNodesCollection() {
+        return mutableTree.getNodesCollection();
+    }
+
+    @Benchmark
+    public List<Node<Integer>> immutableGetNodesCollection() {
+        return immutableTree.getNodesCollection();
+    }
+
+    @Benchmark
+    public Node<Integer> mutableFindDeepestNegativeSubtree() {
+        return mutableTree.findDeepestNegativeSubtree();
+    }
+
+    @Benchmark
+    public Node<Integer> immutableFindDeepestNegativeSubtree() {
+        return immutableTree.findDeepestNegativeSubtree();
+    }
+}
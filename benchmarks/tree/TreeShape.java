@@ -0,0 +1,23 @@
+package tree;
+
+/**
+ * The shapes of the trees which are created for the benchmarks (see BenchmarkTrees).
+ */
+public enum TreeShape {
+
+    /**
+     * The complete tree where every node has 4 children. The height is log4(n).
+     */
+    BALANCED,
+
+    /**
+     * Every new node is attached to a random node which was created before it. The height is O(log n) on average,
+     * the number of children differs from node to node.
+     */
+    RANDOM,
+
+    /**
+     * Every new node is attached to one of the last 4 created nodes. The height is about 0.4 * n.
+     */
+    DEEP
+}
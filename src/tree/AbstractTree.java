@@ -1,9 +1,22 @@
 package tree;
 
 import tree.maximizer.KMaximizer;
+import tree.maximizer.ParallelTreeKnapsackKMaximizer;
+import tree.maximizer.ProfitCurve;
+import tree.maximizer.TreeKnapsackKMaximizer;
+import tree.operations.DoubleOperations;
+import tree.operations.IntegralOperations;
 import tree.operations.Operations;
+import tree.traversal.SubtreeSpliterator;
+import tree.traversal.TraversalAction;
+import tree.traversal.TraversalCursor;
+import tree.traversal.TreeTraversal;
+import tree.traversal.TreeVisitor;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The base class for all trees in the project.
@@ -32,6 +45,23 @@ public abstract class AbstractTree<T extends Number> {
      */
     T sum;
 
+    /**
+     * The traversal engine of the tree. The work stacks of the traversals are kept for every thread separately
+     * (see TreeTraversal), so the tree can be read by several threads at once.
+     */
+    TreeTraversal<T> traversal = new TreeTraversal<>();
+
+    /**
+     * The pool of the parallel algorithms of the tree, or null if the tree is processed in the current thread.
+     */
+    ForkJoinPool parallelPool;
+
+    /**
+     * The version of the structure of the tree and the indexes which are built for it.
+     */
+    private int version;
+    private TreeIndexes<T> indexes;
+
 
     public AbstractTree(Operations<T> operations) {
         this.operations = operations;
@@ -54,6 +84,73 @@ public abstract class AbstractTree<T extends Number> {
         return operations;
     }
 
+    public ForkJoinPool getParallelPool() {
+        return parallelPool;
+    }
+
+    /**
+     * Sets the pool in which the parallel algorithms of the tree run (for example, the subtree weights of
+     * MutableTree, the BFS of calculateSizeAndSum and getNodesCollection, or the knapsack DP of maximize(k)).
+     * The results do not depend on the pool, except the last bits of the double sum of the tree, which is added in
+     * another order.
+     * @param parallelPool The pool, or null if the tree must be processed in the current thread.
+     */
+    public AbstractTree<T> setParallelPool(ForkJoinPool parallelPool) {
+        this.parallelPool = parallelPool;
+
+        if (kMaximizer instanceof TreeKnapsackKMaximizer) {
+            kMaximizer = parallelPool == null ? new TreeKnapsackKMaximizer<>(this) :
+                    new ParallelTreeKnapsackKMaximizer<>(this, parallelPool);
+        }
+
+        return this;
+    }
+
+
+    public TraversalCursor<T> preOrderCursor() {
+        return traversal.preOrderCursor(root);
+    }
+
+    public TraversalCursor<T> postOrderCursor() {
+        return traversal.postOrderCursor(root);
+    }
+
+    public TraversalCursor<T> levelOrderCursor() {
+        return traversal.levelOrderCursor(root);
+    }
+
+    /**
+     * Returns the stream of all nodes of the tree in the pre-order, without copying them into a list. The parallel
+     * stream is split at the subtree boundaries. The size of the stream is estimated from getSize, so it is better
+     * to call calculateSizeAndSum before.
+     */
+    public Stream<Node<T>> nodes() {
+        long estimatedSize = root == null ? 0 : size > 0 ? size : Long.MAX_VALUE;
+
+        return StreamSupport.stream(new SubtreeSpliterator<>(root, estimatedSize), false);
+    }
+
+    /**
+     * Visits all nodes in the pre-order. The visitor can skip the subtree of the visited node.
+     */
+    public void traversePreOrder(TreeVisitor<T> visitor) {
+        traversal.preOrder(root, visitor);
+    }
+
+    /**
+     * Visits all nodes in the post-order, every node is visited after its children.
+     */
+    public void traversePostOrder(TreeVisitor<T> visitor) {
+        traversal.postOrder(root, visitor);
+    }
+
+    /**
+     * Visits all nodes in the BFS order. The visitor can skip the subtree of the visited node.
+     */
+    public void traverseLevelOrder(TreeVisitor<T> visitor) {
+        traversal.levelOrder(root, visitor);
+    }
+
 
     /**
      * Finds the deepest negative subtree in the current tree. This method is used in the greedy algorithm
@@ -61,46 +158,172 @@ public abstract class AbstractTree<T extends Number> {
      * @return The root of the found subtree.
      */
     Node<T> findDeepestNegativeSubtree() {
+        if (root == null) {
+            return null;
+        }
+
         Node<T> minSubtreeRoot = root;
         int maxHeight = 0;
 
-        Queue<Node<T>> pendingNodes = new ArrayDeque<>();
-        pendingNodes.addAll(root.getChildren());
+        TraversalCursor<T> cursor = levelOrderCursor();
 
-        while (pendingNodes.size() > 0) {
-            Node<T> currNode = pendingNodes.poll();
+        while (cursor.hasNext()) {
+            Node<T> currNode = cursor.next();
             T currNodeSubtreeWeight = currNode.getSubtreeWeight();
 
-            if (operations.compare(currNodeSubtreeWeight, operations.getZero()) == -1 && currNode.getHeight() > maxHeight) {
+            if (currNode != root && operations.compare(currNodeSubtreeWeight, operations.getZero()) == -1 &&
+                    currNode.getHeight() > maxHeight) {
                 minSubtreeRoot = currNode;
                 maxHeight = currNode.getHeight();
             }
-
-            pendingNodes.addAll(currNode.getChildren());
         }
 
         return minSubtreeRoot;
     }
 
 
+    /**
+     * Finds the roots of the subtrees which must be removed in order to maximize the tree with an unlimited number
+     * of removals. The result is the same as the result of the greedy algorithm (which removes the deepest negative
+     * subtree while there is one), but it is calculated in a single post-order pass.
+     *
+     * Every node gets a contribution: its value plus the positive contributions of its children. The greedy
+     * algorithm removes the deeper subtrees first, so when it reaches a node, the node's subtree weight is exactly
+     * its contribution. The node is removed if the contribution is negative and none of its parents is removed.
+     *
+     * @return The list of roots of the subtrees which must be removed. Contains only the root if the whole tree
+     * must be removed.
+     */
+    List<Node<T>> findNegativeSubtreesToRemove() {
+        List<Node<T>> nodesToRemove = new ArrayList<>();
+        List<Node<T>> nodesCollection = getIndexes().getNodes();
+        int nodesCount = nodesCollection.size();
+
+        //The children of every node follow each other in the BFS order, so we can restore the parents' indexes.
+        int[] parents = new int[nodesCount];
+        int nextChild = 1;
+
+        for (int i = 0; i < nodesCount; i++) {
+            for (int j = nodesCollection.get(i).getChildren().size(); j > 0; j--) {
+                parents[nextChild++] = i;
+            }
+        }
+
+        boolean[] negativeContributions = findNegativeContributions(nodesCollection, parents);
+        boolean[] removed = new boolean[nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            if (i > 0 && removed[parents[i]]) {
+                removed[i] = true;
+            } else if (negativeContributions[i]) {
+                removed[i] = true;
+                nodesToRemove.add(nodesCollection.get(i));
+            }
+        }
+
+        return nodesToRemove;
+    }
+
+    /**
+     * Calculates the contributions of the nodes for findNegativeSubtreesToRemove. The primitive operations are
+     * detected, so their contributions are summed without boxing.
+     * @param nodesCollection The nodes in the BFS order.
+     * @param parents The indexes of the parents of the nodes.
+     * @return The flags of the nodes with a negative contribution.
+     */
+    private boolean[] findNegativeContributions(List<Node<T>> nodesCollection, int[] parents) {
+        int nodesCount = nodesCollection.size();
+        boolean[] negativeContributions = new boolean[nodesCount];
+
+        if (operations instanceof IntegralOperations) {
+            IntegralOperations<T> integralOperations = (IntegralOperations<T>)operations;
+            long[] contributions = new long[nodesCount];
+
+            for (int i = nodesCount - 1; i >= 0; i--) {
+                contributions[i] = integralOperations.addLong(contributions[i],
+                        integralOperations.toLong(nodesCollection.get(i).getValue()));
+                negativeContributions[i] = integralOperations.compareLong(contributions[i], 0) == -1;
+
+                if (i > 0 && !negativeContributions[i]) {
+                    contributions[parents[i]] = integralOperations.addLong(contributions[parents[i]], contributions[i]);
+                }
+            }
+
+            return negativeContributions;
+        }
+
+        if (operations instanceof DoubleOperations) {
+            DoubleOperations doubleOperations = (DoubleOperations)operations;
+            double[] contributions = new double[nodesCount];
+
+            for (int i = nodesCount - 1; i >= 0; i--) {
+                contributions[i] = doubleOperations.addDouble(contributions[i],
+                        nodesCollection.get(i).getValue().doubleValue());
+                negativeContributions[i] = doubleOperations.compareDouble(contributions[i], 0) == -1;
+
+                if (i > 0 && !negativeContributions[i]) {
+                    contributions[parents[i]] = doubleOperations.addDouble(contributions[parents[i]], contributions[i]);
+                }
+            }
+
+            return negativeContributions;
+        }
+
+        Object[] contributions = new Object[nodesCount];
+
+        for (int i = nodesCount - 1; i >= 0; i--) {
+            T childrenContribution = contributions[i] == null ? operations.getZero() : getElement(contributions, i);
+            T contribution = operations.add(nodesCollection.get(i).getValue(), childrenContribution);
+            contributions[i] = contribution;
+            negativeContributions[i] = operations.compare(contribution, operations.getZero()) == -1;
+
+            if (i > 0 && !negativeContributions[i]) {
+                int parent = parents[i];
+                contributions[parent] = contributions[parent] == null ? contribution :
+                        operations.add(getElement(contributions, parent), contribution);
+            }
+        }
+
+        return negativeContributions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getElement(Object[] array, int index) {
+        return (T)array[index];
+    }
+
     /**
      * Using BFS calculates size and the sum. Returns the AbstractTree in order to create an
-     * opportunity to chain methods invocation.
+     * opportunity to chain methods invocation. If the parallel pool is set, the large levels of the tree are
+     * processed in the pool.
      */
     public AbstractTree<T> calculateSizeAndSum() {
-        Queue<Node<T>> pendingNodes = new ArrayDeque<>();
-        pendingNodes.add(root);
+        if (parallelPool != null) {
+            ParallelLevelTraversal<T> traversal = new ParallelLevelTraversal<>(operations, parallelPool)
+                    .traverse(root, false);
 
-        T sum = (T)(Number)0;
+            this.size = traversal.getSize();
+            this.sum = traversal.getSum();
+
+            return this;
+        }
+
+        if (operations instanceof IntegralOperations) {
+            return calculateSizeAndLongSum((IntegralOperations<T>)operations);
+        }
+
+        if (operations instanceof DoubleOperations) {
+            return calculateSizeAndDoubleSum((DoubleOperations)operations);
+        }
+
+        T sum = operations.getZero();
         int size = 0;
 
-        while (pendingNodes.size() != 0) {
-            Node<T> currNode = pendingNodes.poll();
+        TraversalCursor<T> cursor = levelOrderCursor();
 
+        while (cursor.hasNext()) {
             size++;
-            sum = operations.add(sum, currNode.getValue());
-
-            pendingNodes.addAll(currNode.getChildren());
+            sum = operations.add(sum, cursor.next().getValue());
         }
 
         this.size = size;
@@ -109,57 +332,168 @@ public abstract class AbstractTree<T extends Number> {
         return this;
     }
 
+    /**
+     * The unboxed calculateSizeAndSum: only the final sum is boxed.
+     */
+    private AbstractTree<T> calculateSizeAndLongSum(IntegralOperations<T> integralOperations) {
+        long sum = 0;
+        int size = 0;
+
+        TraversalCursor<T> cursor = levelOrderCursor();
+
+        while (cursor.hasNext()) {
+            size++;
+            sum = integralOperations.addLong(sum, integralOperations.toLong(cursor.next().getValue()));
+        }
+
+        this.size = size;
+        this.sum = integralOperations.fromLong(sum);
+
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AbstractTree<T> calculateSizeAndDoubleSum(DoubleOperations doubleOperations) {
+        double sum = 0;
+        int size = 0;
+
+        TraversalCursor<T> cursor = levelOrderCursor();
+
+        while (cursor.hasNext()) {
+            size++;
+            sum = doubleOperations.addDouble(sum, cursor.next().getValue().doubleValue());
+        }
+
+        this.size = size;
+        this.sum = (T)Double.valueOf(sum);
+
+        return this;
+    }
+
     /**
      * Returns the Map, where the keys are the nodes, and the values are the Sets of nodes, which are parents
-     * for the key node. Using BFS here to create this map.
+     * for the key node. Using BFS here to create this map. The sets are built from the root, so the stored parents
+     * of the nodes are not used (they can be from another version of an immutable tree).
      */
     public Map<Node<T>, Set<Node<T>>> getChildParentMap() {
+        Map<Node<T>, Set<Node<T>>> childParentMap = new HashMap<>();
+
         if (root == null) {
-            return new HashMap<>();
+            return childParentMap;
         }
 
-        Map<Node<T>, Set<Node<T>>> childParentMap = new HashMap<>();
+        childParentMap.put(root, new HashSet<>());
 
-        Queue<Node<T>> pendingNodes = new ArrayDeque<>();
-        pendingNodes.add(root);
+        traverseLevelOrder(currNode -> {
+            Set<Node<T>> currParents = childParentMap.get(currNode);
 
-        while (pendingNodes.size() > 0) {
-            Node<T> currNode = pendingNodes.poll();
+            for (Node<T> child : currNode.getChildren()) {
+                Set<Node<T>> childParents = new HashSet<>(currParents);
+                childParents.add(currNode);
 
-            childParentMap.put(currNode, currNode.getAllParents());
+                childParentMap.put(child, childParents);
+            }
 
-            pendingNodes.addAll(currNode.getChildren());
-        }
+            return TraversalAction.CONTINUE;
+        });
 
         return childParentMap;
     }
 
     /**
-     * Returns the List of all nodes which are in the tree with the help of BFS.
-     * @return
+     * Returns the index of DFS entry and exit times of the nodes, which allows checking if one node is an ancestor
+     * of another one in O(1). The index is built once for the current version of the tree (see TreeIndexes).
      */
-    public List<Node<T>> getNodesCollection() {
-        if (root == null) {
-            return new ArrayList<>();
+    public TreeIndex<T> getTreeIndex() {
+        return getIndexes().getTreeIndex();
+    }
+
+    /**
+     * Returns the dense ids of the nodes of the tree in the BFS order (see NodeIds). The ids are given once for
+     * the current version of the tree.
+     */
+    public NodeIds<T> getNodeIds() {
+        return getIndexes().getNodeIds();
+    }
+
+    /**
+     * Returns the registry of the lazy indexes of the tree, which are built again when the tree is changed.
+     */
+    public TreeIndexes<T> getIndexes() {
+        if (indexes == null) {
+            indexes = new TreeIndexes<>(this);
         }
 
-        ArrayList<Node<T>> nodesCollection = new ArrayList<>();
+        return indexes;
+    }
 
-        Queue<Node<T>> pendingNodes = new ArrayDeque<>();
-        pendingNodes.add(root);
+    /**
+     * The version of the structure of the tree. It is changed by every change of the tree's nodes.
+     */
+    public int getVersion() {
+        return version;
+    }
 
-        while (pendingNodes.size() > 0) {
-            Node<T> currNode = pendingNodes.poll();
-            nodesCollection.add(currNode);
+    /**
+     * Tells the tree that its structure is changed, so its indexes must be built again. The methods of the tree call
+     * it themselves, it must be called only after the nodes of the tree are changed directly.
+     */
+    public void markModified() {
+        version++;
+    }
 
-            for (Node<T> child : currNode.getChildren()) {
-                pendingNodes.add(child);
-            }
+    /**
+     * Returns the List of all nodes which are in the tree with the help of BFS. If the parallel pool is set,
+     * the large levels of the tree are processed in the pool.
+     * @return The list of nodes in the BFS order.
+     */
+    public List<Node<T>> getNodesCollection() {
+        if (parallelPool != null) {
+            return new ParallelLevelTraversal<>(operations, parallelPool).traverse(root, true).getNodes();
+        }
+
+        ArrayList<Node<T>> nodesCollection = new ArrayList<>();
+        TraversalCursor<T> cursor = levelOrderCursor();
+
+        while (cursor.hasNext()) {
+            nodesCollection.add(cursor.next());
         }
 
         return nodesCollection;
     }
 
+    /**
+     * Finds the best profits of the maximization with every number of operations from 0 to maxOperationsCount with
+     * one run of the kMaximizer (see ProfitCurve). The tree is not changed, the nodes to remove for any number of
+     * operations are restored from the curve.
+     */
+    public ProfitCurve<T> profitCurve(int maxOperationsCount) {
+        return kMaximizer.profitCurve(maxOperationsCount);
+    }
+
+    /**
+     * @return The smallest number of operations (no more than maxOperationsCount) which gives the best profit, so
+     * the next operations do not make the tree larger.
+     */
+    public int findBestOperationsCount(int maxOperationsCount) {
+        return profitCurve(maxOperationsCount).getBestOperationsCount();
+    }
+
+    /**
+     * Estimates how much heap the nodes of the tree take, by categories (node objects, containers of children, boxed
+     * values and boxed weights). See TreeFootprint for the assumptions of the estimation.
+     */
+    public TreeFootprint estimateFootprint() {
+        TreeFootprint footprint = new TreeFootprint();
+
+        traversePreOrder(node -> {
+            footprint.addNode(node);
+            return TraversalAction.CONTINUE;
+        });
+
+        return footprint;
+    }
+
     /**
      * Removes the subtree with the give root from the tree.
      * @param subtreeRoot The root of a subtree which must be deleted.
@@ -0,0 +1,174 @@
+package tree;
+
+import tree.operations.Operations;
+
+import java.util.*;
+
+/**
+ * The memory-lean read-only node of CompactTree. It is a copy of a node of another tree, and it can not be changed.
+ *
+ * The node stores only the value, the parent, the children, the subtree weight and the height: the operations are
+ * shared through the tree, and the subtree weights are calculated once when the nodes are copied. The leaves have
+ * no container of children, a single child is stored in the node itself, and only the nodes with several children
+ * have an array of the exact size. The weight of a leaf is the same object as its value, so it is not boxed again.
+ * @param <T> The type of node's value.
+ */
+public class CompactNode<T extends Number> implements Node<T> {
+    private final T value;
+    private final CompactNode<T> parent;
+    private final int height;
+
+    /**
+     * Null for a leaf, the child itself if there is only one child, or the array of children.
+     */
+    private Object children;
+    private T subtreeWeight;
+
+
+    private CompactNode(T value, CompactNode<T> parent) {
+        this.value = value;
+        this.parent = parent;
+        this.height = parent == null ? 0 : parent.height + 1;
+    }
+
+
+    /**
+     * Copies the subtree of the given node without the subtrees of the excluded nodes. The copy is built with BFS,
+     * and then the subtree weights are calculated from the last node to the first one, so the weights of
+     * the children are always known before the weight of the parent.
+     * @param excludedNodes The roots of the subtrees which must not be copied.
+     * @return The root of the copy, or null if the root is null or it is excluded.
+     */
+    static <T extends Number> CompactNode<T> copyOf(Operations<T> operations, Node<T> root,
+                                                    Set<Node<T>> excludedNodes) {
+        if (root == null || excludedNodes.contains(root)) {
+            return null;
+        }
+
+        List<Node<T>> nodes = new ArrayList<>();
+        List<CompactNode<T>> copies = new ArrayList<>();
+        nodes.add(root);
+        copies.add(new CompactNode<>(root.getValue(), null));
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node<T> currNode = nodes.get(i);
+            CompactNode<T> currCopy = copies.get(i);
+            int childrenCount = 0;
+
+            for (Node<T> child : currNode.getChildren()) {
+                if (!excludedNodes.contains(child)) {
+                    childrenCount++;
+                }
+            }
+
+            CompactNode<?>[] childrenArray = childrenCount > 1 ? new CompactNode<?>[childrenCount] : null;
+            int childIndex = 0;
+
+            for (Node<T> child : currNode.getChildren()) {
+                if (excludedNodes.contains(child)) {
+                    continue;
+                }
+
+                CompactNode<T> childCopy = new CompactNode<>(child.getValue(), currCopy);
+                nodes.add(child);
+                copies.add(childCopy);
+
+                if (childrenArray == null) {
+                    currCopy.children = childCopy;
+                } else {
+                    childrenArray[childIndex++] = childCopy;
+                }
+            }
+
+            if (childrenArray != null) {
+                currCopy.children = childrenArray;
+            }
+        }
+
+        for (int i = copies.size() - 1; i >= 0; i--) {
+            CompactNode<T> currCopy = copies.get(i);
+            T weight = currCopy.value;
+
+            for (Node<T> child : currCopy.getChildren()) {
+                weight = operations.add(weight, child.getSubtreeWeight());
+            }
+
+            currCopy.subtreeWeight = weight;
+        }
+
+        return copies.get(0);
+    }
+
+    /**
+     * @return The number of children without creating the view of them.
+     */
+    int getChildrenCount() {
+        if (children == null) {
+            return 0;
+        }
+
+        return children instanceof CompactNode ? 1 : ((Object[])children).length;
+    }
+
+    /**
+     * @return The read-only view of the children.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Node<T>> getChildren() {
+        if (children == null) {
+            return Collections.emptyList();
+        }
+
+        if (children instanceof CompactNode) {
+            return Collections.singletonList((Node<T>)children);
+        }
+
+        return Collections.unmodifiableList(Arrays.asList((Node<T>[])children));
+    }
+
+    @Override
+    public Node<T> getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The set of all parents of this node.
+     */
+    @Override
+    public Set<Node<T>> getAllParents() {
+        Set<Node<T>> parents = new HashSet<>();
+        Node<T> currParent = parent;
+
+        while (currParent != null) {
+            parents.add(currParent);
+            currParent = currParent.getParent();
+        }
+
+        return parents;
+    }
+
+    @Override
+    public void print(int indents) {
+        for (int i = 0; i < indents; i++) {
+            System.out.print(' ');
+        }
+
+        System.out.print(value);
+    }
+
+    @Override
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public T getSubtreeWeight() {
+        return subtreeWeight;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
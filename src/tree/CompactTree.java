@@ -0,0 +1,74 @@
+package tree;
+
+import tree.maximizer.TreeKnapsackKMaximizer;
+import tree.operations.Operations;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The read-only tree made from compact nodes. It takes less memory than the mutable and the immutable trees, so it
+ * can be used for the largest trees which are only analysed. The removals (and the maximizations) copy the tree
+ * without the removed subtrees, the tree itself is not changed.
+ * @param <T> The type of nodes' values.
+ */
+public class CompactTree<T extends Number> extends AbstractTree<T> {
+
+    public CompactTree(Operations<T> operations) {
+        super(operations);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
+    }
+
+    /**
+     * Creates the compact copy of the other tree.
+     */
+    public CompactTree(Operations<T> operations, AbstractTree<T> otherTree) {
+        this(operations, otherTree.getRoot(), Collections.emptySet());
+    }
+
+    private CompactTree(Operations<T> operations, Node<T> root, Set<Node<T>> excludedNodes) {
+        super(operations);
+        this.root = CompactNode.copyOf(operations, root, excludedNodes);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
+
+        calculateSizeAndSum();
+    }
+
+
+    /**
+     * Copies the tree without the given subtrees.
+     */
+    private CompactTree<T> copyTreeWithout(List<Node<T>> nodesToBeDeleted) {
+        if (nodesToBeDeleted.isEmpty()) {
+            return this;
+        }
+
+        return new CompactTree<>(operations, root, new HashSet<>(nodesToBeDeleted));
+    }
+
+    /**
+     * @return The new tree without the given subtree (the empty tree if the root is removed).
+     */
+    @Override
+    AbstractTree<T> removeSubtree(Node<T> subtreeRoot) {
+        return copyTreeWithout(Collections.singletonList(subtreeRoot));
+    }
+
+    /**
+     * @return The new maximized tree, or this tree if nothing is removed.
+     */
+    @Override
+    AbstractTree<T> maximize(int maxOperationsCount) {
+        return copyTreeWithout(kMaximizer.maximize(maxOperationsCount));
+    }
+
+    /**
+     * @return The new maximized tree, or this tree if nothing is removed.
+     */
+    @Override
+    AbstractTree<T> maximize() {
+        return copyTreeWithout(findNegativeSubtreesToRemove());
+    }
+}
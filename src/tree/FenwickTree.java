@@ -0,0 +1,81 @@
+package tree;
+
+import tree.operations.Operations;
+
+import java.util.List;
+
+/**
+ * The Fenwick tree (binary indexed tree) over a list of values. Both the change of one value and the sum of
+ * a range of values take O(log n).
+ * @param <T> The type of values.
+ */
+class FenwickTree<T extends Number> {
+    private final Operations<T> operations;
+
+    /**
+     * The partial sums, indexed from 1: the element i is the sum of the values (i - lowestBit(i), i].
+     */
+    private final Object[] sums;
+
+
+    /**
+     * Builds the tree from the values in O(n).
+     */
+    FenwickTree(Operations<T> operations, List<T> values) {
+        this.operations = operations;
+        sums = new Object[values.size() + 1];
+        sums[0] = operations.getZero();
+
+        for (int i = 1; i < sums.length; i++) {
+            sums[i] = values.get(i - 1);
+        }
+
+        for (int i = 1; i < sums.length; i++) {
+            int parent = i + (i & -i);
+
+            if (parent < sums.length) {
+                sums[parent] = operations.add(getSum(parent), getSum(i));
+            }
+        }
+    }
+
+
+    int getSize() {
+        return sums.length - 1;
+    }
+
+    /**
+     * Adds the delta to the value with the given index.
+     */
+    void add(int index, T delta) {
+        for (int i = index + 1; i < sums.length; i += i & -i) {
+            sums[i] = operations.add(getSum(i), delta);
+        }
+    }
+
+    /**
+     * @return The sum of the values with the indexes [0, count).
+     */
+    T prefixSum(int count) {
+        T sum = operations.getZero();
+
+        for (int i = count; i > 0; i -= i & -i) {
+            sum = operations.add(sum, getSum(i));
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return The sum of the values with the indexes [from, to].
+     */
+    T rangeSum(int from, int to) {
+        return operations.sub(prefixSum(to + 1), prefixSum(from));
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private T getSum(int index) {
+        return (T)sums[index];
+    }
+}
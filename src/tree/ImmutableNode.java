@@ -1,12 +1,22 @@
 package tree;
 
 import tree.operations.Operations;
+import tree.traversal.TraversalAction;
+import tree.traversal.TreeTraversal;
 
 import java.util.*;
 
 /**
  * This the class which represents an immutable node. Immutable means that it can not be changed in-place, that is
  * why there are no Setters in this class.
+ *
+ * The trees made from immutable nodes are persistent: a removal copies only the path from the root to the removed
+ * node, and all other subtrees are shared between the old and the new versions of the tree. Because of that,
+ * the parent which is stored in the node is the parent from the version of the tree where the node was created.
+ * In other versions the parent may be a copy of it, so the node also stores its origin (the node which was copied
+ * by all the copies). The parent of a node is taken from the tree (ImmutableTree.getParent): getParent and
+ * getAllParents of a node which was given to a copied parent throw, instead of returning the parent of another
+ * version.
  * @param <T> The type of value of the node.
  */
 public class ImmutableNode<T extends Number> implements Node<T> {
@@ -15,29 +25,60 @@ public class ImmutableNode<T extends Number> implements Node<T> {
     private final Collection<Node<T>> children;
     private final Operations<T> operations;
 
+    /**
+     * The view of the children which is returned by getChildren. It resets the cached subtree weights when the
+     * children are changed through it.
+     */
+    private final Collection<Node<T>> childrenView;
+
     /**
      * The height of the node (the root of the tree has a height of 0).
      */
     private final int height;
 
+    /**
+     * The node which was created first. All copies of the node have the same origin.
+     */
+    private final ImmutableNode<T> origin;
+
+    /**
+     * The cached subtree weight. It is calculated on the first call of getSubtreeWeight, and it is reset (together
+     * with the weights of the parents) when the children are changed through getChildren.
+     */
+    private volatile T subtreeWeight;
+
+    /**
+     * True if the node was given to a copy of its parent, so its stored parent is not its parent in all versions.
+     */
+    private boolean shared;
+
 
     public ImmutableNode(Operations<T> operations) {
         this(operations, operations.getZero());
     }
 
     public ImmutableNode(Operations<T> operations, T value) {
-        this.operations = operations;
-        children = new ArrayList<>();
-        this.value = value;
-        height = 0;
-        parent = null;
+        this(operations, value, new ArrayList<>(), null);
     }
 
     public ImmutableNode(Operations<T> operations, T value, Collection<Node<T>> children, ImmutableNode<T> parent) {
+        this(operations, value, children, parent, null, null);
+    }
+
+    /**
+     * Creates a copy of the node.
+     * @param origin The origin of the copied node, or null if it is a new node.
+     * @param subtreeWeight The subtree weight of the copy if it is already known.
+     */
+    private ImmutableNode(Operations<T> operations, T value, Collection<Node<T>> children, ImmutableNode<T> parent,
+                          ImmutableNode<T> origin, T subtreeWeight) {
         this.operations = operations;
         this.value = value;
         this.children = children;
+        this.childrenView = children == null ? null : new ChildrenView();
         this.parent = parent;
+        this.origin = origin == null ? this : origin;
+        this.subtreeWeight = subtreeWeight;
 
         if (parent != null) {
             this.height = parent.getHeight() + 1;
@@ -47,60 +88,259 @@ public class ImmutableNode<T extends Number> implements Node<T> {
     }
 
     /**
-     * Recursively copies the current node with all it's children without the given extra node.
+     * Copies the current node without the given extra node. Only the nodes on the path from the current node to the
+     * extra node are copied, all other subtrees are shared with the current node. The subtree weights of the copies
+     * are calculated in O(1) if the weight of the current node is already known.
      * @param extraNode The node which must not be copied.
      * @param parent The parent which is set to copied new node.
      * @return The instance of the new copied node.
      */
     public ImmutableNode<T> copyWithoutDeepChild(ImmutableNode<T> extraNode, ImmutableNode<T> parent) {
-        Collection<Node<T>> newChildren = new ArrayList<>();
-        ImmutableNode<T> newNode = new ImmutableNode<T>(operations, value, newChildren, parent);
+        List<ImmutableNode<T>> path = findPathTo(extraNode);
+
+        if (path == null || path.size() < 2) {
+            return copyWithoutDeepChildren(Collections.emptySet(), parent);
+        }
 
-        for (Node<T> child : getChildren()) {
-            if (child != extraNode) {
-                var newChildNode = ((ImmutableNode<T>)child).copyWithoutDeepChild(extraNode, newNode);
-                newChildren.add(newChildNode);
+        T extraWeight = subtreeWeight == null ? null : extraNode.getSubtreeWeight();
+        ImmutableNode<T> newRoot = null;
+        ImmutableNode<T> newParent = parent;
+        List<Node<T>> prevChildren = null;
+        int prevIndex = -1;
+
+        for (int i = 0; i < path.size() - 1; i++) {
+            ImmutableNode<T> node = path.get(i);
+            List<Node<T>> newChildren = new ArrayList<>(node.getChildrenOrEmpty());
+            markShared(newChildren);
+            T newWeight = extraWeight == null || node.subtreeWeight == null ? null :
+                    operations.sub(node.subtreeWeight, extraWeight);
+
+            ImmutableNode<T> newNode = new ImmutableNode<>(operations, node.value, newChildren, newParent,
+                    node.origin, newWeight);
+
+            if (prevChildren == null) {
+                newRoot = newNode;
+            } else {
+                prevChildren.set(prevIndex, newNode);
             }
+
+            prevChildren = newChildren;
+            prevIndex = indexOfChild(newChildren, path.get(i + 1));
+            newParent = newNode;
         }
 
-        return newNode;
+        prevChildren.remove(prevIndex);
+
+        return newRoot;
     }
 
     /**
-     * Recursively copies the current node with all it's children without the given set of nodes.
+     * Copies the current node without the given set of nodes. Only the nodes on the paths from the current node to
+     * the extra nodes are copied, all other subtrees are shared with the current node. The extra nodes can be from
+     * another version of the tree, they are matched by their origins. The nodes which must be copied are found in
+     * one post-order pass, so the copy is O(n) for any number of extra nodes.
      * @param extraNodes The set of nodes which must not be copied.
      * @param parent The parent which is set to copied node.
      * @return The instance of the new copied node.
      */
-    public ImmutableNode<T> copyWithoutDeepChildren(List<Node<T>> extraNodes, ImmutableNode<T> parent) {
-        Collection<Node<T>> newChildren = new ArrayList<>();
-        ImmutableNode<T> newNode = new ImmutableNode<T>(operations, value, newChildren, parent);
+    public ImmutableNode<T> copyWithoutDeepChildren(Collection<Node<T>> extraNodes, ImmutableNode<T> parent) {
+        Set<ImmutableNode<T>> removedOrigins = Collections.newSetFromMap(new IdentityHashMap<>());
 
-        for (Node<T> child : getChildren()) {
-            if (!extraNodes.contains(child)) {
-                ImmutableNode<T> newChildNode = ((ImmutableNode<T>)child).copyWithoutDeepChildren(extraNodes, newNode);
-                newChildren.add(newChildNode);
+        for (Node<T> extraNode : extraNodes) {
+            if (extraNode instanceof ImmutableNode && ((ImmutableNode<T>)extraNode).origin != origin) {
+                removedOrigins.add(((ImmutableNode<T>)extraNode).origin);
             }
         }
 
-        return newNode;
+        Set<Node<T>> copiedNodes = findNodesAboveRemoved(removedOrigins);
+        ImmutableNode<T> newRoot = new ImmutableNode<>(operations, value, new ArrayList<>(), parent, origin, null);
+
+        Queue<ImmutableNode<T>> pendingNodes = new ArrayDeque<>();
+        Queue<ImmutableNode<T>> pendingCopies = new ArrayDeque<>();
+        pendingNodes.add(this);
+        pendingCopies.add(newRoot);
+
+        while (pendingNodes.size() > 0) {
+            ImmutableNode<T> currNode = pendingNodes.poll();
+            ImmutableNode<T> currCopy = pendingCopies.poll();
+
+            for (Node<T> child : currNode.getChildrenOrEmpty()) {
+                if (isRemoved(child, removedOrigins)) {
+                    continue;
+                }
+
+                if (copiedNodes.contains(child)) {
+                    ImmutableNode<T> immutableChild = (ImmutableNode<T>)child;
+                    ImmutableNode<T> childCopy = new ImmutableNode<>(operations, immutableChild.value, new ArrayList<>(),
+                            currCopy, immutableChild.origin, null);
+
+                    currCopy.children.add(childCopy);
+                    pendingNodes.add(immutableChild);
+                    pendingCopies.add(childCopy);
+                } else {
+                    currCopy.children.add(child);
+                    markShared(child);
+                }
+            }
+        }
+
+        return newRoot;
+    }
+
+    /**
+     * Finds the nodes of the subtree which have a removed node among their descendants, so they must be copied.
+     * The nodes are visited in the post-order, and the subtrees of the removed nodes are skipped.
+     * @param removedOrigins The origins of the removed nodes.
+     */
+    private Set<Node<T>> findNodesAboveRemoved(Set<ImmutableNode<T>> removedOrigins) {
+        Set<Node<T>> copiedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        if (removedOrigins.isEmpty()) {
+            return copiedNodes;
+        }
+
+        new TreeTraversal<T>().postOrder(this,
+                node -> isRemoved(node, removedOrigins) ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE,
+                node -> {
+                    if (!(node instanceof ImmutableNode) || isRemoved(node, removedOrigins)) {
+                        return TraversalAction.CONTINUE;
+                    }
+
+                    for (Node<T> child : ((ImmutableNode<T>)node).getChildrenOrEmpty()) {
+                        if (isRemoved(child, removedOrigins) || copiedNodes.contains(child)) {
+                            copiedNodes.add(node);
+                            break;
+                        }
+                    }
+
+                    return TraversalAction.CONTINUE;
+                });
+
+        return copiedNodes;
+    }
+
+    private static <T extends Number> boolean isRemoved(Node<T> node, Set<ImmutableNode<T>> removedOrigins) {
+        return node instanceof ImmutableNode && removedOrigins.contains(((ImmutableNode<T>)node).origin);
+    }
+
+    /**
+     * Finds the path from the current node to the given node. The given node can be from another version of the tree:
+     * in this case the path leads to the node with the same origin in the subtree of the current node.
+     * The stored parents of the given node are used only to find the origins of its parents, and then we go down
+     * from the current node choosing the children with these origins.
+     * @return The list of nodes from the current node to the found node, or null if there is no such node
+     * in the subtree of the current node.
+     */
+    List<ImmutableNode<T>> findPathTo(ImmutableNode<T> node) {
+        Deque<ImmutableNode<T>> origins = new ArrayDeque<>();
+        Node<T> currNode = node;
+
+        while (currNode instanceof ImmutableNode && ((ImmutableNode<T>)currNode).origin != origin) {
+            origins.push(((ImmutableNode<T>)currNode).origin);
+            currNode = ((ImmutableNode<T>)currNode).parent;
+        }
+
+        if (!(currNode instanceof ImmutableNode)) {
+            return null;
+        }
+
+        List<ImmutableNode<T>> path = new ArrayList<>();
+        ImmutableNode<T> pathNode = this;
+        path.add(pathNode);
+
+        while (origins.size() > 0) {
+            ImmutableNode<T> childOrigin = origins.pop();
+            ImmutableNode<T> nextNode = null;
+
+            for (Node<T> child : pathNode.getChildrenOrEmpty()) {
+                if (child instanceof ImmutableNode && ((ImmutableNode<T>)child).origin == childOrigin) {
+                    nextNode = (ImmutableNode<T>)child;
+                    break;
+                }
+            }
+
+            if (nextNode == null) {
+                return null;
+            }
+
+            path.add(nextNode);
+            pathNode = nextNode;
+        }
+
+        return path;
     }
-    
+
+    private static <T extends Number> void markShared(Collection<Node<T>> nodes) {
+        for (Node<T> node : nodes) {
+            markShared(node);
+        }
+    }
+
+    private static <T extends Number> void markShared(Node<T> node) {
+        if (node instanceof ImmutableNode) {
+            ((ImmutableNode<T>)node).shared = true;
+        }
+    }
+
+    private static <T extends Number> int indexOfChild(List<Node<T>> children, Node<T> child) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The node which was copied by all copies of this node (or this node if it is not a copy).
+     */
+    public ImmutableNode<T> getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the parent of the node. The node which is shared by several versions of the tree has different parents
+     * in them, so its parent must be taken from the tree with ImmutableTree.getParent.
+     * @throws IllegalStateException If the node is shared by several versions of the tree.
+     */
     @Override
-    public Node<T> getParent() {
+    public Node<T> getParent() throws IllegalStateException {
+        if (shared) {
+            throw new IllegalStateException("The node is shared by several trees, use ImmutableTree.getParent");
+        }
+
         return parent;
     }
 
+    /**
+     * Returns the children of the node. The children can be added or removed while the tree is built (the cached
+     * subtree weights of the node and its parents are reset then), but the nodes which are shared by several
+     * versions of a tree must not be changed, because only the weights of the parents from the version where
+     * the node was created are reset.
+     */
     @Override
     public Collection<Node<T>> getChildren() {
+        return childrenView;
+    }
+
+    /**
+     * @return The collection of children itself, without the view (for the footprint estimation).
+     */
+    Collection<Node<T>> getChildrenCollection() {
         return children;
     }
 
     /**
      * @return The set of all parents of this node.
+     * @throws IllegalStateException If the node or one of its parents is shared by several versions of the tree.
      */
     @Override
-    public Set<Node<T>> getAllParents() {
+    public Set<Node<T>> getAllParents() throws IllegalStateException {
+        if (shared) {
+            throw new IllegalStateException("The node is shared by several trees, use ImmutableTree.getParent");
+        }
+
         Set<Node<T>> prevParentsSets = new HashSet<>();
         Node<T> currParent = parent;
 
@@ -127,26 +367,112 @@ public class ImmutableNode<T extends Number> implements Node<T> {
     }
 
     /**
-     * Calculating the subtree weight using DFS.
+     * Returns the subtree weight. The weight is calculated once and cached, because the node can not be changed.
+     * Several threads can calculate the weight at the same time, but all of them get the same value.
      */
     @Override
     public T getSubtreeWeight() {
-        T subtreeWeight = value;
+        T weight = subtreeWeight;
 
-        Queue<Node<T>> pendingNodes = new ArrayDeque<>(children);
+        if (weight == null) {
+            weight = calculateSubtreesWeights();
+        }
 
-        while (pendingNodes.size() > 0) {
-            Node<T> currNode = pendingNodes.poll();
-            subtreeWeight = operations.add(subtreeWeight, currNode.getValue());
+        return weight;
+    }
 
-            pendingNodes.addAll(currNode.getChildren());
-        }
+    /**
+     * Calculates the weights of all nodes in the subtree which have not been calculated yet. The nodes are
+     * visited in the post-order, so the weights of the children are always calculated before the weight of
+     * the parent. The subtrees with the calculated weights are skipped.
+     */
+    private T calculateSubtreesWeights() {
+        new TreeTraversal<T>().postOrder(this,
+                node -> isWeightCalculated(node) ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE,
+                node -> {
+                    if (!isWeightCalculated(node)) {
+                        ImmutableNode<T> immutableNode = (ImmutableNode<T>)node;
+                        T weight = immutableNode.value;
+
+                        for (Node<T> child : immutableNode.getChildrenOrEmpty()) {
+                            weight = operations.add(weight, child.getSubtreeWeight());
+                        }
+
+                        immutableNode.subtreeWeight = weight;
+                    }
+
+                    return TraversalAction.CONTINUE;
+                });
 
         return subtreeWeight;
     }
 
+    static boolean isWeightCalculated(Node<?> node) {
+        return !(node instanceof ImmutableNode) || ((ImmutableNode<?>)node).subtreeWeight != null;
+    }
+
+    private Collection<Node<T>> getChildrenOrEmpty() {
+        return children == null ? Collections.emptyList() : children;
+    }
+
     @Override
     public int getHeight() {
         return height;
     }
+
+    /**
+     * Resets the cached weights of the node and of its parents. If the weight of a node is not calculated, the weights
+     * of its parents are not calculated either, so we stop there.
+     */
+    private void resetSubtreeWeights() {
+        Node<T> currNode = this;
+
+        while (currNode instanceof ImmutableNode && ((ImmutableNode<T>)currNode).subtreeWeight != null) {
+            ((ImmutableNode<T>)currNode).subtreeWeight = null;
+            currNode = ((ImmutableNode<T>)currNode).parent;
+        }
+    }
+
+
+    /**
+     * The live view of the children which resets the cached weights on every change.
+     */
+    private class ChildrenView extends AbstractCollection<Node<T>> {
+
+        @Override
+        public Iterator<Node<T>> iterator() {
+            Iterator<Node<T>> iterator = children.iterator();
+
+            return new Iterator<Node<T>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Node<T> next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    resetSubtreeWeights();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return children.size();
+        }
+
+        @Override
+        public boolean add(Node<T> child) {
+            boolean isAdded = children.add(child);
+            resetSubtreeWeights();
+
+            return isAdded;
+        }
+    }
 }
@@ -1,8 +1,9 @@
 package tree;
 
-import tree.maximizer.TreeKMaximizer;
+import tree.maximizer.TreeKnapsackKMaximizer;
 import tree.operations.Operations;
 
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -13,13 +14,13 @@ public class ImmutableTree<T extends Number> extends AbstractTree<T> {
 
     public ImmutableTree(Operations<T> operations) {
         super(operations);
-        kMaximizer = new TreeKMaximizer<>(this);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
     }
 
     public ImmutableTree(Operations<T> operations, ImmutableNode<T> root) {
         super(operations);
         this.root = root;
-        kMaximizer = new TreeKMaximizer<>(this);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
     }
 
     public ImmutableTree(Operations<T> operations, ImmutableTree<T> otherTree) {
@@ -27,12 +28,35 @@ public class ImmutableTree<T extends Number> extends AbstractTree<T> {
         root = otherTree.root;
         size = otherTree.getSize();
         sum = otherTree.getSum();
-        kMaximizer = new TreeKMaximizer<>(this);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
     }
 
 
+    /**
+     * Returns the parent of the node in this version of the tree. The parent which is stored in the node can be
+     * from an older version, because the subtrees are shared between the versions, so the parents of the immutable
+     * nodes are taken only from the tree (ImmutableNode.getParent throws for the shared nodes). The path from the
+     * root to the node is searched by the origins of the node and its stored parents, so the call is
+     * O(depth * degree).
+     * @return The parent of the node, or null if the node is the root or it is not in the tree.
+     */
+    public Node<T> getParent(Node<T> node) {
+        if (root == null || !(node instanceof ImmutableNode)) {
+            return null;
+        }
+
+        List<ImmutableNode<T>> path = ((ImmutableNode<T>)root).findPathTo((ImmutableNode<T>)node);
+
+        if (path == null || path.size() < 2) {
+            return null;
+        }
+
+        return path.get(path.size() - 2);
+    }
+
     /**
      * Copies the current tree without given node with the help of ImmutableNode's copyWithoutDeepChild method.
+     * Only the path from the root to the node is copied, so the old tree stays valid.
      * @param deletedNode The node which must not be copied.
      * @return The instance of the new copied node.
      */
@@ -56,28 +80,57 @@ public class ImmutableTree<T extends Number> extends AbstractTree<T> {
     /**
      * Maximizes the tree with maximum of maxOperationsCount iterations.
      * @param maxOperationsCount The maximum number of iterations allowed.
-     * @return
+     * @return The new maximized tree object.
      */
     @Override
     AbstractTree<T> maximize(int maxOperationsCount) {
         List<Node<T>> nodesToBeDeleted = kMaximizer.maximize(maxOperationsCount);
 
+        //If the root must be deleted then the maximized tree is empty
+        if (nodesToBeDeleted.contains(root)) {
+            return new ImmutableTree<>(operations);
+        }
+
         return new ImmutableTree<T>(operations, ((ImmutableNode<T>)root).copyWithoutDeepChildren(nodesToBeDeleted, null));
     }
 
     /**
-     * Maximizes the tree with no limit on how many removals we can do. Uses a greedy algorithm: on each iteration
-     * we delete the furthest node (from the root) with a negative subtree weight. We repeat this procedure while the
-     * weight of the furthest node subtree is negative.
+     * Maximizes the tree with no limit on how many removals we can do. All negative subtrees are found in a single
+     * post-order pass, and then the tree is copied once without them.
      * @return The new maximized tree object.
      */
     @Override
     AbstractTree<T> maximize() {
+        List<Node<T>> nodesToBeDeleted = findNegativeSubtreesToRemove();
+
+        if (nodesToBeDeleted.isEmpty()) {
+            return this;
+        }
+
+        if (nodesToBeDeleted.contains(root)) {
+            return new ImmutableTree<>(operations);
+        }
+
+        return new ImmutableTree<T>(operations,
+                ((ImmutableNode<T>)root).copyWithoutDeepChildren(new HashSet<>(nodesToBeDeleted), null));
+    }
+
+    /**
+     * Maximizes the tree with no limit on how many removals we can do. Uses a greedy algorithm: on each iteration
+     * we delete the furthest node (from the root) with a negative subtree weight. We repeat this procedure while the
+     * weight of the furthest node subtree is negative. Every removal copies only the path from the removed node to
+     * the root, but the furthest node is searched in the whole new tree.
+     * @return The new maximized tree object.
+     */
+    AbstractTree<T> maximizeGreedy() {
         ImmutableTree<T> newTree = this;
         ImmutableNode<T> deepestNegativeSubtreeRoot = (ImmutableNode<T>) newTree.findDeepestNegativeSubtree();
 
-        while (deepestNegativeSubtreeRoot != null && deepestNegativeSubtreeRoot.getValue().doubleValue() < 0) {
-            System.out.print(deepestNegativeSubtreeRoot.getValue().doubleValue() + " ");
+        while (deepestNegativeSubtreeRoot != null && deepestNegativeSubtreeRoot.getSubtreeWeight().doubleValue() < 0) {
+            if (deepestNegativeSubtreeRoot == newTree.root) {
+                return new ImmutableTree<>(operations);
+            }
+
             newTree = ((ImmutableTree<T>)(newTree).removeSubtree(deepestNegativeSubtreeRoot));
             deepestNegativeSubtreeRoot = (ImmutableNode<T>) newTree.findDeepestNegativeSubtree();
         }
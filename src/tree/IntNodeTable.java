@@ -0,0 +1,68 @@
+package tree;
+
+import java.util.Arrays;
+
+/**
+ * The table of int values of the nodes which is kept in an int array indexed by the ids of the nodes, as
+ * a replacement of HashMap&lt;Node, Integer&gt; without boxing.
+ * @param <T> The type of nodes' values.
+ */
+public class IntNodeTable<T extends Number> {
+    private final NodeIds<T> nodeIds;
+    private final int[] values;
+
+
+    /**
+     * @param defaultValue The value of the nodes which were not set.
+     */
+    public IntNodeTable(NodeIds<T> nodeIds, int defaultValue) throws IllegalArgumentException {
+        if (nodeIds == null) {
+            throw new IllegalArgumentException("Node ids can not be null");
+        }
+
+        this.nodeIds = nodeIds;
+        this.values = new int[nodeIds.getSize()];
+
+        if (defaultValue != 0) {
+            Arrays.fill(values, defaultValue);
+        }
+    }
+
+
+    public NodeIds<T> getNodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the node has no id.
+     */
+    public int get(Node<T> node) throws IllegalArgumentException {
+        return values[getExistingId(node)];
+    }
+
+    public int getById(int id) {
+        return values[id];
+    }
+
+    /**
+     * @throws IllegalArgumentException If the node has no id.
+     */
+    public void set(Node<T> node, int value) throws IllegalArgumentException {
+        values[getExistingId(node)] = value;
+    }
+
+    public void setById(int id, int value) {
+        values[id] = value;
+    }
+
+
+    private int getExistingId(Node<T> node) throws IllegalArgumentException {
+        int id = nodeIds.getId(node);
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Node is not in the table");
+        }
+
+        return id;
+    }
+}
@@ -2,27 +2,40 @@ package tree;
 
 import tree.operations.Operations;
 
-import java.util.ArrayList;
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Predicate;
 
 
 /**
  * Class which represents the Mutable node. All changes to the node can be done in-place.
+ *
+ * The children are stored as an intrusive doubly linked list: the node keeps its first and last child, and every
+ * child keeps its previous and next siblings. So the leaves have no container of children, and a child is added,
+ * detached or moved to another parent in O(1). The children are changed only by addChild and removeChild,
+ * getChildren() returns the read-only view of them.
  */
 public class MutableNode<T extends Number> implements Node<T> {
     private T value;
-    private Node<T> parent;
-    private Collection<Node<T>> children;
+    private MutableNode<T> parent;
+    private MutableNode<T> firstChild;
+    private MutableNode<T> lastChild;
+    private MutableNode<T> previousSibling;
+    private MutableNode<T> nextSibling;
+    private int childrenCount;
     private T subtreeWeight;
     private int height;
+    private int id = -1;
     private Operations<T> operations;
 
 
     public MutableNode(Operations<T> operations) {
         this.operations = operations;
-        children = new ArrayList<>();
         subtreeWeight = this.operations.getZero();
         value = this.operations .getZero();
     }
@@ -41,21 +54,108 @@ public class MutableNode<T extends Number> implements Node<T> {
         this.height = height;
     }
 
-    void addChild(MutableNode<T> child) throws IllegalArgumentException {
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Adds the child to the end of the children and sets its parent. If the child has another parent, it is moved
+     * from its children.
+     */
+    public void addChild(MutableNode<T> child) throws IllegalArgumentException {
         if (child == null) {
             throw new IllegalArgumentException("Child can not be null");
         }
 
+        if (child.isLinked()) {
+            child.detach();
+        }
+
+        child.parent = this;
         child.setHeight(this.height + 1);
-        children.add(child);
+        child.previousSibling = lastChild;
+        child.nextSibling = null;
+
+        if (lastChild == null) {
+            firstChild = child;
+        } else {
+            lastChild.nextSibling = child;
+        }
+
+        lastChild = child;
+        childrenCount++;
     }
 
-    void removeChild(MutableNode<T> child) throws IllegalArgumentException {
+    /**
+     * Removes the child from the children in O(1). If the node is not a child of this node, nothing happens.
+     */
+    public void removeChild(MutableNode<T> child) throws IllegalArgumentException {
         if (child == null) {
             throw new IllegalArgumentException("Child can not be null");
         }
 
-        children.remove(child);
+        if (isChild(child)) {
+            child.detach();
+        }
+    }
+
+    /**
+     * Removes the children which match the filter.
+     */
+    void removeChildren(Predicate<Node<T>> filter) {
+        MutableNode<T> currNode = firstChild;
+
+        while (currNode != null) {
+            MutableNode<T> nextNode = currNode.nextSibling;
+
+            if (filter.test(currNode)) {
+                currNode.detach();
+            }
+
+            currNode = nextNode;
+        }
+    }
+
+    /**
+     * Removes the node from the children of its parent in O(1). The node keeps the reference to the parent,
+     * as the removed subtrees did before.
+     */
+    void detach() {
+        if (!isLinked()) {
+            return;
+        }
+
+        if (previousSibling == null) {
+            parent.firstChild = nextSibling;
+        } else {
+            previousSibling.nextSibling = nextSibling;
+        }
+
+        if (nextSibling == null) {
+            parent.lastChild = previousSibling;
+        } else {
+            nextSibling.previousSibling = previousSibling;
+        }
+
+        parent.childrenCount--;
+        previousSibling = null;
+        nextSibling = null;
+    }
+
+    /**
+     * Checks if the node is in the children of its parent.
+     */
+    private boolean isLinked() {
+        return parent != null && (previousSibling != null || parent.firstChild == this);
+    }
+
+    private boolean isChild(Object node) {
+        return node instanceof MutableNode && ((MutableNode<?>)node).parent == this && ((MutableNode<?>)node).isLinked();
     }
 
     @Override
@@ -63,16 +163,35 @@ public class MutableNode<T extends Number> implements Node<T> {
         return parent;
     }
 
+    /**
+     * Sets the parent of the node. If the node is in the children of another parent, it is removed from them, but it
+     * is not added to the children of the new parent (use addChild of the parent).
+     */
     public void setParent(MutableNode<T> parent) {
+        if (this.parent != parent) {
+            detach();
+        }
+
         this.parent = parent;
         this.height = parent.getHeight() + 1;
     }
 
+    /**
+     * Returns the read-only live view of the children: it shows the changes which are made by addChild and
+     * removeChild. The view is not kept by the node, so the nodes do not pay for it. The leaves get the shared empty
+     * list without any allocation (it does not show the children which are added later), and the small view of
+     * the other nodes is usually removed by the escape analysis in the hot loops.
+     */
     @Override
     public Collection<Node<T>> getChildren() {
-        return children;
+        if (firstChild == null) {
+            return Collections.emptyList();
+        }
+
+        return new ChildrenView();
     }
 
+
     @Override
     public Set<Node<T>> getAllParents() {
         Node<T> currParent = parent;
@@ -100,11 +219,69 @@ public class MutableNode<T extends Number> implements Node<T> {
         return value;
     }
 
+    /**
+     * Changes the value of the node. The subtree weights are not changed, use MutableTree.updateValue to keep
+     * the subtree weights of the tree up to date.
+     */
+    void setValue(T value) {
+        this.value = value;
+    }
+
     public void modifySubtreeWeight(T delta) {
         subtreeWeight = operations.add(subtreeWeight, delta);
     }
 
+    void setSubtreeWeight(T subtreeWeight) {
+        this.subtreeWeight = subtreeWeight;
+    }
+
     public T getSubtreeWeight() {
         return subtreeWeight;
     }
+
+
+    /**
+     * The read-only view of the children list of the node.
+     */
+    private class ChildrenView extends AbstractCollection<Node<T>> {
+
+        @Override
+        public int size() {
+            return childrenCount;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return childrenCount == 0;
+        }
+
+        @Override
+        public boolean contains(Object node) {
+            return isChild(node);
+        }
+
+        @Override
+        public Iterator<Node<T>> iterator() {
+            return new Iterator<>() {
+                private MutableNode<T> nextNode = firstChild;
+
+                @Override
+                public boolean hasNext() {
+                    return nextNode != null;
+                }
+
+                @Override
+                public Node<T> next() {
+                    if (nextNode == null) {
+                        throw new NoSuchElementException();
+                    }
+
+                    MutableNode<T> node = nextNode;
+                    nextNode = nextNode.nextSibling;
+
+                    return node;
+                }
+            };
+        }
+    }
 }
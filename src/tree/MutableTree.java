@@ -1,52 +1,148 @@
 package tree;
 
-import tree.maximizer.TreeKMaximizer;
+import tree.maximizer.ProfitCurve;
+import tree.maximizer.TreeKnapsackKMaximizer;
+import tree.operations.DoubleOperations;
+import tree.operations.IntegralOperations;
 import tree.operations.Operations;
+import tree.traversal.TraversalAction;
 
 import java.util.*;
 
 public class MutableTree<T extends Number> extends AbstractTree<T> {
 
+    /**
+     * The Fenwick tree over the values in the order of the Euler tour of the tree (the TreeIndex of the tree), so
+     * the subtree of every node is a range of values. It is built on the first use of updateValue or subtreeWeight
+     * and is built again after the tree is changed, as the TreeIndex is.
+     */
+    private FenwickTree<T> weightsTree;
+    private int weightsVersion;
+
+
     public MutableTree(Operations<T> operations) {
         super(operations);
-        kMaximizer = new TreeKMaximizer<>(this);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
     }
 
     public MutableTree(Operations<T> operations, MutableNode<T> root) {
         super(operations);
         this.root = root;
-        kMaximizer = new TreeKMaximizer<>(this);
+        kMaximizer = new TreeKnapsackKMaximizer<>(this);
     }
 
 
     /**
-     * The recursive algorithm which calculates subtrees' weights.
+     * Calculates the subtrees' weights starting form the root. The nodes are visited in the post-order, so the
+     * weights of the children are known when the node is visited. There is no recursion, so the height of the tree
+     * is not limited by the stack size. The old weights are replaced, so the weights can be calculated many times.
+     *
+     * If the parallel pool of the tree is set, the weights are calculated in it (see ParallelWeightsCalculator),
+     * and the result is the same.
      */
-    private void calculateSubtreesWightsRecursive(MutableNode<T> node) {
-        if (node.getChildren() == null || node.getChildren().size() == 0) {
-            node.modifySubtreeWeight(node.getValue());
+    void calculateSubtreesWeights() {
+        if (parallelPool != null) {
+            new ParallelWeightsCalculator<>(this).calculate(parallelPool);
             return;
         }
 
-        for (Node<T> child : node.getChildren()) {
-            calculateSubtreesWightsRecursive((MutableNode<T>)child);
+        traversePostOrder(node -> {
+            calculateNodeWeight((MutableNode<T>)node);
+            return TraversalAction.CONTINUE;
+        });
+    }
+
+    /**
+     * Sets the weight of the node from its value and the weights of its children, which must be already calculated.
+     * The weights of the primitive operations are summed without boxing, and every weight is boxed once. The weight
+     * of a leaf is its value, so it is not boxed at all.
+     */
+    @SuppressWarnings("unchecked")
+    void calculateNodeWeight(MutableNode<T> node) {
+        if (node.getChildren().isEmpty()) {
+            node.setSubtreeWeight(node.getValue());
+            return;
         }
 
-        T sum = operations.getZero();
-        for (Node<T> child : node.getChildren()) {
-            sum = operations.add(sum, ((MutableNode<T>)child).getSubtreeWeight());
+        if (operations instanceof IntegralOperations) {
+            IntegralOperations<T> integralOperations = (IntegralOperations<T>)operations;
+            long sum = integralOperations.toLong(node.getValue());
+
+            for (Node<T> child : node.getChildren()) {
+                sum = integralOperations.addLong(sum, integralOperations.toLong(child.getSubtreeWeight()));
+            }
+
+            node.setSubtreeWeight(integralOperations.fromLong(sum));
+        } else if (operations instanceof DoubleOperations) {
+            double sum = node.getValue().doubleValue();
+
+            for (Node<T> child : node.getChildren()) {
+                sum += child.getSubtreeWeight().doubleValue();
+            }
+
+            node.setSubtreeWeight((T)Double.valueOf(sum));
+        } else {
+            T sum = node.getValue();
+
+            for (Node<T> child : node.getChildren()) {
+                sum = operations.add(sum, child.getSubtreeWeight());
+            }
+
+            node.setSubtreeWeight(sum);
         }
+    }
 
-        sum = operations.add(sum, node.getValue());
+    /**
+     * Changes the value of the node in O(log n). The sum of the tree (if it was calculated) and the weights returned
+     * by subtreeWeight are updated, but getSubtreeWeight of the nodes returns the old weights until
+     * calculateSubtreesWeights is called.
+     * @throws IllegalArgumentException If the node is not in the tree.
+     */
+    public void updateValue(Node<T> node, T newValue) throws IllegalArgumentException {
+        int entryTime = getEntryTime(node);
+        T delta = operations.sub(newValue, node.getValue());
 
-        node.modifySubtreeWeight(sum);
+        ((MutableNode<T>)node).setValue(newValue);
+        weightsTree.add(entryTime, delta);
+
+        if (sum != null) {
+            sum = operations.add(sum, delta);
+        }
     }
 
     /**
-     * Calculates the subtrees' weights starting form the root.
+     * Returns the weight of the subtree of the node in O(log n) (the index is built in O(n) on the first call after
+     * the tree is changed). Unlike getSubtreeWeight of the node, it takes into account the values changed with
+     * updateValue.
+     * @throws IllegalArgumentException If the node is not in the tree.
      */
-    private void calculateSubtreesWeights() {
-        calculateSubtreesWightsRecursive((MutableNode<T>)root);
+    public T subtreeWeight(Node<T> node) throws IllegalArgumentException {
+        int entryTime = getEntryTime(node);
+        return weightsTree.rangeSum(entryTime, getTreeIndex().getExitTime(node));
+    }
+
+    /**
+     * Builds the Fenwick tree if it is not built for the current version of the tree and returns the entry time of
+     * the node.
+     */
+    private int getEntryTime(Node<T> node) throws IllegalArgumentException {
+        TreeIndex<T> weightsIndex = getTreeIndex();
+
+        if (weightsTree == null || weightsVersion != getVersion()) {
+            List<T> values = new ArrayList<>(weightsIndex.getSize());
+            for (int i = 0; i < weightsIndex.getSize(); i++) {
+                values.add(weightsIndex.getNode(i).getValue());
+            }
+
+            weightsTree = new FenwickTree<>(operations, values);
+            weightsVersion = getVersion();
+        }
+
+        if (node == null || !weightsIndex.contains(node)) {
+            throw new IllegalArgumentException("Node is not in the tree");
+        }
+
+        return weightsIndex.getEntryTime(node);
     }
 
     /**
@@ -70,6 +166,7 @@ public class MutableTree<T extends Number> extends AbstractTree<T> {
     @Override
     AbstractTree<T> removeSubtree(Node<T> subtreeRoot) {
         Node<T> parent = subtreeRoot.getParent();
+        markModified();
 
         //If parent is null then it is the root
         if (parent == null) {
@@ -81,40 +178,61 @@ public class MutableTree<T extends Number> extends AbstractTree<T> {
         }
 
         recalculateParentsWeights((MutableNode<T>)subtreeRoot);
-        subtreeRoot.getParent().getChildren().remove(subtreeRoot);
+        ((MutableNode<T>)parent).removeChild((MutableNode<T>)subtreeRoot);
 
         return this;
     }
 
     /**
-     * Maximizes the current tree using the kMaximizer.
+     * Maximizes the current tree using the kMaximizer. The found subtrees are removed with one RemovalPlan, which
+     * also calculates the size, the sum and the subtree weights of the maximized tree.
      * @param maxOperationsCount The maximum number of iterations allowed.
      */
     @Override
     public AbstractTree<T> maximize(int maxOperationsCount) {
         calculateSubtreesWeights();
-        List<Node<T>> nodesToRemoveList = kMaximizer.maximize(maxOperationsCount);
-
-        for (Node<T> nodeToDelete : nodesToRemoveList) {
-            removeSubtree(nodeToDelete);
-        }
+        new RemovalPlan<>(this, kMaximizer.maximize(maxOperationsCount)).apply();
 
-        calculateSizeAndSum();
         return this;
     }
 
     /**
-     * Maximizes the current tree with unlimited number of iterations.
+     * Calculates the subtree weights before the curve is found, as maximize does, so the weights of the nodes from
+     * the curve are up to date.
+     */
+    @Override
+    public ProfitCurve<T> profitCurve(int maxOperationsCount) {
+        calculateSubtreesWeights();
+
+        return super.profitCurve(maxOperationsCount);
+    }
+
+    /**
+     * Maximizes the current tree with unlimited number of iterations. All negative subtrees are found in a single
+     * post-order pass and then removed with one RemovalPlan, which also calculates the size, the sum and the subtree
+     * weights of the maximized tree.
      */
     @Override
     AbstractTree<T> maximize() {
+        new RemovalPlan<>(this, findNegativeSubtreesToRemove()).apply();
+
+        return this;
+    }
+
+    /**
+     * Maximizes the current tree with unlimited number of iterations using the greedy algorithm: on each iteration
+     * we delete the deepest node with a negative subtree weight. Gives the same result as maximize(). The deepest
+     * negative subtree is taken from the NegativeSubtreeIndex, so the iterations do not scan the whole tree.
+     */
+    AbstractTree<T> maximizeGreedy() {
         calculateSubtreesWeights();
-        Node<T> minSubtreeRoot = findDeepestNegativeSubtree();
+        NegativeSubtreeIndex<T> negativeSubtreeIndex = new NegativeSubtreeIndex<>(this);
+        Node<T> minSubtreeRoot = negativeSubtreeIndex.findDeepestNegativeSubtree();
 
         while (minSubtreeRoot != null && minSubtreeRoot.getSubtreeWeight().doubleValue() < 0) {
-            removeSubtree(minSubtreeRoot);
+            negativeSubtreeIndex.removeSubtree(minSubtreeRoot);
 
-            minSubtreeRoot = findDeepestNegativeSubtree();
+            minSubtreeRoot = negativeSubtreeIndex.findDeepestNegativeSubtree();
         }
 
         return this;
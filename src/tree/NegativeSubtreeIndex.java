@@ -0,0 +1,114 @@
+package tree;
+
+import tree.operations.Operations;
+import tree.traversal.TraversalAction;
+
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * The index of the nodes with negative subtree weights of the mutable tree, ordered by height (the deepest first),
+ * which is kept up to date while the subtrees are removed. It lets the greedy algorithm find the next deepest negative
+ * subtree without scanning the whole tree after every removal.
+ *
+ * The nodes of the same height are ordered by their BFS order, so the index finds the same node as
+ * findDeepestNegativeSubtree. When a subtree is removed, its nodes leave the index, and only the ancestors of
+ * the removed node are updated, because the weights of the other nodes do not change. So r removals cost
+ * O((n + r * depth) log n) instead of O(r * n) for the scans.
+ * @param <T> The type of nodes' values.
+ */
+class NegativeSubtreeIndex<T extends Number> {
+    private final MutableTree<T> tree;
+    private final Operations<T> operations;
+
+    private final NodeTable<T, IndexEntry<T>> entries;
+    private final TreeSet<IndexEntry<T>> negativeEntries = new TreeSet<>(
+            Comparator.<IndexEntry<T>>comparingInt(entry -> -entry.height).thenComparingInt(entry -> entry.order));
+
+
+    /**
+     * Builds the index of the tree. The subtree weights of the tree must be calculated.
+     */
+    NegativeSubtreeIndex(MutableTree<T> tree) {
+        this.tree = tree;
+        this.operations = tree.getOperationsObject();
+
+        NodeIds<T> nodeIds = tree.getNodeIds();
+        this.entries = new NodeTable<>(nodeIds);
+
+        for (int i = 0; i < nodeIds.getSize(); i++) {
+            IndexEntry<T> entry = new IndexEntry<>(nodeIds.getNode(i), i);
+
+            entries.putById(i, entry);
+            updateEntry(entry);
+        }
+    }
+
+
+    /**
+     * @return The deepest node with a negative subtree weight (except the root), or the root if there is no such
+     * node, or null if the tree is empty. The same node as findDeepestNegativeSubtree.
+     */
+    Node<T> findDeepestNegativeSubtree() {
+        if (negativeEntries.isEmpty()) {
+            return tree.getRoot();
+        }
+
+        return negativeEntries.first().node;
+    }
+
+    /**
+     * Removes the subtree from the tree and updates the index.
+     */
+    void removeSubtree(Node<T> subtreeRoot) {
+        Node<T> parent = subtreeRoot.getParent();
+        tree.removeSubtree(subtreeRoot);
+
+        tree.traversal.preOrder(subtreeRoot, currNode -> {
+            IndexEntry<T> entry = entries.remove(currNode);
+
+            if (entry != null) {
+                negativeEntries.remove(entry);
+            }
+
+            return TraversalAction.CONTINUE;
+        });
+
+        while (parent != null) {
+            updateEntry(entries.get(parent));
+            parent = parent.getParent();
+        }
+    }
+
+
+    /**
+     * Adds the node to the set of negative subtrees or removes it from there according to its current weight.
+     */
+    private void updateEntry(IndexEntry<T> entry) {
+        boolean isNegative = entry.node != tree.getRoot() &&
+                operations.compare(entry.node.getSubtreeWeight(), operations.getZero()) == -1;
+
+        if (isNegative) {
+            negativeEntries.add(entry);
+        } else {
+            negativeEntries.remove(entry);
+        }
+    }
+
+
+    private static class IndexEntry<T extends Number> {
+        private final Node<T> node;
+        private final int height;
+
+        /**
+         * The BFS order of the node in the tree when the index was built, which is also its id.
+         */
+        private final int order;
+
+        IndexEntry(Node<T> node, int order) {
+            this.node = node;
+            this.height = node.getHeight();
+            this.order = order;
+        }
+    }
+}
@@ -16,4 +16,14 @@ public interface Node<T extends Number> extends Wrapper<T> {
     Node<T> getParent();
     T getSubtreeWeight();
     int getHeight();
+
+    /**
+     * Returns the dense id of the node: its position in the nodes of the last NodeIds which was created by
+     * the indexes of its tree. The ids are only hints, NodeIds checks them before use.
+     * @return The id, or -1 if the node does not keep an id (for example, the immutable nodes can be shared by
+     * several trees).
+     */
+    default int getId() {
+        return -1;
+    }
 }
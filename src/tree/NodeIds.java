@@ -0,0 +1,90 @@
+package tree;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dense int ids of the nodes of a tree: the id of the node is its position in the given list of nodes, so
+ * the data of the nodes can be kept in arrays (see NodeTable and IntNodeTable) instead of hash maps.
+ *
+ * The mutable nodes keep the ids which are given by the indexes of their tree (see TreeIndexes), so the id of such
+ * node is found with one array read. Only the indexes of the tree give the ids to the nodes: the NodeIds which are
+ * created with the constructor (for example, by a TreeIndex of a subtree) do not change them. The id which is kept
+ * by the node is checked before use, because it can belong to another NodeIds (or the node can be moved to another
+ * tree). The ids of the other nodes (and of the nodes with wrong kept ids) are found in the identity map, which is
+ * built on the first such lookup.
+ *
+ * NodeIds is a snapshot: if the tree is changed, new ids must be created.
+ * @param <T> The type of nodes' values.
+ */
+public class NodeIds<T extends Number> {
+    private final Object[] nodes;
+    private Map<Node<T>, Integer> idsMap;
+
+
+    /**
+     * Gives the ids to the nodes in the order of the list. The ids which are kept by the nodes are not changed.
+     */
+    public NodeIds(List<Node<T>> nodes) throws IllegalArgumentException {
+        if (nodes == null) {
+            throw new IllegalArgumentException("Nodes can not be null");
+        }
+
+        this.nodes = nodes.toArray();
+    }
+
+
+    /**
+     * Creates the ids of the nodes of the tree and writes them into the mutable nodes. It is used only by
+     * the indexes of the tree, so the kept ids always belong to the current nodes list of the tree.
+     */
+    static <T extends Number> NodeIds<T> createTreeIds(List<Node<T>> nodes) {
+        NodeIds<T> nodeIds = new NodeIds<>(nodes);
+
+        for (int i = 0; i < nodeIds.nodes.length; i++) {
+            if (nodeIds.nodes[i] instanceof MutableNode) {
+                ((MutableNode<?>)nodeIds.nodes[i]).setId(i);
+            }
+        }
+
+        return nodeIds;
+    }
+
+
+    public int getSize() {
+        return nodes.length;
+    }
+
+    /**
+     * @return The id of the node, or -1 if the node is not in the list.
+     */
+    public int getId(Node<T> node) {
+        int id = node.getId();
+
+        if (id >= 0 && id < nodes.length && nodes[id] == node) {
+            return id;
+        }
+
+        if (idsMap == null) {
+            idsMap = new IdentityHashMap<>(nodes.length);
+
+            for (int i = 0; i < nodes.length; i++) {
+                idsMap.put(getNode(i), i);
+            }
+        }
+
+        Integer mappedId = idsMap.get(node);
+
+        return mappedId == null ? -1 : mappedId;
+    }
+
+    public boolean contains(Node<T> node) {
+        return getId(node) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Node<T> getNode(int id) {
+        return (Node<T>)nodes[id];
+    }
+}
@@ -0,0 +1,79 @@
+package tree;
+
+/**
+ * The table of values of the nodes which is kept in an array indexed by the ids of the nodes, as a replacement of
+ * HashMap&lt;Node, V&gt;.
+ * @param <T> The type of nodes' values.
+ * @param <V> The type of the values of the table.
+ */
+public class NodeTable<T extends Number, V> {
+    private final NodeIds<T> nodeIds;
+    private final Object[] values;
+
+
+    public NodeTable(NodeIds<T> nodeIds) throws IllegalArgumentException {
+        if (nodeIds == null) {
+            throw new IllegalArgumentException("Node ids can not be null");
+        }
+
+        this.nodeIds = nodeIds;
+        this.values = new Object[nodeIds.getSize()];
+    }
+
+
+    public NodeIds<T> getNodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * @return The value of the node, or null if there is no value or the node has no id.
+     */
+    public V get(Node<T> node) {
+        int id = nodeIds.getId(node);
+
+        return id < 0 ? null : getById(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getById(int id) {
+        return (V)values[id];
+    }
+
+    /**
+     * @throws IllegalArgumentException If the node has no id.
+     */
+    public void put(Node<T> node, V value) throws IllegalArgumentException {
+        values[getExistingId(node)] = value;
+    }
+
+    public void putById(int id, V value) {
+        values[id] = value;
+    }
+
+    /**
+     * @return The old value of the node, or null if there was no value or the node has no id.
+     */
+    public V remove(Node<T> node) {
+        int id = nodeIds.getId(node);
+
+        if (id < 0) {
+            return null;
+        }
+
+        V oldValue = getById(id);
+        values[id] = null;
+
+        return oldValue;
+    }
+
+
+    private int getExistingId(Node<T> node) throws IllegalArgumentException {
+        int id = nodeIds.getId(node);
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Node is not in the table");
+        }
+
+        return id;
+    }
+}
@@ -0,0 +1,184 @@
+package tree;
+
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The level-synchronous BFS of the tree in the fork/join pool, which is used by calculateSizeAndSum and
+ * getNodesCollection when the parallel pool of the tree is set.
+ *
+ * The nodes of the current level (the frontier) are split into chunks. Every chunk collects the children of its
+ * nodes and the sum of their values in a separate task, and then the children of the chunks are concatenated in
+ * the order of the chunks, so the next level is in the BFS order. The partial sums are added in the same order with
+ * the operations of the tree. The levels which are smaller than LEVEL_THRESHOLD are processed in the current thread.
+ *
+ * The sum is calculated in another order than in the sequential BFS, so the double sums can differ in the last bits.
+ * @param <T> The type of nodes' values.
+ */
+class ParallelLevelTraversal<T extends Number> {
+
+    /**
+     * The levels with fewer nodes are processed in the current thread.
+     */
+    static final int LEVEL_THRESHOLD = 1 << 12;
+
+    /**
+     * The number of nodes of the level which are processed by one task.
+     */
+    private static final int CHUNK_SIZE = 1 << 10;
+
+    private final Operations<T> operations;
+    private final ForkJoinPool pool;
+
+    private int size;
+    private T sum;
+    private List<Node<T>> nodes;
+
+
+    ParallelLevelTraversal(Operations<T> operations, ForkJoinPool pool) {
+        this.operations = operations;
+        this.pool = pool;
+    }
+
+
+    /**
+     * Visits all nodes of the tree and calculates the size and the sum.
+     * @param collectNodes If true, the list of all nodes in the BFS order is collected.
+     */
+    ParallelLevelTraversal<T> traverse(Node<T> root, boolean collectNodes) {
+        size = 0;
+        sum = operations.getZero();
+        nodes = collectNodes ? new ArrayList<>() : null;
+
+        List<Node<T>> frontier = new ArrayList<>();
+        if (root != null) {
+            frontier.add(root);
+        }
+
+        while (frontier.size() > 0) {
+            size += frontier.size();
+
+            if (collectNodes) {
+                nodes.addAll(frontier);
+            }
+
+            frontier = frontier.size() < LEVEL_THRESHOLD ? visitLevel(frontier) : visitLevelInParallel(frontier);
+        }
+
+        return this;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    T getSum() {
+        return sum;
+    }
+
+    List<Node<T>> getNodes() {
+        return nodes;
+    }
+
+
+    /**
+     * Adds the values of the level to the sum.
+     * @return The next level.
+     */
+    private List<Node<T>> visitLevel(List<Node<T>> frontier) {
+        LevelChunk chunk = new LevelChunk(frontier, 0, frontier.size());
+        chunk.visit();
+        sum = operations.add(sum, chunk.sum);
+
+        return chunk.children;
+    }
+
+    private List<Node<T>> visitLevelInParallel(List<Node<T>> frontier) {
+        int chunksCount = (frontier.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<LevelChunk> chunks = new ArrayList<>(chunksCount);
+
+        for (int i = 0; i < chunksCount; i++) {
+            chunks.add(new LevelChunk(frontier, i * CHUNK_SIZE, Math.min(frontier.size(), (i + 1) * CHUNK_SIZE)));
+        }
+
+        pool.invoke(new ChunksTask(chunks, 0, chunksCount));
+
+        int nextSize = 0;
+        for (LevelChunk chunk : chunks) {
+            nextSize += chunk.children.size();
+        }
+
+        List<Node<T>> nextFrontier = new ArrayList<>(nextSize);
+
+        for (LevelChunk chunk : chunks) {
+            nextFrontier.addAll(chunk.children);
+            sum = operations.add(sum, chunk.sum);
+        }
+
+        return nextFrontier;
+    }
+
+
+    /**
+     * The part of the level [from, to), its children and the sum of its values.
+     */
+    private class LevelChunk {
+        private final List<Node<T>> frontier;
+        private final int from;
+        private final int to;
+
+        private List<Node<T>> children;
+        private T sum;
+
+        LevelChunk(List<Node<T>> frontier, int from, int to) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        void visit() {
+            children = new ArrayList<>();
+            sum = operations.getZero();
+
+            for (int i = from; i < to; i++) {
+                Node<T> currNode = frontier.get(i);
+                sum = operations.add(sum, currNode.getValue());
+
+                if (currNode.getChildren() != null) {
+                    children.addAll(currNode.getChildren());
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the chunks [from, to) splitting them into halves.
+     */
+    @SuppressWarnings("serial")
+    private class ChunksTask extends RecursiveAction {
+        private final List<LevelChunk> chunks;
+        private final int from;
+        private final int to;
+
+        ChunksTask(List<LevelChunk> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunks.get(from).visit();
+                return;
+            }
+
+            int middle = (from + to) / 2;
+            invokeAll(new ChunksTask(chunks, from, middle), new ChunksTask(chunks, middle, to));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates the subtree weights of the mutable tree with the fork/join framework.
+ *
+ * Every task gets a list of roots and visits their subtrees in the pre-order, until SEQUENTIAL_THRESHOLD nodes are
+ * visited. The subtrees which were not visited in time are large, so they are split into two halves and given to two
+ * new tasks. When the new tasks are done, the task calculates the weights of its visited nodes in the reversed
+ * pre-order, so the weights of all children are already known.
+ *
+ * Every weight is written by one task and is read only by the task itself or by the task which joined it, so there
+ * are no races. The weight of every node is calculated from the same values in the same order as in
+ * calculateSubtreesWeights, so the results are equal.
+ * @param <T> The type of nodes' values.
+ */
+class ParallelWeightsCalculator<T extends Number> {
+
+    /**
+     * The maximum number of nodes which are visited by one task.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private final MutableTree<T> tree;
+
+
+    ParallelWeightsCalculator(MutableTree<T> tree) {
+        this.tree = tree;
+    }
+
+
+    void calculate(ForkJoinPool pool) {
+        if (tree.getRoot() == null) {
+            return;
+        }
+
+        List<MutableNode<T>> roots = new ArrayList<>();
+        roots.add((MutableNode<T>)tree.getRoot());
+
+        pool.invoke(new WeightsTask(roots));
+    }
+
+
+    @SuppressWarnings("serial")
+    private class WeightsTask extends RecursiveAction {
+        private final List<MutableNode<T>> roots;
+
+        WeightsTask(List<MutableNode<T>> roots) {
+            this.roots = roots;
+        }
+
+        @Override
+        protected void compute() {
+            List<MutableNode<T>> visitedNodes = new ArrayList<>();
+            Deque<MutableNode<T>> pendingNodes = new ArrayDeque<>();
+
+            for (int i = roots.size() - 1; i >= 0; i--) {
+                pendingNodes.push(roots.get(i));
+            }
+
+            //A single pending subtree is not split, so a long chain of nodes does not make a long chain of tasks.
+            while (pendingNodes.size() > 0 &&
+                    (visitedNodes.size() < SEQUENTIAL_THRESHOLD || pendingNodes.size() == 1)) {
+                MutableNode<T> currNode = pendingNodes.pop();
+                visitedNodes.add(currNode);
+
+                for (Node<T> child : currNode.getChildren()) {
+                    pendingNodes.push((MutableNode<T>)child);
+                }
+            }
+
+            if (pendingNodes.size() > 0) {
+                List<MutableNode<T>> restRoots = new ArrayList<>(pendingNodes);
+                int middle = restRoots.size() / 2;
+
+                invokeAll(new WeightsTask(restRoots.subList(0, middle)),
+                        new WeightsTask(restRoots.subList(middle, restRoots.size())));
+            }
+
+            for (int i = visitedNodes.size() - 1; i >= 0; i--) {
+                tree.calculateNodeWeight(visitedNodes.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package tree;
+
+import tree.operations.Operations;
+import tree.traversal.TraversalAction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The plan of removing many subtrees from the mutable tree at once. Instead of removing the subtrees one by one
+ * (and walking from every removed node to the root), the plan is applied in a single post-order pass: the nodes
+ * which are covered by another removed node are never reached, the others are detached from their parents, and
+ * the subtree weights of all left nodes, the size and the sum of the tree are calculated again.
+ * @param <T> The type of nodes' values.
+ */
+public class RemovalPlan<T extends Number> {
+    private final MutableTree<T> tree;
+    private final Set<Node<T>> nodesToRemove;
+
+
+    /**
+     * @param nodesToRemove The roots of the subtrees which must be removed. The nodes which are not in the tree
+     *                      are ignored.
+     */
+    public RemovalPlan(MutableTree<T> tree, Collection<? extends Node<T>> nodesToRemove)
+            throws IllegalArgumentException {
+        if (tree == null) {
+            throw new IllegalArgumentException("Tree can not be null");
+        }
+
+        if (nodesToRemove == null) {
+            throw new IllegalArgumentException("Nodes to remove can not be null");
+        }
+
+        this.tree = tree;
+        this.nodesToRemove = new HashSet<>(nodesToRemove);
+    }
+
+
+    /**
+     * Removes the subtrees from the tree.
+     * @return The roots of the removed subtrees: the nodes of the plan which were in the tree and were not covered
+     * by another removed node, in the post-order.
+     */
+    public List<Node<T>> apply() {
+        Operations<T> operations = tree.getOperationsObject();
+        List<Node<T>> removedRoots = new ArrayList<>();
+        int[] size = { 0 };
+        Object[] sum = { operations.getZero() };
+
+        tree.traversal.postOrder(tree.root,
+                node -> nodesToRemove.contains(node) ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE,
+                node -> {
+                    if (nodesToRemove.contains(node)) {
+                        removedRoots.add(node);
+                        return TraversalAction.CONTINUE;
+                    }
+
+                    ((MutableNode<T>)node).removeChildren(nodesToRemove::contains);
+
+                    T subtreeWeight = node.getValue();
+                    for (Node<T> child : node.getChildren()) {
+                        subtreeWeight = operations.add(subtreeWeight, child.getSubtreeWeight());
+                    }
+
+                    ((MutableNode<T>)node).setSubtreeWeight(subtreeWeight);
+                    size[0]++;
+                    sum[0] = operations.add(getSum(sum), node.getValue());
+
+                    return TraversalAction.CONTINUE;
+                });
+
+        if (tree.root != null && nodesToRemove.contains(tree.root)) {
+            tree.root = null;
+        }
+
+        tree.size = size[0];
+        tree.sum = getSum(sum);
+        tree.markModified();
+
+        return removedRoots;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private T getSum(Object[] sum) {
+        return (T)sum[0];
+    }
+}
@@ -0,0 +1,187 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The estimated heap footprint of a tree, split by categories: the node objects themselves, the containers of
+ * children, the boxed values and the boxed subtree weights. The objects which are shared by all nodes (the operations
+ * and the tree itself) are not counted.
+ *
+ * The sizes are estimated for a 64-bit JVM with compressed references (the default for heaps smaller than 32 GB):
+ * the object header takes 12 bytes, a reference takes 4 bytes and the objects are aligned to 8 bytes.
+ * The Byte, Short, Integer and Long values from -128 to 127 are cached by the JVM, so they are not counted.
+ * The capacity of the ArrayList of children is not known, so it is estimated as the capacity of a list which got
+ * all its elements by add.
+ */
+public class TreeFootprint {
+    private static final int HEADER_SIZE = 12;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int ALIGNMENT = 8;
+
+    /**
+     * value, parent, firstChild, lastChild, previousSibling, nextSibling, subtreeWeight, operations,
+     * childrenCount, height and id.
+     */
+    private static final long MUTABLE_NODE_SIZE = align(HEADER_SIZE + 8 * REFERENCE_SIZE + 3 * Integer.BYTES);
+
+    /**
+     * value, parent, children, childrenView, operations, origin, subtreeWeight, height and shared.
+     */
+    private static final long IMMUTABLE_NODE_SIZE = align(HEADER_SIZE + 7 * REFERENCE_SIZE + Integer.BYTES + 1);
+
+    /**
+     * The view of the children of the immutable node keeps only the reference to the node.
+     */
+    private static final long CHILDREN_VIEW_SIZE = align(HEADER_SIZE + REFERENCE_SIZE);
+
+    /**
+     * value, parent, children, subtreeWeight and height.
+     */
+    private static final long COMPACT_NODE_SIZE = align(HEADER_SIZE + 4 * REFERENCE_SIZE + Integer.BYTES);
+
+    /**
+     * elementData, size and modCount.
+     */
+    private static final long ARRAY_LIST_SIZE = align(HEADER_SIZE + REFERENCE_SIZE + 2 * Integer.BYTES);
+    private static final int ARRAY_LIST_DEFAULT_CAPACITY = 10;
+
+    private long nodesCount;
+    private long nodeBytes;
+    private long childrenBytes;
+    private long valueBytes;
+    private long weightBytes;
+
+
+    public long getNodesCount() {
+        return nodesCount;
+    }
+
+    public long getNodeBytes() {
+        return nodeBytes;
+    }
+
+    public long getChildrenBytes() {
+        return childrenBytes;
+    }
+
+    public long getValueBytes() {
+        return valueBytes;
+    }
+
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getTotalBytes() {
+        return nodeBytes + childrenBytes + valueBytes + weightBytes;
+    }
+
+    /**
+     * @return The average number of bytes per node, or 0 if the tree is empty.
+     */
+    public double getBytesPerNode() {
+        return nodesCount == 0 ? 0 : (double)getTotalBytes() / nodesCount;
+    }
+
+
+    /**
+     * Adds the estimated size of the node (without its subtree) to the footprint.
+     */
+    void addNode(Node<?> node) {
+        nodesCount++;
+        valueBytes += getBoxSize(node.getValue());
+
+        if (node instanceof MutableNode) {
+            nodeBytes += MUTABLE_NODE_SIZE;
+            addWeight(node);
+        } else if (node instanceof ImmutableNode) {
+            Collection<?> children = ((ImmutableNode<?>)node).getChildrenCollection();
+
+            nodeBytes += IMMUTABLE_NODE_SIZE;
+            childrenBytes += getCollectionSize(children) + (children == null ? 0 : CHILDREN_VIEW_SIZE);
+
+            if (ImmutableNode.isWeightCalculated(node)) {
+                addWeight(node);
+            }
+        } else if (node instanceof CompactNode) {
+            int childrenCount = ((CompactNode<?>)node).getChildrenCount();
+
+            nodeBytes += COMPACT_NODE_SIZE;
+            childrenBytes += childrenCount > 1 ? getArraySize(childrenCount) : 0;
+            addWeight(node);
+        } else {
+            //The layout of other nodes is not known, so only the header and the children are counted.
+            nodeBytes += align(HEADER_SIZE);
+            childrenBytes += getCollectionSize(node.getChildren());
+        }
+    }
+
+    private void addWeight(Node<?> node) {
+        if (node.getSubtreeWeight() != node.getValue()) {
+            weightBytes += getBoxSize(node.getSubtreeWeight());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nodes: %d, node objects: %d B, children: %d B, values: %d B, weights: %d B, " +
+                        "total: %d B (%.1f B per node)", nodesCount, nodeBytes, childrenBytes, valueBytes, weightBytes,
+                getTotalBytes(), getBytesPerNode());
+    }
+
+
+    private static long getCollectionSize(Collection<?> children) {
+        if (children == null) {
+            return 0;
+        }
+
+        if (!(children instanceof ArrayList)) {
+            return ARRAY_LIST_SIZE + (children.isEmpty() ? 0 : getArraySize(children.size()));
+        }
+
+        if (children.isEmpty()) {
+            return ARRAY_LIST_SIZE;
+        }
+
+        //ArrayList grows by half of its capacity.
+        int capacity = ARRAY_LIST_DEFAULT_CAPACITY;
+        while (capacity < children.size()) {
+            capacity += capacity >> 1;
+        }
+
+        return ARRAY_LIST_SIZE + getArraySize(capacity);
+    }
+
+    private static long getArraySize(int length) {
+        return align(ARRAY_HEADER_SIZE + (long)length * REFERENCE_SIZE);
+    }
+
+    /**
+     * @return The size of the boxed number, or 0 if it is null or it is cached by the JVM.
+     */
+    private static long getBoxSize(Number number) {
+        if (number == null) {
+            return 0;
+        }
+
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            long value = number.longValue();
+
+            if (value >= -128 && value <= 127) {
+                return 0;
+            }
+        }
+
+        if (number instanceof Long || number instanceof Double) {
+            return align(HEADER_SIZE + Long.BYTES);
+        }
+
+        return align(HEADER_SIZE + Integer.BYTES);
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
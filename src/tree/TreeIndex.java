@@ -0,0 +1,113 @@
+package tree;
+
+import tree.traversal.TraversalAction;
+import tree.traversal.TreeTraversal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The index of the tree which stores the DFS entry and exit times of every node (Euler tour).
+ * The subtree of the node occupies the interval [entry, exit] of the DFS order, so the check if one node is
+ * an ancestor of another node is just two comparisons. The index takes O(n) memory, unlike the sets of all parents
+ * of every node.
+ *
+ * The times are kept in the tables indexed by the dense ids of the nodes in the BFS order (see NodeIds). The index
+ * which is taken from the indexes of the tree uses the ids of the tree, so the mutable nodes are found without
+ * hashing. The index which is created with the public constructor gives its own ids and does not change the ids
+ * which are kept by the nodes.
+ *
+ * The index is a snapshot: if the tree is changed, a new index must be created.
+ * @param <T> The type of nodes' values.
+ */
+public class TreeIndex<T extends Number> {
+    private NodeIds<T> nodeIds;
+
+    /**
+     * The nodes in the DFS (pre-order) order. The position of the node in this list is its entry time.
+     */
+    private List<Node<T>> nodes;
+    private IntNodeTable<T> entryTimes;
+
+    /**
+     * The exit time of every node (the entry time of the last node in its subtree).
+     */
+    private IntNodeTable<T> exitTimes;
+
+
+    public TreeIndex(Node<T> root) {
+        this(root, new NodeIds<>(collectLevelOrder(root)));
+    }
+
+    /**
+     * Creates the index with the given ids of the nodes of the tree, so the ids are not given again.
+     */
+    TreeIndex(Node<T> root, NodeIds<T> nodeIds) {
+        this.nodeIds = nodeIds;
+        nodes = new ArrayList<>(nodeIds.getSize());
+        entryTimes = new IntNodeTable<>(nodeIds, -1);
+        exitTimes = new IntNodeTable<>(nodeIds, -1);
+
+        //The entry time is given when the node is reached for the first time, and the exit time is given when
+        //the whole subtree of the node is visited.
+        new TreeTraversal<T>().postOrder(root,
+                node -> {
+                    entryTimes.set(node, nodes.size());
+                    nodes.add(node);
+
+                    return TraversalAction.CONTINUE;
+                },
+                node -> {
+                    exitTimes.set(node, nodes.size() - 1);
+
+                    return TraversalAction.CONTINUE;
+                });
+    }
+
+
+    public int getSize() {
+        return nodes.size();
+    }
+
+    public boolean contains(Node<T> node) {
+        return nodeIds.contains(node);
+    }
+
+    public int getEntryTime(Node<T> node) {
+        return entryTimes.get(node);
+    }
+
+    public int getExitTime(Node<T> node) {
+        return exitTimes.get(node);
+    }
+
+    /**
+     * @return The node with the given entry time.
+     */
+    public Node<T> getNode(int entryTime) {
+        return nodes.get(entryTime);
+    }
+
+    /**
+     * Checks if the first node is a proper ancestor of the second node (the node is not an ancestor of itself).
+     * Both nodes must be in the tree.
+     */
+    public boolean isAncestor(Node<T> ancestor, Node<T> node) {
+        int ancestorId = nodeIds.getId(ancestor);
+        int ancestorEntryTime = entryTimes.getById(ancestorId);
+        int nodeEntryTime = entryTimes.get(node);
+
+        return ancestorEntryTime < nodeEntryTime && nodeEntryTime <= exitTimes.getById(ancestorId);
+    }
+
+
+    private static <T extends Number> List<Node<T>> collectLevelOrder(Node<T> root) {
+        List<Node<T>> nodes = new ArrayList<>();
+        new TreeTraversal<T>().levelOrder(root, node -> {
+            nodes.add(node);
+            return TraversalAction.CONTINUE;
+        });
+
+        return nodes;
+    }
+}
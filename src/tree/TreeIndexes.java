@@ -0,0 +1,123 @@
+package tree;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The registry of the indexes of a tree: the list of nodes in the BFS order, the ids of the nodes, the DFS
+ * intervals (TreeIndex) and the depths of the nodes. Every index is built on its first use and is shared by all
+ * users of the tree (the maximizers, updateValue and subtreeWeight of the mutable tree, and so on).
+ *
+ * The indexes are built for a version of the tree. The tree changes its version when its structure is changed by
+ * its own methods (removeSubtree, maximize), and then the indexes are built again on their next use. If the nodes
+ * of the tree are changed directly, the tree must be told about it with AbstractTree.markModified.
+ * @param <T> The type of nodes' values.
+ */
+public class TreeIndexes<T extends Number> {
+    private final AbstractTree<T> tree;
+
+    /**
+     * The version of the tree which the indexes were built for.
+     */
+    private int version;
+
+    private List<Node<T>> nodes;
+    private NodeIds<T> nodeIds;
+    private TreeIndex<T> treeIndex;
+    private int[] depths;
+
+
+    TreeIndexes(AbstractTree<T> tree) {
+        this.tree = tree;
+        this.version = tree.getVersion();
+    }
+
+
+    /**
+     * @return The read-only list of all nodes in the BFS order.
+     */
+    public List<Node<T>> getNodes() {
+        checkVersion();
+
+        if (nodes == null) {
+            nodes = Collections.unmodifiableList(tree.getNodesCollection());
+        }
+
+        return nodes;
+    }
+
+    /**
+     * @return The ids of the nodes, which are their positions in getNodes.
+     */
+    public NodeIds<T> getNodeIds() {
+        checkVersion();
+
+        if (nodeIds == null) {
+            nodeIds = NodeIds.createTreeIds(getNodes());
+        }
+
+        return nodeIds;
+    }
+
+    public TreeIndex<T> getTreeIndex() {
+        checkVersion();
+
+        if (treeIndex == null) {
+            treeIndex = new TreeIndex<>(tree.getRoot(), getNodeIds());
+        }
+
+        return treeIndex;
+    }
+
+    /**
+     * Returns the depth of the node in this tree (0 for the root). Unlike the height kept by the node, it is always
+     * calculated from the root of this tree.
+     * @throws IllegalArgumentException If the node is not in the tree.
+     */
+    public int getDepth(Node<T> node) throws IllegalArgumentException {
+        NodeIds<T> currNodeIds = getNodeIds();
+        int id = currNodeIds.getId(node);
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Node is not in the tree");
+        }
+
+        if (depths == null) {
+            depths = calculateDepths(getNodes());
+        }
+
+        return depths[id];
+    }
+
+
+    /**
+     * Drops the indexes if the tree was changed after they were built.
+     */
+    private void checkVersion() {
+        if (version == tree.getVersion()) {
+            return;
+        }
+
+        version = tree.getVersion();
+        nodes = null;
+        nodeIds = null;
+        treeIndex = null;
+        depths = null;
+    }
+
+    /**
+     * The children of every node follow each other in the BFS order, so the depths are found without lookups.
+     */
+    private static <T extends Number> int[] calculateDepths(List<Node<T>> nodes) {
+        int[] depths = new int[nodes.size()];
+        int nextChild = 1;
+
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = nodes.get(i).getChildren().size(); j > 0; j--) {
+                depths[nextChild++] = depths[i] + 1;
+            }
+        }
+
+        return depths;
+    }
+}
@@ -0,0 +1,402 @@
+package tree.columnar;
+
+import tree.*;
+import tree.operations.Operations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * The base class for the columnar trees. The columnar tree stores the structure of the tree in the arrays instead of
+ * the objects: every node is an index in the BFS order (the root has an index 0, the parent of every node has a smaller
+ * index than the node itself). The children of the node are stored as a first-child/next-sibling list.
+ *
+ * The values of the nodes are stored by the subclasses in the primitive arrays, so there is no boxing. This class
+ * keeps everything which does not depend on the type of the values: the structure, the conversion to the trees of
+ * nodes, the removal of subtrees, the scheduling of the knapsack DP and the restoring of its answer. The subclasses
+ * keep only the loops over the values.
+ */
+public abstract class ColumnarTree {
+
+    /**
+     * The index which is used when there is no parent, child or sibling.
+     */
+    public static final int NONE = -1;
+
+    int size;
+    int[] parents;
+    int[] firstChildren;
+    int[] nextSiblings;
+
+
+    ColumnarTree(int[] parents) throws IllegalArgumentException {
+        size = parents.length;
+        this.parents = parents;
+        firstChildren = new int[size];
+        nextSiblings = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            firstChildren[i] = NONE;
+            nextSiblings[i] = NONE;
+        }
+
+        //Going from the end, so the children in every list are in the increasing order.
+        for (int i = size - 1; i > 0; i--) {
+            int parent = parents[i];
+
+            if (parent < 0 || parent >= i) {
+                throw new IllegalArgumentException("Parent of every node must have a smaller index than the node");
+            }
+
+            nextSiblings[i] = firstChildren[parent];
+            firstChildren[parent] = i;
+        }
+
+        if (size > 0 && parents[0] != NONE) {
+            throw new IllegalArgumentException("Root can not have a parent");
+        }
+    }
+
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    /**
+     * Solves the K-maximization problem with the tree knapsack DP (see TreeKnapsackKMaximizer).
+     * @return The indexes of the nodes whose subtrees must be removed.
+     */
+    public int[] findNodesToRemove(int maxOperationsCount) {
+        return solveKnapsack(maxOperationsCount, null, ParallelPostOrder.DEFAULT_SEQUENTIAL_THRESHOLD)
+                .restoreRemovals(maxOperationsCount);
+    }
+
+    /**
+     * Solves the tree knapsack DP once for all numbers of removals up to maxOperationsCount. The removals for any
+     * of these numbers are restored from the solution when they are needed.
+     * @param pool The pool in which the independent subtrees are processed concurrently (the subtrees with less
+     * than sequentialThreshold nodes are processed sequentially, see ParallelPostOrder), or null if the DP must be
+     * solved in the current thread. The solution does not depend on the pool.
+     */
+    public abstract KnapsackSolution solveKnapsack(int maxOperationsCount, ForkJoinPool pool, int sequentialThreshold);
+
+
+    /**
+     * Creates the mutable tree with the structure of the columnar tree.
+     * @param nodeValues The function which gives the value of the node by its index.
+     */
+    <T extends Number> MutableTree<T> createMutableTree(Operations<T> operations, IntFunction<T> nodeValues) {
+        if (size == 0) {
+            return new MutableTree<>(operations);
+        }
+
+        List<MutableNode<T>> nodes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            MutableNode<T> node = new MutableNode<>(operations, nodeValues.apply(i));
+
+            if (i > 0) {
+                nodes.get(parents[i]).addChild(node);
+            }
+
+            nodes.add(node);
+        }
+
+        return new MutableTree<>(operations, nodes.get(0));
+    }
+
+    /**
+     * Creates the immutable tree with the structure of the columnar tree.
+     * @param nodeValues The function which gives the value of the node by its index.
+     */
+    <T extends Number> ImmutableTree<T> createImmutableTree(Operations<T> operations, IntFunction<T> nodeValues) {
+        if (size == 0) {
+            return new ImmutableTree<>(operations);
+        }
+
+        List<ImmutableNode<T>> nodes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            ImmutableNode<T> parent = i > 0 ? nodes.get(parents[i]) : null;
+            ImmutableNode<T> node = new ImmutableNode<>(operations, nodeValues.apply(i), new ArrayList<>(), parent);
+
+            if (parent != null) {
+                parent.getChildren().add(node);
+            }
+
+            nodes.add(node);
+        }
+
+        return new ImmutableTree<>(operations, nodes.get(0));
+    }
+
+
+    /**
+     * Fills the rows of the tree knapsack DP from the leaves to the root. The capacity of every node is the smaller
+     * of maxOperationsCount and the size of its subtree, the children are merged one by one, and then the removal
+     * of the whole subtree is offered. The profits of the root are left in its row.
+     * @param splits The array which is filled with the number of removals given to every child by its parent.
+     * @param deletions The array which is filled with the flags of the removal of the whole subtree.
+     * @param pool The pool of the tasks, or null if the DP must be solved in the current thread.
+     */
+    void mergeKnapsackProfits(int maxOperationsCount, KnapsackProfits profits, int[][] splits, boolean[][] deletions,
+                              ForkJoinPool pool, int sequentialThreshold) {
+        int[] sizes = calculateSubtreeSizes();
+
+        forEachPostOrder(node -> mergeProfits(node, Math.min(maxOperationsCount, sizes[node]), profits, splits,
+                deletions), pool, sequentialThreshold);
+    }
+
+    /**
+     * Calculates the profits of the node from the profits of its children, and releases the profits of the children.
+     */
+    private void mergeProfits(int node, int capacity, KnapsackProfits profits, int[][] splits,
+                              boolean[][] deletions) {
+        profits.createRow(node, capacity);
+        int mergedCapacity = 0;
+
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            int newCapacity = Math.min(capacity, mergedCapacity + profits.getCapacity(child));
+            int[] childSplits = new int[newCapacity + 1];
+
+            profits.mergeChild(node, mergedCapacity, child, newCapacity, childSplits);
+
+            mergedCapacity = newCapacity;
+            splits[child] = childSplits;
+        }
+
+        deletions[node] = profits.offerDeletion(node);
+    }
+
+    /**
+     * Runs the action for every node, the children before their parents.
+     * @param pool The pool of the tasks, or null if the nodes must be processed in the current thread
+     * (see ParallelPostOrder).
+     */
+    void forEachPostOrder(IntConsumer nodeAction, ForkJoinPool pool, int sequentialThreshold) {
+        new ParallelPostOrder(firstChildren, nextSiblings, sequentialThreshold).forEach(nodeAction, pool);
+    }
+
+    /**
+     * Calculates the number of nodes in every subtree going from the last node to the root.
+     */
+    int[] calculateSubtreeSizes() {
+        int[] sizes = new int[size];
+
+        for (int i = size - 1; i >= 0; i--) {
+            sizes[i]++;
+
+            if (i > 0) {
+                sizes[parents[i]] += sizes[i];
+            }
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Collects the nodes of the given tree in the BFS order and fills the array of parents' indexes.
+     * @param tree The tree which is converted.
+     * @param parents The list which is filled with the indexes of parents.
+     * @return The list of nodes in the BFS order.
+     */
+    static <T extends Number> List<Node<T>> collectNodes(AbstractTree<T> tree, List<Integer> parents) {
+        List<Node<T>> nodes = new ArrayList<>();
+
+        if (tree.getRoot() == null) {
+            return nodes;
+        }
+
+        Queue<Node<T>> pendingNodes = new ArrayDeque<>();
+        pendingNodes.add(tree.getRoot());
+        parents.add(NONE);
+
+        while (pendingNodes.size() > 0) {
+            Node<T> currNode = pendingNodes.poll();
+            int currIndex = nodes.size();
+            nodes.add(currNode);
+
+            for (Node<T> child : currNode.getChildren()) {
+                pendingNodes.add(child);
+                parents.add(currIndex);
+            }
+        }
+
+        return nodes;
+    }
+
+    static int[] toIntArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Finds all nodes which are removed together with the given roots of subtrees.
+     * @param removedRoots The flags of the nodes whose subtrees must be removed.
+     * @return The flags of all removed nodes.
+     */
+    boolean[] markRemovedNodes(boolean[] removedRoots) {
+        boolean[] removed = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            removed[i] = removedRoots[i] || (i > 0 && removed[parents[i]]);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Creates the new indexes of the nodes which are left after the removal of the subtrees.
+     * @param removedRoots The flags of the nodes whose subtrees must be removed.
+     * @return The new index of every node, or NONE if the node is removed.
+     */
+    int[] createNewIndexes(boolean[] removedRoots) {
+        boolean[] removed = markRemovedNodes(removedRoots);
+        int[] newIndexes = new int[size];
+        int nextIndex = 0;
+
+        for (int i = 0; i < size; i++) {
+            newIndexes[i] = removed[i] ? NONE : nextIndex++;
+        }
+
+        return newIndexes;
+    }
+
+    /**
+     * @return The number of the nodes which are left after the removal.
+     */
+    static int countLeftNodes(int[] newIndexes) {
+        int newSize = 0;
+
+        for (int newIndex : newIndexes) {
+            if (newIndex != NONE) {
+                newSize++;
+            }
+        }
+
+        return newSize;
+    }
+
+    /**
+     * Creates the parents' array of the tree which is left after the removal.
+     * @param newIndexes The new indexes of the nodes from createNewIndexes.
+     * @param newSize The number of the nodes which are left.
+     */
+    int[] createNewParents(int[] newIndexes, int newSize) {
+        int[] newParents = new int[newSize];
+
+        for (int i = 0; i < size; i++) {
+            if (newIndexes[i] != NONE) {
+                newParents[newIndexes[i]] = i == 0 ? NONE : newIndexes[parents[i]];
+            }
+        }
+
+        return newParents;
+    }
+
+    /**
+     * @return The flags of the roots of the subtrees which are removed in the K-maximization.
+     */
+    boolean[] findRemovedRoots(int maxOperationsCount) {
+        boolean[] removedRoots = new boolean[size];
+
+        for (int node : findNodesToRemove(maxOperationsCount)) {
+            removedRoots[node] = true;
+        }
+
+        return removedRoots;
+    }
+
+    /**
+     * Finds the top-most removed nodes in the unlimited maximization: the nodes with a negative contribution whose
+     * parents are not removed.
+     * @param negativeContributions The flags of the nodes with a negative contribution.
+     */
+    boolean[] findTopMostRemovedRoots(boolean[] negativeContributions) {
+        boolean[] removedRoots = new boolean[size];
+        boolean[] removed = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && removed[parents[i]]) {
+                removed[i] = true;
+            } else if (negativeContributions[i]) {
+                removed[i] = true;
+                removedRoots[i] = true;
+            }
+        }
+
+        return removedRoots;
+    }
+
+    /**
+     * Restores the indexes of the nodes which must be removed in the K-maximization from the knapsack DP.
+     * @param budget The number of allowed removals for the root.
+     * @param splits The number of removals given to every node when its parent was merging its children.
+     * @param deletions The flags which tell if the whole subtree of the node is removed with the given budget.
+     */
+    int[] restoreRemovals(int budget, int[][] splits, boolean[][] deletions) {
+        List<Integer> removals = new ArrayList<>();
+
+        int[] pendingNodes = new int[size];
+        int[] pendingBudgets = new int[size];
+        int[] children = new int[size];
+        int pendingCount = 0;
+
+        pendingNodes[pendingCount] = 0;
+        pendingBudgets[pendingCount++] = budget;
+
+        while (pendingCount > 0) {
+            pendingCount--;
+            int node = pendingNodes[pendingCount];
+            int currBudget = Math.min(pendingBudgets[pendingCount], deletions[node].length - 1);
+
+            if (currBudget == 0) {
+                continue;
+            }
+
+            if (deletions[node][currBudget]) {
+                removals.add(node);
+                continue;
+            }
+
+            //The splits were written in the increasing order of children, so we restore them in the reversed order.
+            int childrenCount = 0;
+            for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+                children[childrenCount++] = child;
+            }
+
+            for (int i = childrenCount - 1; i >= 0 && currBudget > 0; i--) {
+                int child = children[i];
+                int childBudget = splits[child][Math.min(currBudget, splits[child].length - 1)];
+
+                pendingNodes[pendingCount] = child;
+                pendingBudgets[pendingCount++] = childBudget;
+                currBudget -= childBudget;
+            }
+        }
+
+        return toIntArray(removals);
+    }
+}
@@ -0,0 +1,185 @@
+package tree.columnar;
+
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.Node;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleFunction;
+
+/**
+ * The columnar tree with the values of type double.
+ * All algorithms work with the primitive arrays, so there is no boxing on the hot path.
+ */
+public class DoubleColumnarTree extends ColumnarTree {
+    private double[] values;
+    private double[] subtreeWeights;
+    private double sum;
+
+
+    public DoubleColumnarTree(int[] parents, double[] values) throws IllegalArgumentException {
+        super(parents);
+
+        if (parents.length != values.length) {
+            throw new IllegalArgumentException("The number of values must be equal to the number of parents");
+        }
+
+        this.values = values;
+    }
+
+
+    /**
+     * Converts the given tree to the columnar tree. The nodes are numbered in the BFS order.
+     */
+    public static <T extends Number> DoubleColumnarTree fromTree(AbstractTree<T> tree) {
+        List<Integer> parents = new ArrayList<>();
+        List<Node<T>> nodes = collectNodes(tree, parents);
+
+        double[] values = new double[nodes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = nodes.get(i).getValue().doubleValue();
+        }
+
+        return new DoubleColumnarTree(toIntArray(parents), values);
+    }
+
+    /**
+     * Converts the columnar tree to the mutable tree.
+     * @param converter The function which converts the double value to the value of the tree.
+     */
+    public <T extends Number> MutableTree<T> toMutableTree(Operations<T> operations, DoubleFunction<T> converter) {
+        return createMutableTree(operations, node -> converter.apply(values[node]));
+    }
+
+    /**
+     * Converts the columnar tree to the immutable tree.
+     * @param converter The function which converts the double value to the value of the tree.
+     */
+    public <T extends Number> ImmutableTree<T> toImmutableTree(Operations<T> operations, DoubleFunction<T> converter) {
+        return createImmutableTree(operations, node -> converter.apply(values[node]));
+    }
+
+
+    public double getValue(int node) {
+        return values[node];
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the subtree weight of the node. The weights must be calculated with calculateSubtreesWeights.
+     */
+    public double getSubtreeWeight(int node) {
+        return subtreeWeights[node];
+    }
+
+    /**
+     * Calculates the sum of all values. The size of the columnar tree is always known.
+     */
+    public DoubleColumnarTree calculateSizeAndSum() {
+        double sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+
+        this.sum = sum;
+        return this;
+    }
+
+    /**
+     * Calculates the subtrees' weights going from the last node to the root, so every child is added to the
+     * parent's weight after its own weight is calculated.
+     */
+    public DoubleColumnarTree calculateSubtreesWeights() {
+        subtreeWeights = sumSubtreeWeights();
+        return this;
+    }
+
+    /**
+     * Maximizes the tree with an unlimited number of removals. Every node gets a contribution (its value plus the
+     * positive contributions of its children) and the top-most nodes with the negative contributions are removed.
+     * @return The new maximized tree.
+     */
+    public DoubleColumnarTree maximize() {
+        double[] contributions = values.clone();
+        boolean[] negativeContributions = new boolean[size];
+
+        for (int i = size - 1; i >= 0; i--) {
+            negativeContributions[i] = contributions[i] < 0;
+
+            if (i > 0 && contributions[i] >= 0) {
+                contributions[parents[i]] += contributions[i];
+            }
+        }
+
+        return removeSubtrees(findTopMostRemovedRoots(negativeContributions));
+    }
+
+    /**
+     * Maximizes the tree with no more than maxOperationsCount removals.
+     * @return The new maximized tree.
+     */
+    public DoubleColumnarTree maximize(int maxOperationsCount) {
+        return removeSubtrees(findRemovedRoots(maxOperationsCount));
+    }
+
+    /**
+     * Solves the tree knapsack DP once for all numbers of removals up to maxOperationsCount. The removals for any
+     * of these numbers are restored from the solution when they are needed.
+     */
+    public DoubleKnapsackSolution solveKnapsack(int maxOperationsCount) {
+        return solveKnapsack(maxOperationsCount, null, ParallelPostOrder.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    @Override
+    public DoubleKnapsackSolution solveKnapsack(int maxOperationsCount, ForkJoinPool pool, int sequentialThreshold) {
+        int[][] splits = new int[size][];
+        boolean[][] deletions = new boolean[size][];
+
+        if (maxOperationsCount <= 0 || size == 0) {
+            return new DoubleKnapsackSolution(this, new double[1], splits, deletions);
+        }
+
+        DoubleKnapsackProfits profits = new DoubleKnapsackProfits(sumSubtreeWeights());
+        mergeKnapsackProfits(maxOperationsCount, profits, splits, deletions, pool, sequentialThreshold);
+
+        return new DoubleKnapsackSolution(this, profits.getRow(0), splits, deletions);
+    }
+
+    /**
+     * @return The subtrees' weights of all nodes (see calculateSubtreesWeights), the DP uses them too.
+     */
+    private double[] sumSubtreeWeights() {
+        double[] weights = values.clone();
+
+        for (int i = size - 1; i > 0; i--) {
+            weights[parents[i]] += weights[i];
+        }
+
+        return weights;
+    }
+
+    /**
+     * Creates the new tree without the subtrees of the given nodes.
+     */
+    private DoubleColumnarTree removeSubtrees(boolean[] removedRoots) {
+        int[] newIndexes = createNewIndexes(removedRoots);
+        int newSize = countLeftNodes(newIndexes);
+
+        double[] newValues = new double[newSize];
+        for (int i = 0; i < size; i++) {
+            if (newIndexes[i] != NONE) {
+                newValues[newIndexes[i]] = values[i];
+            }
+        }
+
+        return new DoubleColumnarTree(createNewParents(newIndexes, newSize), newValues).calculateSizeAndSum();
+    }
+}
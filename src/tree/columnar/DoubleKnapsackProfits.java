@@ -0,0 +1,75 @@
+package tree.columnar;
+
+/**
+ * The knapsack profits of the DoubleColumnarTree.
+ */
+class DoubleKnapsackProfits extends KnapsackProfits {
+    private final double[] weights;
+    private final double[][] rows;
+
+
+    DoubleKnapsackProfits(double[] weights) {
+        this.weights = weights;
+        rows = new double[weights.length][];
+    }
+
+
+    double[] getRow(int node) {
+        return rows[node];
+    }
+
+    @Override
+    void createRow(int node, int capacity) {
+        rows[node] = new double[capacity + 1];
+    }
+
+    @Override
+    int getCapacity(int node) {
+        return rows[node].length - 1;
+    }
+
+    @Override
+    void mergeChild(int node, int mergedCapacity, int child, int newCapacity, int[] childSplits) {
+        double[] merged = rows[node];
+        double[] childProfits = rows[child];
+        int childCapacity = childProfits.length - 1;
+
+        double[] newMerged = new double[merged.length];
+        boolean[] filled = new boolean[newCapacity + 1];
+
+        for (int a = 0; a <= mergedCapacity; a++) {
+            for (int b = 0; b <= childCapacity && a + b <= newCapacity; b++) {
+                double profit = merged[a] + childProfits[b];
+
+                if (!filled[a + b] || profit > newMerged[a + b]) {
+                    newMerged[a + b] = profit;
+                    childSplits[a + b] = b;
+                    filled[a + b] = true;
+                }
+            }
+        }
+
+        for (int j = newCapacity + 1; j < newMerged.length; j++) {
+            newMerged[j] = newMerged[newCapacity];
+        }
+
+        rows[node] = newMerged;
+        rows[child] = null;
+    }
+
+    @Override
+    boolean[] offerDeletion(int node) {
+        double[] merged = rows[node];
+        double deletionProfit = -weights[node];
+        boolean[] nodeDeletions = new boolean[merged.length];
+
+        for (int j = 1; j < merged.length; j++) {
+            if (deletionProfit > merged[j]) {
+                merged[j] = deletionProfit;
+                nodeDeletions[j] = true;
+            }
+        }
+
+        return nodeDeletions;
+    }
+}
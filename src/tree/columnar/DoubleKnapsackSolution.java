@@ -0,0 +1,36 @@
+package tree.columnar;
+
+/**
+ * The knapsack solution of the DoubleColumnarTree.
+ */
+public class DoubleKnapsackSolution extends KnapsackSolution {
+    private final double[] profits;
+
+
+    DoubleKnapsackSolution(ColumnarTree tree, double[] profits, int[][] splits, boolean[][] deletions) {
+        super(tree, splits, deletions);
+        this.profits = profits;
+    }
+
+
+    @Override
+    public int getCapacity() {
+        return profits.length - 1;
+    }
+
+    /**
+     * @return The best profit with no more than operationsCount removals (0 if nothing should be removed).
+     */
+    public double getProfit(int operationsCount) {
+        if (operationsCount <= 0) {
+            return 0;
+        }
+
+        return Math.max(profits[Math.min(operationsCount, getCapacity())], 0);
+    }
+
+    @Override
+    public boolean isProfitable(int operationsCount) {
+        return getProfit(operationsCount) > 0;
+    }
+}
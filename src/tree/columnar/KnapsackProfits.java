@@ -0,0 +1,37 @@
+package tree.columnar;
+
+/**
+ * The rows of profits of the tree knapsack DP of a columnar tree. The row of the node keeps the best profit for
+ * every number of removals in its subtree. The scheduling of the DP and the splits are kept by ColumnarTree, and
+ * the subclasses keep only the primitive rows and the arithmetic on them.
+ *
+ * Every call touches only the rows of the node and of its children, so the nodes of the independent subtrees can
+ * be merged concurrently.
+ */
+abstract class KnapsackProfits {
+
+    /**
+     * Creates the row of the node with the given capacity, all profits are 0 (nothing is removed).
+     */
+    abstract void createRow(int node, int capacity);
+
+    /**
+     * @return The largest number of removals in the row of the node.
+     */
+    abstract int getCapacity(int node);
+
+    /**
+     * Merges the row of the child into the row of the node and releases the row of the child.
+     * @param mergedCapacity The number of removals which can be done in the already merged children.
+     * @param newCapacity The number of removals which can be done in the merged children together with the child.
+     * @param childSplits The array which is filled with the number of removals given to the child for every
+     * number of removals up to newCapacity.
+     */
+    abstract void mergeChild(int node, int mergedCapacity, int child, int newCapacity, int[] childSplits);
+
+    /**
+     * Replaces the profits of the node with the profit of the removal of its whole subtree where it is greater.
+     * @return The flags which tell if the whole subtree is removed for every number of removals.
+     */
+    abstract boolean[] offerDeletion(int node);
+}
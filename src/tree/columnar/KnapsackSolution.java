@@ -0,0 +1,44 @@
+package tree.columnar;
+
+/**
+ * The result of the tree knapsack DP of a columnar tree: the best profits of the root for every number of removals
+ * up to the capacity, and the splits and deletions which let us restore the removed nodes for any of these numbers.
+ * The profits are kept by the subclasses in the primitive arrays.
+ *
+ * The removals are restored only when they are asked for, so one DP answers the K-maximization for every k.
+ */
+public abstract class KnapsackSolution {
+    private final ColumnarTree tree;
+    private final int[][] splits;
+    private final boolean[][] deletions;
+
+
+    KnapsackSolution(ColumnarTree tree, int[][] splits, boolean[][] deletions) {
+        this.tree = tree;
+        this.splits = splits;
+        this.deletions = deletions;
+    }
+
+
+    /**
+     * @return The largest number of removals the DP was solved for (it is never larger than the size of the tree).
+     */
+    public abstract int getCapacity();
+
+    /**
+     * @return Whether the best profit with the given number of removals is positive.
+     */
+    public abstract boolean isProfitable(int operationsCount);
+
+    /**
+     * Restores the indexes of the nodes whose subtrees must be removed in the K-maximization with the given number
+     * of removals. If the number is larger than the capacity, the removals of the capacity are returned.
+     */
+    public int[] restoreRemovals(int operationsCount) {
+        if (operationsCount <= 0 || !isProfitable(operationsCount)) {
+            return new int[0];
+        }
+
+        return tree.restoreRemovals(Math.min(operationsCount, getCapacity()), splits, deletions);
+    }
+}
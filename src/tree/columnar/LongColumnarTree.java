@@ -0,0 +1,185 @@
+package tree.columnar;
+
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.Node;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+/**
+ * The columnar tree with the values of type long (it is also used for the int values).
+ * All algorithms work with the primitive arrays, so there is no boxing on the hot path.
+ */
+public class LongColumnarTree extends ColumnarTree {
+    private long[] values;
+    private long[] subtreeWeights;
+    private long sum;
+
+
+    public LongColumnarTree(int[] parents, long[] values) throws IllegalArgumentException {
+        super(parents);
+
+        if (parents.length != values.length) {
+            throw new IllegalArgumentException("The number of values must be equal to the number of parents");
+        }
+
+        this.values = values;
+    }
+
+
+    /**
+     * Converts the given tree to the columnar tree. The nodes are numbered in the BFS order.
+     */
+    public static <T extends Number> LongColumnarTree fromTree(AbstractTree<T> tree) {
+        List<Integer> parents = new ArrayList<>();
+        List<Node<T>> nodes = collectNodes(tree, parents);
+
+        long[] values = new long[nodes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = nodes.get(i).getValue().longValue();
+        }
+
+        return new LongColumnarTree(toIntArray(parents), values);
+    }
+
+    /**
+     * Converts the columnar tree to the mutable tree.
+     * @param converter The function which converts the long value to the value of the tree.
+     */
+    public <T extends Number> MutableTree<T> toMutableTree(Operations<T> operations, LongFunction<T> converter) {
+        return createMutableTree(operations, node -> converter.apply(values[node]));
+    }
+
+    /**
+     * Converts the columnar tree to the immutable tree.
+     * @param converter The function which converts the long value to the value of the tree.
+     */
+    public <T extends Number> ImmutableTree<T> toImmutableTree(Operations<T> operations, LongFunction<T> converter) {
+        return createImmutableTree(operations, node -> converter.apply(values[node]));
+    }
+
+
+    public long getValue(int node) {
+        return values[node];
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the subtree weight of the node. The weights must be calculated with calculateSubtreesWeights.
+     */
+    public long getSubtreeWeight(int node) {
+        return subtreeWeights[node];
+    }
+
+    /**
+     * Calculates the sum of all values. The size of the columnar tree is always known.
+     */
+    public LongColumnarTree calculateSizeAndSum() {
+        long sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+
+        this.sum = sum;
+        return this;
+    }
+
+    /**
+     * Calculates the subtrees' weights going from the last node to the root, so every child is added to the
+     * parent's weight after its own weight is calculated.
+     */
+    public LongColumnarTree calculateSubtreesWeights() {
+        subtreeWeights = sumSubtreeWeights();
+        return this;
+    }
+
+    /**
+     * Maximizes the tree with an unlimited number of removals. Every node gets a contribution (its value plus the
+     * positive contributions of its children) and the top-most nodes with the negative contributions are removed.
+     * @return The new maximized tree.
+     */
+    public LongColumnarTree maximize() {
+        long[] contributions = values.clone();
+        boolean[] negativeContributions = new boolean[size];
+
+        for (int i = size - 1; i >= 0; i--) {
+            negativeContributions[i] = contributions[i] < 0;
+
+            if (i > 0 && contributions[i] >= 0) {
+                contributions[parents[i]] += contributions[i];
+            }
+        }
+
+        return removeSubtrees(findTopMostRemovedRoots(negativeContributions));
+    }
+
+    /**
+     * Maximizes the tree with no more than maxOperationsCount removals.
+     * @return The new maximized tree.
+     */
+    public LongColumnarTree maximize(int maxOperationsCount) {
+        return removeSubtrees(findRemovedRoots(maxOperationsCount));
+    }
+
+    /**
+     * Solves the tree knapsack DP once for all numbers of removals up to maxOperationsCount. The removals for any
+     * of these numbers are restored from the solution when they are needed.
+     */
+    public LongKnapsackSolution solveKnapsack(int maxOperationsCount) {
+        return solveKnapsack(maxOperationsCount, null, ParallelPostOrder.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    @Override
+    public LongKnapsackSolution solveKnapsack(int maxOperationsCount, ForkJoinPool pool, int sequentialThreshold) {
+        int[][] splits = new int[size][];
+        boolean[][] deletions = new boolean[size][];
+
+        if (maxOperationsCount <= 0 || size == 0) {
+            return new LongKnapsackSolution(this, new long[1], splits, deletions);
+        }
+
+        LongKnapsackProfits profits = new LongKnapsackProfits(sumSubtreeWeights());
+        mergeKnapsackProfits(maxOperationsCount, profits, splits, deletions, pool, sequentialThreshold);
+
+        return new LongKnapsackSolution(this, profits.getRow(0), splits, deletions);
+    }
+
+    /**
+     * @return The subtrees' weights of all nodes (see calculateSubtreesWeights), the DP uses them too.
+     */
+    private long[] sumSubtreeWeights() {
+        long[] weights = values.clone();
+
+        for (int i = size - 1; i > 0; i--) {
+            weights[parents[i]] += weights[i];
+        }
+
+        return weights;
+    }
+
+    /**
+     * Creates the new tree without the subtrees of the given nodes.
+     */
+    private LongColumnarTree removeSubtrees(boolean[] removedRoots) {
+        int[] newIndexes = createNewIndexes(removedRoots);
+        int newSize = countLeftNodes(newIndexes);
+
+        long[] newValues = new long[newSize];
+        for (int i = 0; i < size; i++) {
+            if (newIndexes[i] != NONE) {
+                newValues[newIndexes[i]] = values[i];
+            }
+        }
+
+        return new LongColumnarTree(createNewParents(newIndexes, newSize), newValues).calculateSizeAndSum();
+    }
+}
@@ -0,0 +1,134 @@
+package tree.columnar;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an action for every node of a tree with the fork/join framework, so that the action of every node runs after
+ * the actions of all its children (as in a post-order). The nodes are the indexes in the BFS order, as in
+ * the columnar tree.
+ *
+ * The tasks are split in the same way as in ParallelWeightsCalculator: every task gets a list of roots and visits
+ * their subtrees in the pre-order, until sequentialThreshold nodes are visited. The subtrees which were not visited
+ * in time are split into two halves and given to two new tasks. When the new tasks are done, the task runs the actions
+ * of its visited nodes in the reversed pre-order. So the independent subtrees are processed concurrently, and the
+ * small subtrees are processed sequentially by one task.
+ *
+ * The action of the node must read only the results of its children and write only the results of the node itself
+ * (and of its children, which are not read by anyone else). Then there are no races, because every result is read
+ * by the task which wrote it or by the task which joined that task, and the results do not depend on the pool.
+ */
+public class ParallelPostOrder {
+
+    /**
+     * The maximum number of nodes which are visited by one task, if no other threshold is given.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 10;
+
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int sequentialThreshold;
+
+
+    /**
+     * @param parents The parents of the nodes in the BFS order (the root has the parent ColumnarTree.NONE).
+     */
+    public ParallelPostOrder(int[] parents, int sequentialThreshold) throws IllegalArgumentException {
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("Sequential threshold must be positive");
+        }
+
+        int size = parents.length;
+        this.firstChildren = new int[size];
+        this.nextSiblings = new int[size];
+        this.sequentialThreshold = sequentialThreshold;
+
+        Arrays.fill(firstChildren, ColumnarTree.NONE);
+        Arrays.fill(nextSiblings, ColumnarTree.NONE);
+
+        for (int i = size - 1; i > 0; i--) {
+            nextSiblings[i] = firstChildren[parents[i]];
+            firstChildren[parents[i]] = i;
+        }
+    }
+
+    ParallelPostOrder(int[] firstChildren, int[] nextSiblings, int sequentialThreshold) {
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+
+    /**
+     * Runs the action for every node, the children before their parents.
+     * @param pool The pool of the tasks, or null if the nodes must be processed in the current thread (then
+     * the nodes are processed in the reversed BFS order).
+     */
+    public void forEach(IntConsumer nodeAction, ForkJoinPool pool) {
+        if (pool == null) {
+            for (int i = firstChildren.length - 1; i >= 0; i--) {
+                nodeAction.accept(i);
+            }
+
+            return;
+        }
+
+        if (firstChildren.length > 0) {
+            pool.invoke(new PostOrderTask(new int[] { 0 }, nodeAction));
+        }
+    }
+
+
+    @SuppressWarnings("serial")
+    private class PostOrderTask extends RecursiveAction {
+        private final int[] roots;
+        private final IntConsumer nodeAction;
+
+        PostOrderTask(int[] roots, IntConsumer nodeAction) {
+            this.roots = roots;
+            this.nodeAction = nodeAction;
+        }
+
+        @Override
+        protected void compute() {
+            int[] visitedNodes = new int[Math.min(sequentialThreshold, firstChildren.length)];
+            int visitedCount = 0;
+            int[] pendingNodes = new int[Math.max(roots.length, 16)];
+            int pendingCount = 0;
+
+            for (int i = roots.length - 1; i >= 0; i--) {
+                pendingNodes[pendingCount++] = roots[i];
+            }
+
+            //A single pending subtree is not split, so a long chain of nodes does not make a long chain of tasks.
+            while (pendingCount > 0 && (visitedCount < sequentialThreshold || pendingCount == 1)) {
+                int currNode = pendingNodes[--pendingCount];
+
+                if (visitedCount == visitedNodes.length) {
+                    visitedNodes = Arrays.copyOf(visitedNodes, visitedCount * 2);
+                }
+                visitedNodes[visitedCount++] = currNode;
+
+                for (int child = firstChildren[currNode]; child != ColumnarTree.NONE; child = nextSiblings[child]) {
+                    if (pendingCount == pendingNodes.length) {
+                        pendingNodes = Arrays.copyOf(pendingNodes, pendingCount * 2);
+                    }
+                    pendingNodes[pendingCount++] = child;
+                }
+            }
+
+            if (pendingCount > 0) {
+                int middle = pendingCount / 2;
+
+                invokeAll(new PostOrderTask(Arrays.copyOfRange(pendingNodes, 0, middle), nodeAction),
+                        new PostOrderTask(Arrays.copyOfRange(pendingNodes, middle, pendingCount), nodeAction));
+            }
+
+            for (int i = visitedCount - 1; i >= 0; i--) {
+                nodeAction.accept(visitedNodes[i]);
+            }
+        }
+    }
+}
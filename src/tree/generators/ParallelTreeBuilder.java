@@ -0,0 +1,261 @@
+package tree.generators;
+
+import tree.Node;
+import tree.operations.Operations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds the random tree from a seed with the fork/join framework.
+ *
+ * Every node has its own SplittableRandom. The random of the node chooses the number of children, their nodes counts
+ * and their values, and then it is split once for every child in the order of children. So the tree depends only on
+ * the seed, and not on the number of threads or on the order in which the subtrees are built.
+ *
+ * The large subtrees are built in the separate tasks, the small ones are built in the current task without recursion.
+ * @param <T> The type of nodes' values.
+ * @param <N> The type of nodes.
+ */
+class ParallelTreeBuilder<T extends Number, N extends Node<T>> {
+
+    /**
+     * The subtrees which may have more nodes are built in the separate tasks.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    /**
+     * The nodes count of the subtree which size is not fixed.
+     */
+    private static final int ANY_NODES_COUNT = -1;
+
+    private final Operations<T> operations;
+    private final TreeGeneratorParams<T> params;
+    private final NodeFactory<T, N> nodeFactory;
+
+
+    ParallelTreeBuilder(Operations<T> operations, TreeGeneratorParams<T> params, NodeFactory<T, N> nodeFactory) {
+        this.operations = operations;
+        this.params = params;
+        this.nodeFactory = nodeFactory;
+    }
+
+
+    /**
+     * Builds the tree in the given pool.
+     * @return The results with a null tree: the caller creates the tree of the needed type from the root.
+     */
+    TreeCreationResults<T> build(long seed, ForkJoinPool pool) {
+        SplittableRandom random = new SplittableRandom(seed);
+        T value = getRandomValue(random);
+        N root = nodeFactory.createRoot(value);
+
+        int nodesCount = params.hasNodesCount() ? params.getNodesCount() : ANY_NODES_COUNT;
+        SubtreeTask rootTask = new SubtreeTask(new PendingNode(root, random, nodesCount, params.getHeight()));
+        pool.invoke(rootTask);
+
+        return new TreeCreationResults<>(rootTask.size + 1, operations.add(value, rootTask.sum), null, root);
+    }
+
+
+    private T getRandomValue(SplittableRandom random) {
+        Interval<T> interval = params.getValuesInterval();
+        return operations.getRandomValue(interval.getLeftBorder(), interval.getRightBorder(), random);
+    }
+
+    private boolean isLarge(PendingNode pendingNode) {
+        if (pendingNode.nodesCount != ANY_NODES_COUNT) {
+            return pendingNode.nodesCount > SEQUENTIAL_THRESHOLD;
+        }
+
+        return params.getMaxNodesCount(pendingNode.levels) > SEQUENTIAL_THRESHOLD;
+    }
+
+    /**
+     * Chooses the nodes counts of the children of the node, so every child subtree fits into the remaining levels.
+     * The counts are close to the average, so the nodes are spread between the children.
+     * @return The nodes counts of the children, the length of the array is the number of children.
+     */
+    private int[] splitNodesCount(PendingNode pendingNode) {
+        SplittableRandom random = pendingNode.random;
+        int restCount = pendingNode.nodesCount - 1;
+
+        if (restCount == 0) {
+            return new int[0];
+        }
+
+        int childCapacity = params.getMaxNodesCount(pendingNode.levels - 1);
+        int minChildrenCount = (int)((restCount + (long)childCapacity - 1) / childCapacity);
+        int maxChildrenCount = Math.min(params.getMaxChildrenCount() - 1, restCount);
+        int[] childrenCounts = new int[random.nextInt(minChildrenCount, maxChildrenCount + 1)];
+
+        for (int i = 0; i < childrenCounts.length; i++) {
+            int leftChildren = childrenCounts.length - i;
+            int average = restCount / leftChildren;
+
+            int minCount = (int)Math.max(1, restCount - (long)(leftChildren - 1) * childCapacity);
+            int maxCount = Math.min(childCapacity, restCount - (leftChildren - 1));
+            minCount = Math.max(minCount, average / 2);
+            maxCount = Math.min(maxCount, average + average / 2);
+
+            childrenCounts[i] = random.nextInt(minCount, maxCount + 1);
+            restCount -= childrenCounts[i];
+        }
+
+        return childrenCounts;
+    }
+
+    /**
+     * Creates the children of the node.
+     * @param children The list which is filled with the pending children.
+     * @return The sum of the children's values.
+     */
+    private T createChildren(PendingNode pendingNode, List<PendingNode> children) {
+        T sum = operations.getZero();
+
+        if (pendingNode.levels <= 1 || pendingNode.nodesCount == 1) {
+            return sum;
+        }
+
+        SplittableRandom random = pendingNode.random;
+        int[] childrenCounts = null;
+        int childrenCount;
+
+        if (pendingNode.nodesCount == ANY_NODES_COUNT) {
+            childrenCount = random.nextInt(params.getMaxChildrenCount());
+        } else {
+            childrenCounts = splitNodesCount(pendingNode);
+            childrenCount = childrenCounts.length;
+        }
+
+        Interval<T> interval = params.getValuesInterval();
+        List<T> values = new ArrayList<>(childrenCount);
+        operations.addRandomValues(values, childrenCount, interval.getLeftBorder(), interval.getRightBorder(), random);
+
+        for (int i = 0; i < childrenCount; i++) {
+            N child = nodeFactory.createChild(pendingNode.node, values.get(i));
+            int childNodesCount = childrenCounts == null ? ANY_NODES_COUNT : childrenCounts[i];
+
+            children.add(new PendingNode(child, random.split(), childNodesCount, pendingNode.levels - 1));
+            sum = operations.add(sum, values.get(i));
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * Creates the nodes of a tree.
+     * @param <T> The type of nodes' values.
+     * @param <N> The type of nodes.
+     */
+    interface NodeFactory<T extends Number, N extends Node<T>> {
+        N createRoot(T value);
+
+        /**
+         * Creates the node and adds it to the children of the parent.
+         */
+        N createChild(N parent, T value);
+    }
+
+    /**
+     * The node whose children are not created yet.
+     */
+    private class PendingNode {
+        private final N node;
+        private final SplittableRandom random;
+        private final int nodesCount;
+        private final int levels;
+
+        PendingNode(N node, SplittableRandom random, int nodesCount, int levels) {
+            this.node = node;
+            this.random = random;
+            this.nodesCount = nodesCount;
+            this.levels = levels;
+        }
+    }
+
+    /**
+     * Creates all descendants of the node. The large child subtrees are forked, except the last one, which is
+     * built by the task itself, so a long chain of large subtrees does not make a long chain of nested tasks.
+     * The results of the forked tasks are joined in the order of forking, so the sum does not depend on the threads.
+     */
+    @SuppressWarnings("serial")
+    private class SubtreeTask extends RecursiveAction {
+        private PendingNode pendingNode;
+
+        /**
+         * The number of descendants of the node and the sum of their values.
+         */
+        private int size;
+        private T sum;
+
+        SubtreeTask(PendingNode pendingNode) {
+            this.pendingNode = pendingNode;
+        }
+
+        @Override
+        protected void compute() {
+            sum = operations.getZero();
+            List<SubtreeTask> forkedTasks = new ArrayList<>();
+            List<PendingNode> children = new ArrayList<>();
+            PendingNode currNode = pendingNode;
+
+            while (currNode != null) {
+                children.clear();
+                sum = operations.add(sum, createChildren(currNode, children));
+                size += children.size();
+
+                PendingNode nextNode = null;
+
+                for (PendingNode child : children) {
+                    if (!isLarge(child)) {
+                        buildSequentially(child);
+                        continue;
+                    }
+
+                    if (nextNode != null) {
+                        SubtreeTask task = new SubtreeTask(nextNode);
+                        task.fork();
+                        forkedTasks.add(task);
+                    }
+
+                    nextNode = child;
+                }
+
+                currNode = nextNode;
+            }
+
+            for (SubtreeTask task : forkedTasks) {
+                task.join();
+                size += task.size;
+                sum = operations.add(sum, task.sum);
+            }
+
+            pendingNode = null;
+        }
+
+        private void buildSequentially(PendingNode root) {
+            Deque<PendingNode> pendingNodes = new ArrayDeque<>();
+            List<PendingNode> children = new ArrayList<>();
+            pendingNodes.push(root);
+
+            while (pendingNodes.size() > 0) {
+                PendingNode currNode = pendingNodes.pop();
+
+                children.clear();
+                sum = operations.add(sum, createChildren(currNode, children));
+                size += children.size();
+
+                for (PendingNode child : children) {
+                    pendingNodes.push(child);
+                }
+            }
+        }
+    }
+}
@@ -6,12 +6,11 @@ import tree.operations.Operations;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Queue;
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class TreeGenerator<T extends Number> {
 
-    private static Random random = new Random();
-
     private TreeGeneratorParams<T> params;
     private Operations<T> operations;
 
@@ -29,11 +28,31 @@ public class TreeGenerator<T extends Number> {
 
 
     private int getNumberOfChildren() {
-        return random.nextInt(params.getMaxChildrenCount());
+        return ThreadLocalRandom.current().nextInt(params.getMaxChildrenCount());
     }
 
 
     public TreeCreationResults<T> generateRandomImmutableTree() {
+        return generateRandomImmutableTree(false);
+    }
+
+    /**
+     * Generates the random immutable tree. If the params have the nodes count, the tree is generated from a random
+     * seed (see generateRandomImmutableTree(long)).
+     * @param calculateSubtreesWeights If true, the subtree weights of all nodes are calculated bottom-up in one pass
+     *                                 right after the tree is created. Otherwise they are calculated on the first use.
+     */
+    public TreeCreationResults<T> generateRandomImmutableTree(boolean calculateSubtreesWeights) {
+        if (params.hasNodesCount()) {
+            TreeCreationResults<T> results = generateRandomImmutableTree(ThreadLocalRandom.current().nextLong());
+
+            if (calculateSubtreesWeights) {
+                results.getRoot().getSubtreeWeight();
+            }
+
+            return results;
+        }
+
         T value = getRandomValue();
         T sum = value;
 
@@ -69,10 +88,22 @@ public class TreeGenerator<T extends Number> {
             currHeight++;
         }
 
+        if (calculateSubtreesWeights) {
+            root.getSubtreeWeight();
+        }
+
         return new TreeCreationResults<>(size, sum, immutableTree, root);
     }
 
+    /**
+     * Generates the random mutable tree. If the params have the nodes count, the tree is generated from a random
+     * seed (see generateRandomMutableTree(long)).
+     */
     public TreeCreationResults<T> generateRandomMutableTree() {
+        if (params.hasNodesCount()) {
+            return generateRandomMutableTree(ThreadLocalRandom.current().nextLong());
+        }
+
         T value = getRandomValue();
         T sum = value;
 
@@ -95,9 +126,7 @@ public class TreeGenerator<T extends Number> {
                     sum = operations.add(sum, value);
 
                     MutableNode<T> childNode = new MutableNode<>(operations, value);
-                    childNode.setParent(currNode);
-
-                    currNode.getChildren().add(childNode);
+                    currNode.addChild(childNode);
                     pendingNodes.add(childNode);
                     size++;
                 }
@@ -111,6 +140,76 @@ public class TreeGenerator<T extends Number> {
         return new TreeCreationResults<>(size, sum, mutableTree, root);
     }
 
+    /**
+     * Generates the random immutable tree from the seed in the common fork/join pool.
+     * The same seed and params give the same tree.
+     */
+    public TreeCreationResults<T> generateRandomImmutableTree(long seed) {
+        return generateRandomImmutableTree(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the random immutable tree from the seed in the given fork/join pool. The subtrees are generated in
+     * parallel, but the tree is the same for the same seed and params regardless of the number of threads.
+     * If the params have the nodes count, the tree has exactly this number of nodes.
+     */
+    public TreeCreationResults<T> generateRandomImmutableTree(long seed, ForkJoinPool pool) {
+        ParallelTreeBuilder.NodeFactory<T, ImmutableNode<T>> nodeFactory = new ParallelTreeBuilder.NodeFactory<>() {
+            @Override
+            public ImmutableNode<T> createRoot(T value) {
+                return new ImmutableNode<>(operations, value);
+            }
+
+            @Override
+            public ImmutableNode<T> createChild(ImmutableNode<T> parent, T value) {
+                ImmutableNode<T> child = new ImmutableNode<>(operations, value, new ArrayList<>(), parent);
+                parent.getChildren().add(child);
+
+                return child;
+            }
+        };
+
+        TreeCreationResults<T> results = new ParallelTreeBuilder<>(operations, params, nodeFactory).build(seed, pool);
+        ImmutableNode<T> root = (ImmutableNode<T>) results.getRoot();
+
+        return new TreeCreationResults<>(results.getSize(), results.getSum(), new ImmutableTree<>(operations, root), root);
+    }
+
+    /**
+     * Generates the random mutable tree from the seed in the common fork/join pool.
+     * The same seed and params give the same tree.
+     */
+    public TreeCreationResults<T> generateRandomMutableTree(long seed) {
+        return generateRandomMutableTree(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the random mutable tree from the seed in the given fork/join pool. The subtrees are generated in
+     * parallel, but the tree is the same for the same seed and params regardless of the number of threads.
+     * If the params have the nodes count, the tree has exactly this number of nodes.
+     */
+    public TreeCreationResults<T> generateRandomMutableTree(long seed, ForkJoinPool pool) {
+        ParallelTreeBuilder.NodeFactory<T, MutableNode<T>> nodeFactory = new ParallelTreeBuilder.NodeFactory<>() {
+            @Override
+            public MutableNode<T> createRoot(T value) {
+                return new MutableNode<>(operations, value);
+            }
+
+            @Override
+            public MutableNode<T> createChild(MutableNode<T> parent, T value) {
+                MutableNode<T> child = new MutableNode<>(operations, value);
+                parent.addChild(child);
+
+                return child;
+            }
+        };
+
+        TreeCreationResults<T> results = new ParallelTreeBuilder<>(operations, params, nodeFactory).build(seed, pool);
+        MutableNode<T> root = (MutableNode<T>) results.getRoot();
+
+        return new TreeCreationResults<>(results.getSize(), results.getSum(), new MutableTree<>(operations, root), root);
+    }
+
     /*
     * Returns the following mutable tree:
     *                 1
@@ -130,8 +229,8 @@ public class TreeGenerator<T extends Number> {
         MutableNode<Integer> node2 =  new MutableNode<>(Operations.getIntegerOperations(),-4);
         node2.setParent(root);
 
-        root.getChildren().add(node1);
-        root.getChildren().add(node2);
+        root.addChild(node1);
+        root.addChild(node2);
 
         MutableNode<Integer> node3 = new MutableNode<>(Operations.getIntegerOperations(),2);
         MutableNode<Integer> node4 = new MutableNode<>(Operations.getIntegerOperations(),1);
@@ -140,32 +239,32 @@ public class TreeGenerator<T extends Number> {
         node4.setParent(node1);
         node5.setParent(node1);
 
-        node1.getChildren().add(node3);
-        node1.getChildren().add(node4);
-        node1.getChildren().add(node5);
+        node1.addChild(node3);
+        node1.addChild(node4);
+        node1.addChild(node5);
 
         MutableNode<Integer> node6 = new MutableNode<>(Operations.getIntegerOperations(),3);
         MutableNode<Integer> node7 = new MutableNode<>(Operations.getIntegerOperations(),1);
         node6.setParent(node3);
         node7.setParent(node3);
 
-        node3.getChildren().add(node6);
-        node3.getChildren().add(node7);
+        node3.addChild(node6);
+        node3.addChild(node7);
 
         MutableNode<Integer> node8 = new MutableNode<>(Operations.getIntegerOperations(),-10);
         MutableNode<Integer> node9 = new MutableNode<>(Operations.getIntegerOperations(),-20);
         node8.setParent(node2);
         node9.setParent(node2);
 
-        node2.getChildren().add(node8);
-        node2.getChildren().add(node9);
+        node2.addChild(node8);
+        node2.addChild(node9);
 
         MutableNode<Integer> node10 = new MutableNode<>(Operations.getIntegerOperations(),-3);
         MutableNode<Integer> node11 = new MutableNode<>(Operations.getIntegerOperations(),2);
         node10.setParent(node8);
         node11.setParent(node8);
-        node8.getChildren().add(node10);
-        node8.getChildren().add(node11);
+        node8.addChild(node10);
+        node8.addChild(node11);
 
         MutableTree<Integer> tree = new MutableTree<Integer>(Operations.getIntegerOperations(), root);
 
@@ -1,15 +1,45 @@
 package tree.generators;
 
 public class TreeGeneratorParams<T extends Number> {
+
+    /**
+     * The nodes count which means that the number of nodes is not fixed: it depends on the random number of children
+     * of every node.
+     */
+    public static final int ANY_NODES_COUNT = 0;
+
     private final int height;
     private final int maxChildrenCount;
     private final Interval<T> valuesInterval;
+    private final int nodesCount;
 
 
     public TreeGeneratorParams(int height, int maxChildrenCount, Interval<T> valuesInterval) {
         this.height = height;
         this.maxChildrenCount = maxChildrenCount;
         this.valuesInterval = valuesInterval;
+        this.nodesCount = ANY_NODES_COUNT;
+    }
+
+    /**
+     * @param nodesCount The exact number of nodes in the generated trees. Every node has less than maxChildrenCount
+     *                   children and the tree is not higher than the given height, so the nodes count can not be
+     *                   greater than getMaxNodesCount().
+     */
+    public TreeGeneratorParams(int height, int maxChildrenCount, Interval<T> valuesInterval, int nodesCount)
+            throws IllegalArgumentException {
+        this.height = height;
+        this.maxChildrenCount = maxChildrenCount;
+        this.valuesInterval = valuesInterval;
+        this.nodesCount = nodesCount;
+
+        if (nodesCount < 0) {
+            throw new IllegalArgumentException("Nodes count can not be negative");
+        }
+
+        if (nodesCount > getMaxNodesCount()) {
+            throw new IllegalArgumentException("The tree with the given nodes count does not fit into the given height");
+        }
     }
 
 
@@ -24,4 +54,44 @@ public class TreeGeneratorParams<T extends Number> {
     public Interval<T> getValuesInterval() {
         return valuesInterval;
     }
+
+    public int getNodesCount() {
+        return nodesCount;
+    }
+
+    public boolean hasNodesCount() {
+        return nodesCount != ANY_NODES_COUNT;
+    }
+
+    /**
+     * @return The maximum number of nodes in the generated tree, but not greater than Integer.MAX_VALUE.
+     */
+    public int getMaxNodesCount() {
+        return getMaxNodesCount(height);
+    }
+
+    /**
+     * Calculates the maximum number of nodes in the tree with the given number of levels, where every node has less
+     * than maxChildrenCount children: 1 + b + b^2 + ... + b^(levels - 1), b = maxChildrenCount - 1.
+     * @return The number of nodes, but not greater than Integer.MAX_VALUE.
+     */
+    int getMaxNodesCount(int levels) {
+        long childrenCount = Math.max(0, maxChildrenCount - 1);
+        levels = Math.max(1, levels);
+
+        //Every level of such tree has one node (or there is only the root).
+        if (childrenCount <= 1) {
+            return childrenCount == 0 ? 1 : levels;
+        }
+
+        long levelSize = 1;
+        long nodesCount = 0;
+
+        for (int i = 0; i < levels && nodesCount < Integer.MAX_VALUE; i++) {
+            nodesCount += levelSize;
+            levelSize = Math.min(levelSize * childrenCount, Integer.MAX_VALUE);
+        }
+
+        return (int)Math.min(nodesCount, Integer.MAX_VALUE);
+    }
 }
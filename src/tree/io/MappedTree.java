@@ -0,0 +1,249 @@
+package tree.io;
+
+import tree.ImmutableNode;
+import tree.ImmutableTree;
+import tree.MutableNode;
+import tree.MutableTree;
+import tree.operations.Operations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static tree.io.TreeFileFormat.*;
+
+/**
+ * The read-only tree which is backed by the memory-mapped tree file. Opening the file reads only the header:
+ * the nodes are not deserialized, every getter reads the mapped file directly. The nodes are numbered in the BFS
+ * order, so the children of every node have consecutive numbers and are found with the binary search over
+ * the parents.
+ *
+ * The whole file is mapped at once, so the files larger than 2 GB are not supported.
+ */
+public class MappedTree {
+    private final ByteBuffer buffer;
+    private final ValueType valueType;
+    private final int size;
+    private final boolean hasSubtreeWeights;
+    private final int valuesOffset;
+    private final int subtreeWeightsOffset;
+
+
+    private MappedTree(ByteBuffer buffer, ValueType valueType, int size, boolean hasSubtreeWeights) {
+        this.buffer = buffer;
+        this.valueType = valueType;
+        this.size = size;
+        this.hasSubtreeWeights = hasSubtreeWeights;
+        valuesOffset = (int)getValuesOffset(size);
+        subtreeWeightsOffset = (int)getSubtreeWeightsOffset(size, valueType);
+    }
+
+
+    /**
+     * Maps the tree file into memory. The file can be closed or changed by other programs after that, but the
+     * changes of the file are visible through the mapped tree.
+     * @throws IOException If the file can not be read or it is not a tree file.
+     */
+    public static MappedTree open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("The file is too small to be a tree file");
+            }
+
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("The tree files larger than 2 GB can not be mapped");
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(BYTE_ORDER);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("The file is not a tree file");
+            }
+
+            if (buffer.getShort(4) != VERSION) {
+                throw new IOException("The version " + buffer.getShort(4) + " of the tree file is not supported");
+            }
+
+            ValueType valueType;
+            try {
+                valueType = ValueType.fromTag(buffer.get(6));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage());
+            }
+
+            boolean hasSubtreeWeights = (buffer.get(7) & HAS_SUBTREE_WEIGHTS) != 0;
+            int size = buffer.getInt(8);
+
+            if (size < 0 || getFileSize(size, valueType, hasSubtreeWeights) > fileSize) {
+                throw new IOException("The tree file is truncated");
+            }
+
+            return new MappedTree(buffer, valueType, size, hasSubtreeWeights);
+        }
+    }
+
+
+    public int getSize() {
+        return size;
+    }
+
+    public ValueType getValueType() {
+        return valueType;
+    }
+
+    public boolean hasSubtreeWeights() {
+        return hasSubtreeWeights;
+    }
+
+    /**
+     * @return The parent of the node, or -1 for the root.
+     */
+    public int getParent(int node) {
+        checkNode(node);
+        return readParent(node);
+    }
+
+    public Number getValue(int node) {
+        checkNode(node);
+        return valueType.read(buffer, valuesOffset + node * valueType.getWidth());
+    }
+
+    /**
+     * Returns the subtree weight which was written into the file.
+     * @throws IllegalStateException If the file has no subtree weights.
+     */
+    public Number getSubtreeWeight(int node) throws IllegalStateException {
+        checkNode(node);
+
+        if (!hasSubtreeWeights) {
+            throw new IllegalStateException("The tree file has no subtree weights");
+        }
+
+        return valueType.read(buffer, subtreeWeightsOffset + node * valueType.getWidth());
+    }
+
+    /**
+     * @return The first child of the node (the other children follow it), or -1 if the node has no children.
+     */
+    public int getFirstChild(int node) {
+        checkNode(node);
+
+        int firstChild = findFirstChild(node);
+        return firstChild < size && readParent(firstChild) == node ? firstChild : NO_PARENT;
+    }
+
+    public int getChildrenCount(int node) {
+        checkNode(node);
+        return findFirstChild(node + 1) - findFirstChild(node);
+    }
+
+
+    /**
+     * Creates the mutable tree with the values of the file.
+     * @param valueClass The class of the values, it must be the class of the value type of the file.
+     */
+    public <T extends Number> MutableTree<T> toMutableTree(Operations<T> operations, Class<T> valueClass)
+            throws IllegalArgumentException {
+        checkValueClass(valueClass);
+
+        if (size == 0) {
+            return new MutableTree<>(operations);
+        }
+
+        List<MutableNode<T>> nodes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            MutableNode<T> node = new MutableNode<>(operations, valueClass.cast(getValue(i)));
+
+            if (i > 0) {
+                nodes.get(checkParent(i)).addChild(node);
+            }
+
+            nodes.add(node);
+        }
+
+        return new MutableTree<>(operations, nodes.get(0));
+    }
+
+    /**
+     * Creates the immutable tree with the values of the file.
+     * @param valueClass The class of the values, it must be the class of the value type of the file.
+     */
+    public <T extends Number> ImmutableTree<T> toImmutableTree(Operations<T> operations, Class<T> valueClass)
+            throws IllegalArgumentException {
+        checkValueClass(valueClass);
+
+        if (size == 0) {
+            return new ImmutableTree<>(operations);
+        }
+
+        List<ImmutableNode<T>> nodes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            ImmutableNode<T> parent = i > 0 ? nodes.get(checkParent(i)) : null;
+            ImmutableNode<T> node = new ImmutableNode<>(operations, valueClass.cast(getValue(i)), new ArrayList<>(), parent);
+
+            if (parent != null) {
+                parent.getChildren().add(node);
+            }
+
+            nodes.add(node);
+        }
+
+        return new ImmutableTree<>(operations, nodes.get(0));
+    }
+
+
+    private int readParent(int node) {
+        return buffer.getInt((int)getParentsOffset() + node * Integer.BYTES);
+    }
+
+    /**
+     * Finds the first node whose parent is not less than the given node. The parents of all nodes except the root
+     * are non-decreasing.
+     */
+    private int findFirstChild(int node) {
+        int left = 1;
+        int right = size;
+
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+
+            if (readParent(middle) < node) {
+                left = middle + 1;
+            } else {
+                right = middle;
+            }
+        }
+
+        return left;
+    }
+
+    private void checkNode(int node) throws IndexOutOfBoundsException {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("Node " + node + " is not in the tree of size " + size);
+        }
+    }
+
+    private int checkParent(int node) throws IllegalArgumentException {
+        int parent = readParent(node);
+
+        if (parent < 0 || parent >= node || (node > 1 && parent < readParent(node - 1))) {
+            throw new IllegalArgumentException("The parents in the tree file are not in the BFS order");
+        }
+
+        return parent;
+    }
+
+    private void checkValueClass(Class<?> valueClass) throws IllegalArgumentException {
+        if (valueType.getValueClass() != valueClass) {
+            throw new IllegalArgumentException("The tree file contains the values of type " + valueType);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package tree.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * The layout of the tree file. All numbers are little-endian.
+ *
+ * The header (32 bytes):
+ *     0: int    MAGIC
+ *     4: short  VERSION
+ *     6: byte   the tag of the value type (see ValueType)
+ *     7: byte   flags (HAS_SUBTREE_WEIGHTS)
+ *     8: int    the number of nodes n
+ *    12: the reserved bytes, filled with zeroes
+ *
+ * Then the sections, every section starts at a multiple of 8 bytes:
+ *     the parents: n ints, the nodes are numbered in the BFS order, so the parent of the root is -1 and the parents
+ *                  of the other nodes are non-decreasing;
+ *     the values: n values of the value type;
+ *     the subtree weights (only with HAS_SUBTREE_WEIGHTS): n values of the value type.
+ */
+final class TreeFileFormat {
+    static final int MAGIC = 0x54524545;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final byte HAS_SUBTREE_WEIGHTS = 1;
+    static final int NO_PARENT = -1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+
+    private TreeFileFormat() { }
+
+
+    static long getParentsOffset() {
+        return HEADER_SIZE;
+    }
+
+    static long getValuesOffset(int size) {
+        return getParentsOffset() + align((long)size * Integer.BYTES);
+    }
+
+    static long getSubtreeWeightsOffset(int size, ValueType valueType) {
+        return getValuesOffset(size) + align((long)size * valueType.getWidth());
+    }
+
+    static long getFileSize(int size, ValueType valueType, boolean hasSubtreeWeights) {
+        long weightsSize = hasSubtreeWeights ? align((long)size * valueType.getWidth()) : 0;
+        return getSubtreeWeightsOffset(size, valueType) + weightsSize;
+    }
+
+    private static long align(long length) {
+        return (length + 7) & ~7L;
+    }
+}
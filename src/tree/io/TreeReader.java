@@ -0,0 +1,31 @@
+package tree.io;
+
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.operations.Operations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads the trees from the tree files (see TreeWriter). The file is mapped into memory with MappedTree and the nodes
+ * are created from the mapped file. Use MappedTree directly to read the tree without creating the nodes.
+ */
+public class TreeReader {
+
+    /**
+     * @param valueClass The class of the values, it must be the class of the value type of the file.
+     */
+    public static <T extends Number> MutableTree<T> readMutableTree(Path path, Operations<T> operations,
+                                                                    Class<T> valueClass) throws IOException {
+        return MappedTree.open(path).toMutableTree(operations, valueClass);
+    }
+
+    /**
+     * @param valueClass The class of the values, it must be the class of the value type of the file.
+     */
+    public static <T extends Number> ImmutableTree<T> readImmutableTree(Path path, Operations<T> operations,
+                                                                        Class<T> valueClass) throws IOException {
+        return MappedTree.open(path).toImmutableTree(operations, valueClass);
+    }
+}
@@ -0,0 +1,191 @@
+package tree.io;
+
+import tree.AbstractTree;
+import tree.Node;
+import tree.operations.Operations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static tree.io.TreeFileFormat.*;
+
+/**
+ * Writes the trees into the binary tree files (see TreeFileFormat). The file is written through the FileChannel
+ * with one direct buffer, so the nodes are not copied into the intermediate arrays (except the parents, which are
+ * needed for the subtree weights).
+ */
+public class TreeWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+
+    public static <T extends Number> void write(AbstractTree<T> tree, Path path) throws IOException {
+        write(tree, path, false);
+    }
+
+    /**
+     * Writes the tree into the file. If the file exists, it is replaced. The type of the values is taken from the zero
+     * of the operations of the tree (Integer, Long or Double), so the empty trees keep their type too.
+     * @param writeSubtreeWeights If true, the subtree weights are calculated from the values and written too.
+     */
+    public static <T extends Number> void write(AbstractTree<T> tree, Path path, boolean writeSubtreeWeights)
+            throws IOException, IllegalArgumentException {
+        if (tree == null) {
+            throw new IllegalArgumentException("Tree can not be null");
+        }
+
+        List<Node<T>> nodes = tree.getNodesCollection();
+        int size = nodes.size();
+        ValueType valueType = findValueType(tree.getOperationsObject(), nodes);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelOutput output = new ChannelOutput(channel);
+
+            output.ensureRemaining(HEADER_SIZE);
+            output.buffer.putInt(MAGIC);
+            output.buffer.putShort(VERSION);
+            output.buffer.put(valueType.getTag());
+            output.buffer.put(writeSubtreeWeights ? HAS_SUBTREE_WEIGHTS : 0);
+            output.buffer.putInt(size);
+            output.padTo(getParentsOffset());
+
+            int[] parents = writeParents(nodes, output);
+            output.padTo(getValuesOffset(size));
+
+            for (Node<T> node : nodes) {
+                output.putValue(valueType, node.getValue());
+            }
+
+            if (writeSubtreeWeights) {
+                output.padTo(getSubtreeWeightsOffset(size, valueType));
+
+                for (Object weight : calculateSubtreeWeights(nodes, parents, tree.getOperationsObject())) {
+                    output.putValue(valueType, (Number)weight);
+                }
+            }
+
+            output.padTo(getFileSize(size, valueType, writeSubtreeWeights));
+            output.flush();
+        }
+    }
+
+    /**
+     * Finds the value type by the zero of the operations. If the operations have no zero, the type is taken from
+     * the value of the root.
+     */
+    private static <T extends Number> ValueType findValueType(Operations<T> operations, List<Node<T>> nodes)
+            throws IllegalArgumentException {
+        if (operations.getZero() != null) {
+            return ValueType.fromClass(operations.getZero().getClass());
+        }
+
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("The value type of the empty tree can not be found without the zero");
+        }
+
+        return ValueType.fromClass(nodes.get(0).getValue().getClass());
+    }
+
+    /**
+     * Writes the parents of the nodes. The nodes are in the BFS order, so the children of every node are numbered
+     * right after the children of the previous node.
+     * @return The parents of the nodes.
+     */
+    private static <T extends Number> int[] writeParents(List<Node<T>> nodes, ChannelOutput output) throws IOException {
+        int[] parents = new int[nodes.size()];
+
+        if (nodes.isEmpty()) {
+            return parents;
+        }
+
+        parents[0] = NO_PARENT;
+        output.putInt(NO_PARENT);
+        int nextChild = 1;
+
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j < nodes.get(i).getChildren().size(); j++) {
+                parents[nextChild++] = i;
+                output.putInt(i);
+            }
+        }
+
+        return parents;
+    }
+
+    /**
+     * Calculates the subtree weights from the values, going from the last node to the root.
+     */
+    private static <T extends Number> Object[] calculateSubtreeWeights(List<Node<T>> nodes, int[] parents,
+                                                                      Operations<T> operations) {
+        Object[] weights = new Object[nodes.size()];
+
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = nodes.get(i).getValue();
+        }
+
+        for (int i = weights.length - 1; i > 0; i--) {
+            weights[parents[i]] = operations.add(getElement(weights, parents[i]), getElement(weights, i));
+        }
+
+        return weights;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getElement(Object[] array, int index) {
+        return (T)array[index];
+    }
+
+
+    /**
+     * The buffer which is written into the channel when it is full.
+     */
+    private static class ChannelOutput {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+        private long position;
+
+        ChannelOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putValue(ValueType valueType, Number value) throws IOException {
+            ensureRemaining(valueType.getWidth());
+            valueType.write(buffer, value);
+        }
+
+        /**
+         * Writes zeroes until the given offset in the file.
+         */
+        void padTo(long offset) throws IOException {
+            while (position + buffer.position() < offset) {
+                ensureRemaining(1);
+                buffer.put((byte)0);
+            }
+        }
+
+        void ensureRemaining(int length) throws IOException {
+            if (buffer.remaining() < length) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package tree.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The types of the values which can be stored in the tree file. The tag of the type is written into the header,
+ * so the file can be read only as a tree of the same type.
+ */
+public enum ValueType {
+    INT(1, Integer.BYTES, Integer.class),
+    LONG(2, Long.BYTES, Long.class),
+    DOUBLE(3, Double.BYTES, Double.class);
+
+    private final byte tag;
+    private final int width;
+    private final Class<? extends Number> valueClass;
+
+
+    ValueType(int tag, int width, Class<? extends Number> valueClass) {
+        this.tag = (byte)tag;
+        this.width = width;
+        this.valueClass = valueClass;
+    }
+
+
+    public byte getTag() {
+        return tag;
+    }
+
+    /**
+     * @return The number of bytes of one value.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    public Class<? extends Number> getValueClass() {
+        return valueClass;
+    }
+
+    public static ValueType fromTag(byte tag) throws IllegalArgumentException {
+        for (ValueType type : values()) {
+            if (type.tag == tag) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown value type tag " + tag);
+    }
+
+    public static ValueType fromClass(Class<?> valueClass) throws IllegalArgumentException {
+        for (ValueType type : values()) {
+            if (type.valueClass == valueClass) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException("Values of type " + valueClass.getSimpleName() + " can not be stored");
+    }
+
+
+    void write(ByteBuffer buffer, Number value) {
+        switch (this) {
+            case INT:
+                buffer.putInt(value.intValue());
+                break;
+            case LONG:
+                buffer.putLong(value.longValue());
+                break;
+            default:
+                buffer.putDouble(value.doubleValue());
+        }
+    }
+
+    Number read(ByteBuffer buffer, int position) {
+        switch (this) {
+            case INT:
+                return buffer.getInt(position);
+            case LONG:
+                return buffer.getLong(position);
+            default:
+                return buffer.getDouble(position);
+        }
+    }
+}
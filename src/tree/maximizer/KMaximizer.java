@@ -18,4 +18,12 @@ public interface KMaximizer<T extends Number> {
      * @return The list of nodes which must be deleted in order to maximize the tree.
      */
     List<Node<T>> maximize(int maxOperationsCount);
+
+    /**
+     * Finds the best profits for every number of operations from 0 to maxOperationsCount in one run.
+     * The removed nodes for any of these numbers are restored from the curve when they are needed, and they are
+     * the same as the result of maximize with this number.
+     * @param maxOperationsCount The maximum number of operations allowed.
+     */
+    ProfitCurve<T> profitCurve(int maxOperationsCount);
 }
@@ -0,0 +1,41 @@
+package tree.maximizer;
+
+import tree.AbstractTree;
+import tree.columnar.ParallelPostOrder;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The tree knapsack maximizer which solves the DP in a fork/join pool (see TreeKnapsackKMaximizer for the DP).
+ *
+ * The profits of a node depend only on the profits of its children, so the independent subtrees are processed
+ * concurrently, and the profits arrays of the children are merged into the parent's array when all of them are
+ * ready. The subtrees with less than sequentialThreshold nodes are processed sequentially by one task (see
+ * ParallelPostOrder). Every array is calculated in the same way as in the sequential DP, so the profits and the
+ * removed nodes are the same as the result of TreeKnapsackKMaximizer.
+ *
+ * @param <T> The type of nodes' values.
+ */
+public class ParallelTreeKnapsackKMaximizer<T extends Number> extends TreeKnapsackKMaximizer<T> {
+
+    public ParallelTreeKnapsackKMaximizer(AbstractTree<T> tree, ForkJoinPool pool) throws IllegalArgumentException {
+        this(tree, pool, ParallelPostOrder.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * @param sequentialThreshold The number of nodes which are processed by one task without splitting.
+     */
+    public ParallelTreeKnapsackKMaximizer(AbstractTree<T> tree, ForkJoinPool pool, int sequentialThreshold)
+            throws IllegalArgumentException {
+        super(tree, checkPool(pool), sequentialThreshold);
+    }
+
+
+    private static ForkJoinPool checkPool(ForkJoinPool pool) throws IllegalArgumentException {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool can not be null");
+        }
+
+        return pool;
+    }
+}
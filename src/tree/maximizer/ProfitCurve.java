@@ -0,0 +1,113 @@
+package tree.maximizer;
+
+import tree.Node;
+import tree.operations.Operations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The best profits of the K-maximization for every k from 0 to maxOperationsCount, which are found by one run of
+ * the maximizer. The profit of k is the largest sum of the negated weights of no more than k removed subtrees
+ * (0 if nothing should be removed), so the curve never decreases.
+ *
+ * The removed nodes are not stored for every k: they are restored from the data of the DP only for the k which is
+ * asked for, so the curve is cheap to build even if only a few answers are used.
+ * @param <T> The type of nodes' values.
+ */
+public class ProfitCurve<T extends Number> {
+    private final List<T> profits;
+    private final IntFunction<List<Node<T>>> nodesRestorer;
+    private final Operations<T> operations;
+
+
+    /**
+     * @param profits The best profits, where profits.get(k) is the profit of k operations.
+     * @param nodesRestorer The function which restores the nodes to remove for the given number of operations.
+     */
+    public ProfitCurve(List<T> profits, IntFunction<List<Node<T>>> nodesRestorer, Operations<T> operations)
+            throws IllegalArgumentException {
+        if (profits == null || profits.isEmpty()) {
+            throw new IllegalArgumentException("Profits can not be empty");
+        }
+
+        if (nodesRestorer == null) {
+            throw new IllegalArgumentException("Nodes restorer can not be null");
+        }
+
+        this.profits = Collections.unmodifiableList(profits);
+        this.nodesRestorer = nodesRestorer;
+        this.operations = operations;
+    }
+
+
+    public int getMaxOperationsCount() {
+        return profits.size() - 1;
+    }
+
+    /**
+     * @return The read-only list of profits for every number of operations from 0 to getMaxOperationsCount.
+     */
+    public List<T> getProfits() {
+        return profits;
+    }
+
+    /**
+     * @return The best profit with no more than operationsCount operations.
+     * @throws IllegalArgumentException If operationsCount is out of the curve.
+     */
+    public T getProfit(int operationsCount) throws IllegalArgumentException {
+        checkOperationsCount(operationsCount);
+
+        return profits.get(operationsCount);
+    }
+
+    /**
+     * @return How much the operation number operationsCount adds to the profit of the previous ones. It shows
+     * where the returns drop off.
+     * @throws IllegalArgumentException If operationsCount is not in [1, getMaxOperationsCount].
+     */
+    public T getMarginalProfit(int operationsCount) throws IllegalArgumentException {
+        if (operationsCount == 0) {
+            throw new IllegalArgumentException("Marginal profit is defined only for positive operations count");
+        }
+
+        checkOperationsCount(operationsCount);
+
+        return operations.sub(profits.get(operationsCount), profits.get(operationsCount - 1));
+    }
+
+    /**
+     * @return The smallest number of operations which gives the best profit of the curve.
+     */
+    public int getBestOperationsCount() {
+        T bestProfit = profits.get(getMaxOperationsCount());
+
+        for (int k = 0; k < getMaxOperationsCount(); k++) {
+            if (operations.compare(profits.get(k), bestProfit) == 0) {
+                return k;
+            }
+        }
+
+        return getMaxOperationsCount();
+    }
+
+    /**
+     * Restores the nodes whose subtrees must be removed in order to get the profit of operationsCount operations.
+     * The nodes are restored on every call, the returned list can be changed by the caller.
+     * @throws IllegalArgumentException If operationsCount is out of the curve.
+     */
+    public List<Node<T>> getNodesToRemove(int operationsCount) throws IllegalArgumentException {
+        checkOperationsCount(operationsCount);
+
+        return nodesRestorer.apply(operationsCount);
+    }
+
+
+    private void checkOperationsCount(int operationsCount) throws IllegalArgumentException {
+        if (operationsCount < 0 || operationsCount > getMaxOperationsCount()) {
+            throw new IllegalArgumentException("Operations count must be in [0, " + getMaxOperationsCount() + "]");
+        }
+    }
+}
@@ -2,7 +2,10 @@ package tree.maximizer;
 
 import tree.AbstractTree;
 import tree.Node;
-import tree.maximizer.siblingsSet.SiblingsHashSet;
+import tree.TreeIndex;
+import tree.maximizer.siblingsSet.AntichainSet;
+import tree.operations.DoubleOperations;
+import tree.operations.IntegralOperations;
 import tree.operations.Operations;
 
 import java.util.*;
@@ -16,9 +19,18 @@ import java.util.*;
 public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
 
     /**
-     * The child parent map which stores all parents of every node in the tree.
+     * The maximum number of back-pointers (ints) of one DP, which is 512 MB.
      */
-    private Map<Node<T>, Set<Node<T>>> childParentMap;
+    static final long MAX_BACK_POINTERS_COUNT = 1L << 27;
+
+    private AbstractTree<T> tree;
+
+    /**
+     * The index which is used to check if one node is the parent of another one. The index and the nodes are taken
+     * from the indexes of the tree by every maximize, so they are built only if the tree is maximized, and they are
+     * not stale after the tree is changed.
+     */
+    private TreeIndex<T> treeIndex;
 
     /**
      * The List of all nodes in the tree.
@@ -26,9 +38,12 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
     private List<Node<T>> nodesCollection;
 
     /**
-     * The DP matrix.
+     * The back-pointers of the DP matrix: backPointers[i][j] is the column of the previous row from where we got
+     * the profit of the cell [i, j], or -1. Only the back-pointers are kept for all rows, the profits are kept only
+     * for the current and the previous rows. The rows are created by maximize, and they take (k + 1) * n ints, so
+     * the DPs with more than MAX_BACK_POINTERS_COUNT back-pointers are rejected.
      */
-    private ArrayList<ArrayList<DpCell<T>>> dp;
+    private int[][] backPointers;
 
     /**
      * The number of nodes in the tree.
@@ -43,11 +58,8 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
             throw new IllegalArgumentException("Tree can not be null");
         }
 
-        childParentMap = tree.getChildParentMap();
-        nodesCollection = tree.getNodesCollection();
-        dp = new ArrayList<>();
+        this.tree = tree;
         operations = tree.getOperationsObject();
-        nodesCount = nodesCollection.size();
     }
 
 
@@ -62,7 +74,7 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
      * The idea of this DP is that every cell in the DP matrix is a maximum profit we can get after deletion of the
      * node which corresponds to this cell on the i-th iteration (i = cell's row index). To calculate this profit we monitor
      * the i - 1 row, and see what happens if we delete the current node, assuming the fact the we deleted the k-th node from the
-     * i - 1 row. Each DP cell has a parentIndex field which tells us from where from the previous row we got the maximum profit.
+     * i - 1 row. Each DP cell has a back-pointer which tells us from where from the previous row we got the maximum profit.
      * So when we monitor k-th cell from the previous row we check, have we already deleted any parent of the current node. If so,
      * we don't look at this case. If there was no deletion of a parent of the current node, then we calculate the profit. We must
      * be very careful here, because in any previous step we could have deleted the child of the current node, so it's profit will not
@@ -70,43 +82,125 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
      * child of this node, we must count it. After that, if the profit is greater than
      * the value in this DP cell, we update it, and also update the parent index of the current cell.
      *
+     * Only the current and the previous rows of profits are kept, and the back-pointers of all rows are kept in
+     * the int matrix, so the memory is O(k * n) ints instead of O(k * n) cells with boxed profits. The rows of
+     * the primitive operations are the long or double arrays, so the profits are not boxed in the rows.
+     *
      * The time complexity is O(k^2 * n^2)
      *
      * @return The List of nodes which must be deleted in order to maximize the tree.
      */
     @Override
     public List<Node<T>> maximize(int maxOperationsCount) {
-        initializeDpMatrix(maxOperationsCount);
+        if (maxOperationsCount <= 0 || tree.getRoot() == null) {
+            return new ArrayList<>();
+        }
+
+        return profitCurve(maxOperationsCount).getNodesToRemove(maxOperationsCount);
+    }
+
+    /**
+     * The rows of the DP are calculated in the increasing order of the number of operations, so the best cell of
+     * the rows 1..k is the answer for k operations. The best cell is remembered after every row, and the whole curve
+     * comes from one DP. The answer for k is restored from the back-pointers when it is asked for, so the curve keeps
+     * the back-pointers and the nodes of its own run.
+     */
+    @Override
+    public ProfitCurve<T> profitCurve(int maxOperationsCount) throws IllegalArgumentException {
+        if (maxOperationsCount <= 0 || tree.getRoot() == null) {
+            List<T> curve = new ArrayList<>(Collections.nCopies(Math.max(maxOperationsCount, 0) + 1,
+                    operations.getZero()));
+
+            return new ProfitCurve<>(curve, operationsCount -> new ArrayList<>(), operations);
+        }
+
+        treeIndex = tree.getTreeIndex();
+        nodesCollection = tree.getIndexes().getNodes();
+        nodesCount = nodesCollection.size();
+
+        if (((long)maxOperationsCount + 1) * nodesCount > MAX_BACK_POINTERS_COUNT) {
+            throw new IllegalArgumentException("The DP needs more than " + MAX_BACK_POINTERS_COUNT +
+                    " back-pointers, use TreeKnapsackKMaximizer");
+        }
 
+        backPointers = new int[maxOperationsCount + 1][];
+        ProfitRow<T> prevRow = createRow();
+        ProfitRow<T> currRow = createRow();
+
+        backPointers[1] = createBackPointersRow();
         for (int i = 0; i < nodesCount; i++) {
-            dp.get(1).set(i, new DpCell<>(operations.negotiate(nodesCollection.get(i).getSubtreeWeight()), -1));
+            currRow.setNegated(i, nodesCollection.get(i).getSubtreeWeight());
         }
 
+        //The best cell is searched in the same order as the rows are calculated, so only two rows are needed.
+        int maxI = 1;
+        int maxJ = currRow.findMaxColumn();
+        T maxValue = currRow.get(maxJ);
+
+        //The best cells of the rows 1..k for every k.
+        int[] bestRows = new int[maxOperationsCount + 1];
+        int[] bestColumns = new int[maxOperationsCount + 1];
+        Object[] bestValues = new Object[maxOperationsCount + 1];
+        bestRows[1] = maxI;
+        bestColumns[1] = maxJ;
+        bestValues[1] = maxValue;
+
         for (int i = 2; i < maxOperationsCount + 1; i++) {
+            ProfitRow<T> temp = prevRow;
+            prevRow = currRow;
+            currRow = temp;
+            currRow.fillNegativeInfinity();
+
+            int[] rowBackPointers = createBackPointersRow();
+            backPointers[i] = rowBackPointers;
+
             for (int j = 0; j < nodesCount; j++) {
                 for (int k = 0; k < nodesCount; k++) {
                     if (j != k) {
                         if (checkIfTheNodeAlreadyInPath(j, i - 1, k)) {
-                            if (operations.compare(dp.get(i - 1).get(k).getValue(), dp.get(i).get(j).getValue()) == 1) {
-                                dp.get(i).set(j, new DpCell<>(dp.get(i - 1).get(k)));
+                            if (currRow.copyIfGreater(j, prevRow, k)) {
+                                rowBackPointers[j] = backPointers[i - 1][k];
                             }
                         }
                         else if (!checkIfParentWasDeleted(i, j, k)) {
-                            T profit = calculateProfit(nodesCollection.get(j), i -1, k);
-                            T oldValue = dp.get(i).get(j).getValue();
+                            T removedWeight = calculateRemovedWeight(nodesCollection.get(j), i -1, k);
 
-                            if (operations.compare(profit, oldValue) == 1) {
-                                dp.get(i).set(j, new DpCell<>(profit, k));
+                            if (currRow.setNegatedIfGreater(j, removedWeight)) {
+                                rowBackPointers[j] = k;
                             }
                         }
                     }
                 }
             }
+
+            int rowMaxJ = currRow.findMaxColumn();
+            T rowMaxValue = currRow.get(rowMaxJ);
+
+            if (operations.compare(rowMaxValue, maxValue) == 1) {
+                maxI = i;
+                maxJ = rowMaxJ;
+                maxValue = rowMaxValue;
+            }
+
+            bestRows[i] = maxI;
+            bestColumns[i] = maxJ;
+            bestValues[i] = maxValue;
         }
 
-        printDp();
+        List<T> curve = new ArrayList<>(maxOperationsCount + 1);
+        curve.add(operations.getZero());
 
-        return findAnswerFromDP(maxOperationsCount);
+        for (int k = 1; k <= maxOperationsCount; k++) {
+            T profit = getElement(bestValues, k);
+            curve.add(operations.compare(profit, operations.getZero()) == 1 ? profit : operations.getZero());
+        }
+
+        int[][] curveBackPointers = backPointers;
+        List<Node<T>> curveNodes = nodesCollection;
+
+        return new ProfitCurve<>(curve, operationsCount -> operationsCount == 0 ? new ArrayList<>() :
+                findAnswerFromDP(curveBackPointers, curveNodes, bestRows[operationsCount],
+                        bestColumns[operationsCount], getElement(bestValues, operationsCount)), operations);
     }
 
     /**
@@ -125,7 +219,7 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
                 return true;
             }
 
-            currCol = dp.get(currRow).get(currCol).getParentIndex();
+            currCol = backPointers[currRow][currCol];
             currRow--;
         }
 
@@ -134,26 +228,14 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
 
     /**
      * Creates a list of nodes which must be deleted from the DP matrix.
-     * Firstly we find a cell with maximum profit value and then, using the parentIndex, recreate the answer.
-     * If the profit is less than zero then we return an empty List.
+     * We start from the cell with maximum profit value and then, using the back-pointers, recreate the answer.
+     * If the profit is less than zero then we return an empty List. The back-pointers and the nodes are given by
+     * the caller, because they can belong to one of the previous runs of the DP.
      * @return The list of nodes which must be deleted.
      */
-    private List<Node<T>> findAnswerFromDP(int maxOperationsCount) {
-        int maxI = 1;
-        int maxJ = 0;
-
-        for (int i = 1; i < maxOperationsCount + 1; i++) {
-            for (int j = 0; j < nodesCount; j++) {
-                T prevMax = dp.get(maxI).get(maxJ).getValue();
-
-                if (operations.compare(dp.get(i).get(j).getValue(), prevMax) == 1) {
-                    maxI = i;
-                    maxJ = j;
-                }
-            }
-        }
-
-        if (operations.compare(dp.get(maxI).get(maxJ).getValue(), operations.getZero()) == -1) {
+    private List<Node<T>> findAnswerFromDP(int[][] backPointers, List<Node<T>> nodesCollection, int maxI, int maxJ,
+                                           T maxValue) {
+        if (operations.compare(maxValue, operations.getZero()) == -1) {
             return new ArrayList<>();
         }
 
@@ -165,25 +247,39 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
         while (currRow > 0 && currCol > -1) {
             answer.add(nodesCollection.get(currCol));
 
-            currCol = dp.get(currRow).get(currCol).getParentIndex();
+            currCol = backPointers[currRow][currCol];
             currRow--;
         }
 
         return answer;
     }
 
-
     /**
-     * Initializes the DP matrix with zeroes.
+     * Creates the row of profits. The primitive operations are detected, so their profits are kept unboxed.
      */
-    private void initializeDpMatrix(int maxOperationsCount) {
-        for (int i = 0; i < maxOperationsCount + 1; i++) {
-            dp.add(new ArrayList<>());
+    @SuppressWarnings("unchecked")
+    private ProfitRow<T> createRow() {
+        if (operations instanceof IntegralOperations) {
+            return new LongProfitRow<>((IntegralOperations<T>)operations, nodesCount);
+        }
 
-            for (int j = 0; j < nodesCount; j++) {
-                dp.get(i).add(new DpCell<>(operations.getNegativeInfinity(), -1));
-            }
+        if (operations instanceof DoubleOperations) {
+            return (ProfitRow<T>)new DoubleProfitRow(nodesCount);
         }
+
+        return new ObjectProfitRow<>(operations, nodesCount);
+    }
+
+    private int[] createBackPointersRow() {
+        int[] row = new int[nodesCount];
+        Arrays.fill(row, -1);
+
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getElement(Object[] row, int index) {
+        return (T)row[index];
     }
 
     /**
@@ -202,12 +298,12 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
         while (currDpParentRow > 0 && currDpParentCol > -1) {
             Node<T> currParent = nodesCollection.get(currDpParentCol);
 
-            if (childParentMap.get(currNode).contains(currParent)) {
+            if (treeIndex.isAncestor(currParent, currNode)) {
                 return true;
             }
 
             currDpParentRow--;
-            currDpParentCol = dp.get(currDpParentRow + 1).get(currDpParentCol).getParentIndex();
+            currDpParentCol = backPointers[currDpParentRow + 1][currDpParentCol];
         }
 
         return false;                   
@@ -215,18 +311,18 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
 
     /**
      * If the parent of the current node haven't been deleted, we calculate the profit.
-     * The profit is the profit we gain from deleting selected nodes from the tree.
+     * The profit is the profit we gain from deleting selected nodes from the tree, which is the negated weight of
+     * the removed nodes (the rows negate it without boxing).
      * @param startNode The current node.
      * @param startRow The start row from where we start calculating delta.
      * @param startCol The start column from where we start calculating delta
+     * @return The weight of the removed nodes.
      */
-    private T calculateProfit(Node<T> startNode, int startRow, int startCol) {
-        T profit = operations.getZero();
-
+    private T calculateRemovedWeight(Node<T> startNode, int startRow, int startCol) {
         int currRow = startRow;
         int currCol = startCol;
 
-        Set<Node<T>> nodes = new SiblingsHashSet<>();
+        AntichainSet<T> nodes = new AntichainSet<>(treeIndex, operations);
         nodes.add(startNode);
 
         while (currRow > 0 && currCol > -1) {
@@ -235,27 +331,242 @@ public class TreeKMaximizer<T extends Number> implements KMaximizer<T> {
             nodes.add(currNode);
 
             currRow--;
-            currCol = dp.get(currRow + 1).get(currCol).getParentIndex();
+            currCol = backPointers[currRow + 1][currCol];
+        }
+
+        return nodes.getWeight();
+    }
+
+
+    /**
+     * The row of profits of the DP.
+     */
+    private abstract static class ProfitRow<T extends Number> {
+
+        abstract T get(int column);
+
+        /**
+         * Sets the profit of the column to the negated weight.
+         */
+        abstract void setNegated(int column, T weight);
+
+        /**
+         * Sets the profit of the column to the negated weight if it is greater than the current profit.
+         * @return True if the profit is set.
+         */
+        abstract boolean setNegatedIfGreater(int column, T weight);
+
+        /**
+         * Copies the profit of the column of another row of the same type if it is greater than the current profit.
+         * @return True if the profit is copied.
+         */
+        abstract boolean copyIfGreater(int column, ProfitRow<T> otherRow, int otherColumn);
+
+        abstract void fillNegativeInfinity();
+
+        /**
+         * @return The first column with the maximum profit in the row.
+         */
+        abstract int findMaxColumn();
+    }
+
+    /**
+     * The row of the IntegralOperations, the profits are summed as long values.
+     */
+    private static class LongProfitRow<T extends Number> extends ProfitRow<T> {
+        private final IntegralOperations<T> operations;
+        private final long[] profits;
+
+
+        LongProfitRow(IntegralOperations<T> operations, int size) {
+            this.operations = operations;
+            profits = new long[size];
         }
 
-        for (Node<T> node : nodes) {
-            profit = operations.add(profit, node.getSubtreeWeight());
+
+        @Override
+        T get(int column) {
+            return operations.fromLong(profits[column]);
         }
 
-        return operations.negotiate(profit);
+        @Override
+        void setNegated(int column, T weight) {
+            profits[column] = -operations.toLong(weight);
+        }
+
+        @Override
+        boolean setNegatedIfGreater(int column, T weight) {
+            long profit = -operations.toLong(weight);
+
+            if (profit > profits[column]) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        boolean copyIfGreater(int column, ProfitRow<T> otherRow, int otherColumn) {
+            long profit = ((LongProfitRow<T>)otherRow).profits[otherColumn];
+
+            if (profit > profits[column]) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        void fillNegativeInfinity() {
+            Arrays.fill(profits, operations.toLong(operations.getNegativeInfinity()));
+        }
+
+        @Override
+        int findMaxColumn() {
+            int maxJ = 0;
+
+            for (int j = 1; j < profits.length; j++) {
+                if (profits[j] > profits[maxJ]) {
+                    maxJ = j;
+                }
+            }
+
+            return maxJ;
+        }
     }
 
+    /**
+     * The row of the DoubleOperations.
+     */
+    private static class DoubleProfitRow extends ProfitRow<Double> {
+        private final double[] profits;
+
+
+        DoubleProfitRow(int size) {
+            profits = new double[size];
+        }
+
+
+        @Override
+        Double get(int column) {
+            return profits[column];
+        }
+
+        @Override
+        void setNegated(int column, Double weight) {
+            profits[column] = -weight;
+        }
+
+        @Override
+        boolean setNegatedIfGreater(int column, Double weight) {
+            double profit = -weight;
+
+            if (Double.compare(profit, profits[column]) > 0) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        boolean copyIfGreater(int column, ProfitRow<Double> otherRow, int otherColumn) {
+            double profit = ((DoubleProfitRow)otherRow).profits[otherColumn];
+
+            if (Double.compare(profit, profits[column]) > 0) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        void fillNegativeInfinity() {
+            Arrays.fill(profits, Double.NEGATIVE_INFINITY);
+        }
+
+        @Override
+        int findMaxColumn() {
+            int maxJ = 0;
+
+            for (int j = 1; j < profits.length; j++) {
+                if (Double.compare(profits[j], profits[maxJ]) > 0) {
+                    maxJ = j;
+                }
+            }
+
+            return maxJ;
+        }
+    }
 
     /**
-     * Prints the DP matrix in DEBUG purposes.
+     * The row of the other operations, the profits are compared with the operations.
      */
-    private void printDp() {
-        for (ArrayList<DpCell<T>> arrayList : dp) {
-            for (DpCell<T> dpCell : arrayList) {
-                System.out.print(dpCell.getValue() + " ");
+    private static class ObjectProfitRow<T extends Number> extends ProfitRow<T> {
+        private final Operations<T> operations;
+        private final Object[] profits;
+
+
+        ObjectProfitRow(Operations<T> operations, int size) {
+            this.operations = operations;
+            profits = new Object[size];
+        }
+
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T get(int column) {
+            return (T)profits[column];
+        }
+
+        @Override
+        void setNegated(int column, T weight) {
+            profits[column] = operations.negotiate(weight);
+        }
+
+        @Override
+        boolean setNegatedIfGreater(int column, T weight) {
+            T profit = operations.negotiate(weight);
+
+            if (operations.compare(profit, get(column)) == 1) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        boolean copyIfGreater(int column, ProfitRow<T> otherRow, int otherColumn) {
+            T profit = otherRow.get(otherColumn);
+
+            if (operations.compare(profit, get(column)) == 1) {
+                profits[column] = profit;
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        void fillNegativeInfinity() {
+            Arrays.fill(profits, operations.getNegativeInfinity());
+        }
+
+        @Override
+        int findMaxColumn() {
+            int maxJ = 0;
+
+            for (int j = 1; j < profits.length; j++) {
+                if (operations.compare(get(j), get(maxJ)) == 1) {
+                    maxJ = j;
+                }
             }
 
-            System.out.println();
+            return maxJ;
         }
     }
 }
\ No newline at end of file
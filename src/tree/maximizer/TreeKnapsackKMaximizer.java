@@ -0,0 +1,340 @@
+package tree.maximizer;
+
+import tree.AbstractTree;
+import tree.Node;
+import tree.columnar.ColumnarTree;
+import tree.columnar.DoubleColumnarTree;
+import tree.columnar.DoubleKnapsackSolution;
+import tree.columnar.KnapsackSolution;
+import tree.columnar.LongColumnarTree;
+import tree.columnar.LongKnapsackSolution;
+import tree.columnar.ParallelPostOrder;
+import tree.operations.DoubleOperations;
+import tree.operations.IntegralOperations;
+import tree.operations.Operations;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * The maximizer which solves the problem of maximizing the tree no more than in K steps with the help of
+ * the tree knapsack DP.
+ *
+ * For every node we calculate the array profits[0..min(k, subtreeSize)], where profits[j] is the best profit
+ * we can get by deleting no more than j subtrees inside the subtree of this node. The nodes are processed in
+ * the post-order (children before parents), and the arrays of the children are merged into the array of the parent.
+ * The arrays are bounded by the sizes of the subtrees, so the time complexity is O(n * k).
+ *
+ * @param <T> The type of nodes' values.
+ */
+public class TreeKnapsackKMaximizer<T extends Number> implements KMaximizer<T> {
+
+    private AbstractTree<T> tree;
+    private Operations<T> operations;
+
+    /**
+     * The pool of the DP, or null if the DP is solved in the current thread (see ParallelTreeKnapsackKMaximizer).
+     */
+    private ForkJoinPool parallelPool;
+    private int sequentialThreshold;
+
+
+    public TreeKnapsackKMaximizer(AbstractTree<T> tree) throws IllegalArgumentException {
+        this(tree, null, ParallelPostOrder.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    TreeKnapsackKMaximizer(AbstractTree<T> tree, ForkJoinPool parallelPool, int sequentialThreshold)
+            throws IllegalArgumentException {
+        if (tree == null) {
+            throw new IllegalArgumentException("Tree can not be null");
+        }
+
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("Sequential threshold must be positive");
+        }
+
+        this.tree = tree;
+        operations = tree.getOperationsObject();
+        this.parallelPool = parallelPool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+
+    /**
+     * The nodes are taken from the indexes of the tree on every call (they are built again after the tree is
+     * changed), so the maximizer always works with the current state of the tree. The subtree weights are
+     * calculated from the values of the nodes during the DP.
+     *
+     * For the node v with children c1, ..., cm we firstly merge the arrays of the children:
+     * merged[a + b] = max(merged[a] + profits(ci)[b]), and remember how many deletions were given to the child ci
+     * for every budget (splits). Then we check if it is better to delete the whole subtree of v:
+     * profits(v)[j] = max(merged[j], -weight(v)), j > 0. The answer is restored from the root using the splits.
+     *
+     * @return The List of nodes which must be deleted in order to maximize the tree.
+     */
+    @Override
+    public List<Node<T>> maximize(int maxOperationsCount) {
+        if (maxOperationsCount <= 0 || tree.getRoot() == null) {
+            return new ArrayList<>();
+        }
+
+        return profitCurve(maxOperationsCount).getNodesToRemove(maxOperationsCount);
+    }
+
+    /**
+     * The profits of the root are the best profits for every budget, so the whole curve comes from one DP. The
+     * profits of the budgets larger than the size of the tree are the same as the profit of the size. The splits and
+     * the deletions are kept by the curve, and the answer for a budget is restored from them when it is asked for.
+     * The budgets up to maxOperationsCount get the same splits as in the DP with a smaller maxOperationsCount, so
+     * the restored nodes are the same as the result of maximize.
+     */
+    @Override
+    public ProfitCurve<T> profitCurve(int maxOperationsCount) {
+        int maxK = Math.max(maxOperationsCount, 0);
+
+        if (maxK == 0 || tree.getRoot() == null) {
+            return new ProfitCurve<>(new ArrayList<>(Collections.nCopies(maxK + 1, operations.getZero())),
+                    operationsCount -> new ArrayList<>(), operations);
+        }
+
+        List<Node<T>> nodesCollection = tree.getIndexes().getNodes();
+        int nodesCount = nodesCollection.size();
+
+        if (operations instanceof IntegralOperations || operations instanceof DoubleOperations) {
+            return profitCurveUnboxed(nodesCollection, maxK);
+        }
+
+        int[] parents = findParents(nodesCollection);
+        int[][] children = new int[nodesCount][];
+        int[] childrenCounts = new int[nodesCount];
+
+        for (int i = 0; i < nodesCount; i++) {
+            children[i] = new int[nodesCollection.get(i).getChildren().size()];
+        }
+
+        for (int i = 1; i < nodesCount; i++) {
+            children[parents[i]][childrenCounts[parents[i]]++] = i;
+        }
+
+        int[] sizes = new int[nodesCount];
+        Object[] weights = new Object[nodesCount];
+        Object[][] profits = new Object[nodesCount][];
+        int[][] splits = new int[nodesCount][];
+        boolean[][] deletions = new boolean[nodesCount][];
+
+        IntConsumer nodeAction = i -> calculateNodeProfits(i, nodesCollection.get(i).getValue(), maxK, children,
+                sizes, weights, profits, splits, deletions);
+
+        //In the BFS order every parent goes before its children, so the reversed order is a post-order.
+        if (parallelPool == null) {
+            for (int i = nodesCount - 1; i >= 0; i--) {
+                nodeAction.accept(i);
+            }
+        } else {
+            new ParallelPostOrder(parents, sequentialThreshold).forEach(nodeAction, parallelPool);
+        }
+
+        Object[] rootProfits = profits[0];
+        int capacity = rootProfits.length - 1;
+        List<T> curve = new ArrayList<>(maxK + 1);
+
+        for (int k = 0; k <= maxK; k++) {
+            T profit = getElement(rootProfits, Math.min(k, capacity));
+            curve.add(operations.compare(profit, operations.getZero()) == 1 ? profit : operations.getZero());
+        }
+
+        return new ProfitCurve<>(curve, operationsCount -> {
+            if (operations.compare(curve.get(operationsCount), operations.getZero()) != 1) {
+                return new ArrayList<>();
+            }
+
+            return restoreAnswer(nodesCollection, Math.min(operationsCount, capacity), children, splits, deletions);
+        }, operations);
+    }
+
+    /**
+     * The DP for the primitive operations. The values are unboxed once, and the same DP is solved by the columnar
+     * tree on the primitive arrays. The columnar tree numbers the nodes in the BFS order, as getNodesCollection does.
+     * Only the profits of the curve are boxed.
+     */
+    @SuppressWarnings("unchecked")
+    private ProfitCurve<T> profitCurveUnboxed(List<Node<T>> nodesCollection, int maxOperationsCount) {
+        int nodesCount = nodesCollection.size();
+        int[] parents = findParents(nodesCollection);
+
+        KnapsackSolution solution;
+        List<T> curve = new ArrayList<>(maxOperationsCount + 1);
+
+        if (operations instanceof IntegralOperations) {
+            IntegralOperations<T> integralOperations = (IntegralOperations<T>)operations;
+            long[] values = new long[nodesCount];
+
+            for (int i = 0; i < nodesCount; i++) {
+                values[i] = integralOperations.toLong(nodesCollection.get(i).getValue());
+            }
+
+            LongKnapsackSolution longSolution = new LongColumnarTree(parents, values)
+                    .solveKnapsack(maxOperationsCount, parallelPool, sequentialThreshold);
+            for (int k = 0; k <= maxOperationsCount; k++) {
+                curve.add(integralOperations.fromLong(longSolution.getProfit(k)));
+            }
+
+            solution = longSolution;
+        } else {
+            double[] values = new double[nodesCount];
+
+            for (int i = 0; i < nodesCount; i++) {
+                values[i] = nodesCollection.get(i).getValue().doubleValue();
+            }
+
+            DoubleKnapsackSolution doubleSolution = new DoubleColumnarTree(parents, values)
+                    .solveKnapsack(maxOperationsCount, parallelPool, sequentialThreshold);
+            for (int k = 0; k <= maxOperationsCount; k++) {
+                //The operations are DoubleOperations, so T is Double.
+                curve.add((T)Double.valueOf(doubleSolution.getProfit(k)));
+            }
+
+            solution = doubleSolution;
+        }
+
+        return new ProfitCurve<>(curve, operationsCount -> {
+            int[] nodesToRemove = solution.restoreRemovals(operationsCount);
+            List<Node<T>> answer = new ArrayList<>(nodesToRemove.length);
+
+            for (int node : nodesToRemove) {
+                answer.add(nodesCollection.get(node));
+            }
+
+            return answer;
+        }, operations);
+    }
+
+    /**
+     * The children of every node follow each other in the BFS order, so we can restore the parents' indexes. The root
+     * has the parent ColumnarTree.NONE.
+     */
+    private static <T extends Number> int[] findParents(List<Node<T>> nodesCollection) {
+        int[] parents = new int[nodesCollection.size()];
+        parents[0] = ColumnarTree.NONE;
+        int nextChild = 1;
+
+        for (int i = 0; i < nodesCollection.size(); i++) {
+            for (int j = nodesCollection.get(i).getChildren().size(); j > 0; j--) {
+                parents[nextChild++] = i;
+            }
+        }
+
+        return parents;
+    }
+
+    /**
+     * Merges the profits arrays of the node's children and decides if the whole subtree of the node should be deleted.
+     * The profits arrays of the children are released after the merge.
+     */
+    private void calculateNodeProfits(int nodeIndex, T value, int maxOperationsCount, int[][] children, int[] sizes,
+                                      Object[] weights, Object[][] profits, int[][] splits, boolean[][] deletions) {
+        T weight = value;
+        int size = 1;
+
+        for (int child : children[nodeIndex]) {
+            weight = operations.add(weight, getElement(weights, child));
+            size += sizes[child];
+        }
+
+        int capacity = Math.min(maxOperationsCount, size);
+
+        Object[] merged = new Object[capacity + 1];
+        Arrays.fill(merged, operations.getZero());
+        int mergedCapacity = 0;
+
+        for (int child : children[nodeIndex]) {
+            Object[] childProfits = profits[child];
+            int childCapacity = childProfits.length - 1;
+            int newCapacity = Math.min(capacity, mergedCapacity + childCapacity);
+
+            Object[] newMerged = new Object[capacity + 1];
+            int[] childSplits = new int[newCapacity + 1];
+
+            for (int a = 0; a <= mergedCapacity; a++) {
+                T mergedProfit = getElement(merged, a);
+
+                for (int b = 0; b <= childCapacity && a + b <= newCapacity; b++) {
+                    T profit = operations.add(mergedProfit, getElement(childProfits, b));
+
+                    if (newMerged[a + b] == null || operations.compare(profit, getElement(newMerged, a + b)) == 1) {
+                        newMerged[a + b] = profit;
+                        childSplits[a + b] = b;
+                    }
+                }
+            }
+
+            for (int j = newCapacity + 1; j <= capacity; j++) {
+                newMerged[j] = newMerged[newCapacity];
+            }
+
+            merged = newMerged;
+            mergedCapacity = newCapacity;
+            splits[child] = childSplits;
+            profits[child] = null;
+        }
+
+        T deletionProfit = operations.negotiate(weight);
+        boolean[] nodeDeletions = new boolean[capacity + 1];
+
+        for (int j = 1; j <= capacity; j++) {
+            if (operations.compare(deletionProfit, getElement(merged, j)) == 1) {
+                merged[j] = deletionProfit;
+                nodeDeletions[j] = true;
+            }
+        }
+
+        weights[nodeIndex] = weight;
+        sizes[nodeIndex] = size;
+        profits[nodeIndex] = merged;
+        deletions[nodeIndex] = nodeDeletions;
+    }
+
+    /**
+     * Restores the list of nodes which must be deleted, starting from the root with the given budget.
+     * The children of every node are visited in the reversed order, because the splits were written in the order
+     * of merging.
+     */
+    private List<Node<T>> restoreAnswer(List<Node<T>> nodesCollection, int budget, int[][] children, int[][] splits,
+                                        boolean[][] deletions) {
+        List<Node<T>> answer = new ArrayList<>();
+
+        Deque<int[]> pendingNodes = new ArrayDeque<>();
+        pendingNodes.push(new int[] { 0, budget });
+
+        while (pendingNodes.size() > 0) {
+            int[] pendingNode = pendingNodes.pop();
+            int nodeIndex = pendingNode[0];
+            int currBudget = Math.min(pendingNode[1], deletions[nodeIndex].length - 1);
+
+            if (currBudget == 0) {
+                continue;
+            }
+
+            if (deletions[nodeIndex][currBudget]) {
+                answer.add(nodesCollection.get(nodeIndex));
+                continue;
+            }
+
+            for (int i = children[nodeIndex].length - 1; i >= 0 && currBudget > 0; i--) {
+                int child = children[nodeIndex][i];
+                int childBudget = splits[child][Math.min(currBudget, splits[child].length - 1)];
+
+                pendingNodes.push(new int[] { child, childBudget });
+                currBudget -= childBudget;
+            }
+        }
+
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getElement(Object[] array, int index) {
+        return (T)array[index];
+    }
+}
@@ -0,0 +1,136 @@
+package tree.maximizer.siblingsSet;
+
+import tree.Node;
+import tree.TreeIndex;
+import tree.operations.Operations;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The set with the same add as SiblingsHashSet: if there is an ancestor of the node in the set, the node is not
+ * added, and if there are descendants of the node in the set, they are removed. So no node of the set is
+ * an ancestor of another one (the set is an antichain of the tree), and the sum of their subtree weights is
+ * the weight of all removed nodes.
+ *
+ * The nodes are kept in a TreeMap by their DFS entry times. The subtrees of the nodes of an antichain are disjoint
+ * intervals of the DFS order, so the only possible ancestor of the node in the set is the node with the greatest
+ * entry time which is not greater than the entry time of the node, and the descendants of the node are the nodes
+ * whose entry times are inside its subtree interval. So add takes O(log m) (plus O(log m) for every removed
+ * descendant) instead of O(m) ancestor checks of SiblingsHashSet, and the sum of the subtree weights is kept
+ * during the additions and removals.
+ *
+ * All nodes must be in the tree of the index.
+ * @param <T> The type of nodes' values.
+ */
+public class AntichainSet<T extends Number> extends AbstractSet<Node<T>> {
+    private final TreeIndex<T> treeIndex;
+    private final Operations<T> operations;
+
+    /**
+     * The nodes of the set by their entry times.
+     */
+    private final NavigableMap<Integer, Node<T>> nodes = new TreeMap<>();
+    private T weight;
+
+
+    public AntichainSet(TreeIndex<T> treeIndex, Operations<T> operations) throws IllegalArgumentException {
+        if (treeIndex == null) {
+            throw new IllegalArgumentException("Tree index can not be null");
+        }
+
+        if (operations == null) {
+            throw new IllegalArgumentException("Operations can not be null");
+        }
+
+        this.treeIndex = treeIndex;
+        this.operations = operations;
+        this.weight = operations.getZero();
+    }
+
+
+    /**
+     * @return The sum of the subtree weights of the nodes of the set.
+     */
+    public T getWeight() {
+        return weight;
+    }
+
+    /**
+     * Adds the node if neither it nor any of its ancestors is in the set, and removes its descendants from the set.
+     * @return True if the node is added.
+     */
+    @Override
+    public boolean add(Node<T> node) {
+        int entryTime = treeIndex.getEntryTime(node);
+        Map.Entry<Integer, Node<T>> previousEntry = nodes.floorEntry(entryTime);
+
+        if (previousEntry != null && treeIndex.getExitTime(previousEntry.getValue()) >= entryTime) {
+            return false;
+        }
+
+        NavigableMap<Integer, Node<T>> descendants = nodes.subMap(entryTime, false,
+                treeIndex.getExitTime(node), true);
+
+        for (Node<T> descendant : descendants.values()) {
+            weight = operations.sub(weight, descendant.getSubtreeWeight());
+        }
+
+        descendants.clear();
+        nodes.put(entryTime, node);
+        weight = operations.add(weight, node.getSubtreeWeight());
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object object) {
+        if (!(object instanceof Node) || !treeIndex.contains((Node<T>)object)) {
+            return false;
+        }
+
+        Node<T> node = (Node<T>)object;
+
+        if (!nodes.remove(treeIndex.getEntryTime(node), node)) {
+            return false;
+        }
+
+        weight = operations.sub(weight, node.getSubtreeWeight());
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object object) {
+        if (!(object instanceof Node) || !treeIndex.contains((Node<T>)object)) {
+            return false;
+        }
+
+        return nodes.get(treeIndex.getEntryTime((Node<T>)object)) == object;
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+        weight = operations.getZero();
+    }
+
+    /**
+     * @return The read-only iterator over the nodes in the DFS order.
+     */
+    @Override
+    public Iterator<Node<T>> iterator() {
+        return Collections.unmodifiableCollection(nodes.values()).iterator();
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+}
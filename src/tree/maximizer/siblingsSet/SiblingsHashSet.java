@@ -1,6 +1,7 @@
 package tree.maximizer.siblingsSet;
 
 import tree.Node;
+import tree.TreeIndex;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,16 +17,31 @@ import java.util.Set;
  */
 public class SiblingsHashSet<T extends Number> extends HashSet<Node<T>> {
 
+    /**
+     * The index which is used to check if one node is the parent of another one. If there is no index,
+     * the sets of all parents of the nodes are used.
+     */
+    private TreeIndex<T> treeIndex;
+
+
+    public SiblingsHashSet() {
+    }
+
+    public SiblingsHashSet(TreeIndex<T> treeIndex) {
+        this.treeIndex = treeIndex;
+    }
+
+
     @Override
     public boolean add(Node<T> node) {
         Set<Node<T>> nodesToDelete = new HashSet<>();
 
         for (Node<T> el : this) {
-            if (el.getAllParents().contains(node)) {
+            if (isParent(node, el)) {
                 nodesToDelete.add(el);
             }
 
-            if (node.getAllParents().contains(el)) {
+            if (isParent(el, node)) {
                 return false;
             }
         }
@@ -35,4 +51,12 @@ public class SiblingsHashSet<T extends Number> extends HashSet<Node<T>> {
 
         return true;
     }
+
+    private boolean isParent(Node<T> parent, Node<T> node) {
+        if (treeIndex != null) {
+            return treeIndex.isAncestor(parent, node);
+        }
+
+        return node.getAllParents().contains(parent);
+    }
 }
@@ -0,0 +1,51 @@
+package tree.operations;
+
+/**
+ * The Double operations with the fixed arithmetic. The algorithms which find these operations unbox the values
+ * once and work with the double arrays, and then box only the results.
+ */
+public final class DoubleOperations extends Operations<Double> {
+
+    public DoubleOperations() {
+        super(Double::sum, (firstValue, secondValue) -> firstValue - secondValue, Double::compare,
+                value -> -value, 0.0, new DoubleRandomizer(), Double.NEGATIVE_INFINITY);
+    }
+
+
+    public double addDouble(double firstValue, double secondValue) {
+        return firstValue + secondValue;
+    }
+
+    public double subDouble(double firstValue, double secondValue) {
+        return firstValue - secondValue;
+    }
+
+    public int compareDouble(double firstValue, double secondValue) {
+        return Double.compare(firstValue, secondValue);
+    }
+
+    @Override
+    public Double add(Double firstValue, Double secondValue) {
+        return firstValue + secondValue;
+    }
+
+    @Override
+    public Double sub(Double firstValue, Double secondValue) {
+        return firstValue - secondValue;
+    }
+
+    @Override
+    public int compare(Double firstValue, Double secondValue) {
+        return Double.compare(firstValue, secondValue);
+    }
+
+    @Override
+    public Double negotiate(Double value) {
+        return -value;
+    }
+
+    @Override
+    boolean isArithmeticFixed() {
+        return true;
+    }
+}
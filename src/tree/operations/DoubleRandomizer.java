@@ -0,0 +1,20 @@
+package tree.operations;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The randomizer of the double values from the interval [leftBorder, rightBorder).
+ */
+public class DoubleRandomizer implements Randomizer<Double> {
+
+    @Override
+    public Double getRandomValue(Double leftBorder, Double rightBorder) {
+        return ThreadLocalRandom.current().nextDouble(leftBorder, rightBorder);
+    }
+
+    @Override
+    public Double getRandomValue(Double leftBorder, Double rightBorder, SplittableRandom random) {
+        return random.nextDouble(leftBorder, rightBorder);
+    }
+}
@@ -0,0 +1,43 @@
+package tree.operations;
+
+/**
+ * The Integer operations with the fixed arithmetic. Unlike getIntegerOperations(), the methods do not call
+ * the lambdas, and the algorithms detect these operations and take the unboxed path (see IntegralOperations).
+ */
+public final class IntOperations extends IntegralOperations<Integer> {
+
+    public IntOperations() {
+        super(Integer::sum, (firstValue, secondValue) -> firstValue - secondValue, Integer::compare,
+                value -> -value, 0, new IntegerRandomizer(), -10000000);
+    }
+
+
+    @Override
+    public Integer add(Integer firstValue, Integer secondValue) {
+        return firstValue + secondValue;
+    }
+
+    @Override
+    public Integer sub(Integer firstValue, Integer secondValue) {
+        return firstValue - secondValue;
+    }
+
+    @Override
+    public int compare(Integer firstValue, Integer secondValue) {
+        return Integer.compare(firstValue, secondValue);
+    }
+
+    @Override
+    public Integer negotiate(Integer value) {
+        return -value;
+    }
+
+    /**
+     * Cuts the sum to int, so it wraps around like the sum of the boxed add. The int sums wrap modulo 2^32 in any
+     * order, so the primitive and the boxed paths give the same overflowed weights.
+     */
+    @Override
+    public Integer fromLong(long value) {
+        return (int)value;
+    }
+}
@@ -0,0 +1,36 @@
+package tree.operations;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The randomizer of the integer values from the interval [leftBorder, rightBorder).
+ * The values without a seed are taken from ThreadLocalRandom, so the threads do not share one random.
+ */
+public class IntegerRandomizer implements Randomizer<Integer> {
+
+    @Override
+    public Integer getRandomValue(Integer leftBorder, Integer rightBorder) {
+        return ThreadLocalRandom.current().nextInt(rightBorder - leftBorder) + leftBorder;
+    }
+
+    @Override
+    public Integer getRandomValue(Integer leftBorder, Integer rightBorder, SplittableRandom random) {
+        return random.nextInt(rightBorder - leftBorder) + leftBorder;
+    }
+
+    /**
+     * Unboxes the borders only once for all values.
+     */
+    @Override
+    public void addRandomValues(List<Integer> values, int count, Integer leftBorder, Integer rightBorder,
+                                SplittableRandom random) {
+        int left = leftBorder;
+        int bound = rightBorder - left;
+
+        for (int i = 0; i < count; i++) {
+            values.add(random.nextInt(bound) + left);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package tree.operations;
+
+import java.util.Comparator;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * The base class of the primitive operations whose values can be summed as long values (IntOperations and
+ * LongOperations). The algorithms which find these operations unbox the values once and work with the primitive
+ * arrays, and then box only the results with fromLong.
+ *
+ * The int values are summed as longs too, so the sums of IntOperations do not overflow inside the algorithms
+ * (they are cut to int only by fromLong).
+ * @param <T> The type of nodes' values.
+ */
+public abstract class IntegralOperations<T extends Number> extends Operations<T> {
+
+    IntegralOperations(BinaryOperator<T> adder, BinaryOperator<T> subtractor, Comparator<T> comparator,
+                       UnaryOperator<T> negotiator, T zero, Randomizer<T> randomizer, T negativeInfinity) {
+        super(adder, subtractor, comparator, negotiator, zero, randomizer, negativeInfinity);
+    }
+
+
+    public final long addLong(long firstValue, long secondValue) {
+        return firstValue + secondValue;
+    }
+
+    public final long subLong(long firstValue, long secondValue) {
+        return firstValue - secondValue;
+    }
+
+    public final int compareLong(long firstValue, long secondValue) {
+        return Long.compare(firstValue, secondValue);
+    }
+
+    public final long toLong(T value) {
+        return value.longValue();
+    }
+
+    /**
+     * Boxes the primitive result of an algorithm.
+     */
+    public abstract T fromLong(long value);
+
+    @Override
+    final boolean isArithmeticFixed() {
+        return true;
+    }
+}
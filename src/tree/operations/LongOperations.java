@@ -0,0 +1,39 @@
+package tree.operations;
+
+/**
+ * The Long operations with the fixed arithmetic. The algorithms detect these operations and take the unboxed path
+ * (see IntegralOperations).
+ */
+public final class LongOperations extends IntegralOperations<Long> {
+
+    public LongOperations() {
+        super(Long::sum, (firstValue, secondValue) -> firstValue - secondValue, Long::compare,
+                value -> -value, 0L, new LongRandomizer(), Long.MIN_VALUE);
+    }
+
+
+    @Override
+    public Long add(Long firstValue, Long secondValue) {
+        return firstValue + secondValue;
+    }
+
+    @Override
+    public Long sub(Long firstValue, Long secondValue) {
+        return firstValue - secondValue;
+    }
+
+    @Override
+    public int compare(Long firstValue, Long secondValue) {
+        return Long.compare(firstValue, secondValue);
+    }
+
+    @Override
+    public Long negotiate(Long value) {
+        return -value;
+    }
+
+    @Override
+    public Long fromLong(long value) {
+        return value;
+    }
+}
@@ -0,0 +1,20 @@
+package tree.operations;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The randomizer of the long values from the interval [leftBorder, rightBorder).
+ */
+public class LongRandomizer implements Randomizer<Long> {
+
+    @Override
+    public Long getRandomValue(Long leftBorder, Long rightBorder) {
+        return ThreadLocalRandom.current().nextLong(leftBorder, rightBorder);
+    }
+
+    @Override
+    public Long getRandomValue(Long leftBorder, Long rightBorder, SplittableRandom random) {
+        return random.nextLong(leftBorder, rightBorder);
+    }
+}
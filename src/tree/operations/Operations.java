@@ -1,7 +1,8 @@
 package tree.operations;
 
 import java.util.Comparator;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.function.BinaryOperator;
 import java.util.function.UnaryOperator;
 
@@ -11,8 +12,6 @@ import java.util.function.UnaryOperator;
  * @param <T> The type of nodes' values.
  */
 public class Operations<T extends Number> {
-    private static final Random random = new Random();
-
     private BinaryOperator<T> adder;
     private BinaryOperator<T> subtractor;
     private Comparator<T> comparator;
@@ -42,27 +41,32 @@ public class Operations<T extends Number> {
         return this;
     }
 
-    public Operations<T> setZero(T zero) {
+    public Operations<T> setZero(T zero) throws UnsupportedOperationException {
+        checkArithmeticCanBeChanged();
         this.zero = zero;
         return this;
     }
 
-    public Operations<T> setAdder(BinaryOperator<T> adder) {
+    public Operations<T> setAdder(BinaryOperator<T> adder) throws UnsupportedOperationException {
+        checkArithmeticCanBeChanged();
         this.adder = adder;
         return this;
     }
 
-    public Operations<T> setSubtractor(BinaryOperator<T> subtractor) {
+    public Operations<T> setSubtractor(BinaryOperator<T> subtractor) throws UnsupportedOperationException {
+        checkArithmeticCanBeChanged();
         this.subtractor = subtractor;
         return this;
     }
 
-    public Operations<T> setComparator(Comparator<T> comparator) {
+    public Operations<T> setComparator(Comparator<T> comparator) throws UnsupportedOperationException {
+        checkArithmeticCanBeChanged();
         this.comparator = comparator;
         return this;
     }
 
-    public Operations<T> setNeg(UnaryOperator<T> negotiator) {
+    public Operations<T> setNeg(UnaryOperator<T> negotiator) throws UnsupportedOperationException {
+        checkArithmeticCanBeChanged();
         this.negotiator = negotiator;
         return this;
     }
@@ -73,6 +77,21 @@ public class Operations<T extends Number> {
     }
 
 
+    /**
+     * The primitive operations (IntOperations, LongOperations and DoubleOperations) have the fixed arithmetic,
+     * because the algorithms which detect them do not use the lambdas.
+     */
+    boolean isArithmeticFixed() {
+        return false;
+    }
+
+    private void checkArithmeticCanBeChanged() throws UnsupportedOperationException {
+        if (isArithmeticFixed()) {
+            throw new UnsupportedOperationException("The arithmetic of the primitive operations can not be changed");
+        }
+    }
+
+
     public BinaryOperator<T> getAdder() {
         return adder;
     }
@@ -122,34 +141,31 @@ public class Operations<T extends Number> {
         return randomizer.getRandomValue(leftBorder, rightBorder);
     }
 
+    public T getRandomValue(T leftBorder, T rightBorder, SplittableRandom random) {
+        return randomizer.getRandomValue(leftBorder, rightBorder, random);
+    }
+
+    public void addRandomValues(List<T> values, int count, T leftBorder, T rightBorder, SplittableRandom random) {
+        randomizer.addRandomValues(values, count, leftBorder, rightBorder, random);
+    }
+
 
     /**
-     * Returns default Integer operations
+     * Returns default Integer operations. Their arithmetic can be changed with the setters, so the algorithms use
+     * them through the lambdas; IntOperations is the faster variant with the fixed arithmetic.
      */
     public static Operations<Integer> getIntegerOperations() {
         BinaryOperator<Integer> adder = (first, second) -> first + second;
 
         BinaryOperator<Integer> subtractor = (firstValue, secondValue) -> firstValue - secondValue;
 
-        Comparator<Integer> comparator = (firstValue, secondValue) -> {
-            if (firstValue.equals(secondValue)) {
-                return 0;
-            }
-
-            if (firstValue > secondValue) {
-                return 1;
-            }
-
-            return -1;
-        };
+        Comparator<Integer> comparator = Integer::compare;
 
         UnaryOperator<Integer> negotiator = (value) -> -value;
 
         Integer zero = 0;
 
-        Randomizer<Integer> randomizer = (leftBorder, rightBorder) -> {
-            return random.nextInt(rightBorder - leftBorder) + leftBorder;
-        };
+        Randomizer<Integer> randomizer = new IntegerRandomizer();
 
 
         return new Operations<Integer>().setAdder(adder).setComparator(comparator)
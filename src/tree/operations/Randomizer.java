@@ -1,5 +1,30 @@
 package tree.operations;
 
+import java.util.List;
+import java.util.SplittableRandom;
+
 public interface Randomizer<T extends Number> {
     T getRandomValue(T leftBorder, T rightBorder);
+
+    /**
+     * Returns the random value which is taken from the given random, so the values are the same for the same seed.
+     * The randomizers which support the seeded generation override this method. The default one throws, because
+     * the values which are not taken from the random would make the seeded generation non-deterministic.
+     * @throws UnsupportedOperationException If the randomizer does not support the seeded generation.
+     */
+    default T getRandomValue(T leftBorder, T rightBorder, SplittableRandom random)
+            throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("The randomizer does not support the seeded generation");
+    }
+
+    /**
+     * Adds count random values taken from the given random to the end of the list.
+     * The values are the same as if they were taken one by one with getRandomValue, but the randomizers can
+     * generate them in a cheaper way.
+     */
+    default void addRandomValues(List<T> values, int count, T leftBorder, T rightBorder, SplittableRandom random) {
+        for (int i = 0; i < count; i++) {
+            values.add(getRandomValue(leftBorder, rightBorder, random));
+        }
+    }
 }
@@ -0,0 +1,187 @@
+package tree.traversal;
+
+import tree.Node;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The spliterator over the nodes of a tree in the pre-order, which splits at the subtree boundaries, so
+ * the parallel streams of nodes get whole subtrees without copying the tree into a list.
+ *
+ * The spliterator keeps the stack of the roots of the subtrees which are not visited yet. trySplit gives the first
+ * half of these subtrees away. If only one subtree is left, its root and the roots below it which have a single
+ * child are taken out of it as single nodes (at most MAX_SINGLE_NODES of them), and then its children are split.
+ *
+ * The size of the tree is not always known (and can be changed), so the spliterator is not SIZED: the size is
+ * only estimated, and the estimate is halved by every split.
+ * @param <T> The type of nodes' values.
+ */
+public class SubtreeSpliterator<T extends Number> implements Spliterator<Node<T>> {
+
+    /**
+     * The maximum number of single nodes which are taken out of a long chain of nodes by one trySplit.
+     */
+    private static final int MAX_SINGLE_NODES = 1 << 10;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The nodes which are returned before the subtrees, without their children.
+     */
+    private final Deque<Node<T>> singleNodes;
+
+    /**
+     * The stack of the roots of the subtrees, the next one is the last one.
+     */
+    private Object[] pendingNodes;
+    private int pendingCount;
+    private long estimatedSize;
+
+
+    /**
+     * @param estimatedSize The estimated number of nodes, Long.MAX_VALUE if it is not known.
+     */
+    public SubtreeSpliterator(Node<T> root, long estimatedSize) {
+        this(new ArrayDeque<>(), new Object[INITIAL_CAPACITY], 0, estimatedSize);
+
+        if (root != null) {
+            push(root);
+        }
+    }
+
+    private SubtreeSpliterator(Deque<Node<T>> singleNodes, Object[] pendingNodes, int pendingCount,
+                               long estimatedSize) {
+        this.singleNodes = singleNodes;
+        this.pendingNodes = pendingNodes;
+        this.pendingCount = pendingCount;
+        this.estimatedSize = estimatedSize;
+    }
+
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Node<T>> action) {
+        if (singleNodes.size() > 0) {
+            action.accept(singleNodes.poll());
+            return true;
+        }
+
+        if (pendingCount == 0) {
+            return false;
+        }
+
+        Node<T> currNode = pop();
+        pushChildren(currNode);
+        action.accept(currNode);
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Node<T>> action) {
+        while (singleNodes.size() > 0) {
+            action.accept(singleNodes.poll());
+        }
+
+        while (pendingCount > 0) {
+            Node<T> currNode = pop();
+            pushChildren(currNode);
+            action.accept(currNode);
+        }
+    }
+
+    @Override
+    public Spliterator<Node<T>> trySplit() {
+        if (singleNodes.size() > 0 && pendingCount > 0) {
+            return splitOff(pendingCount / 2);
+        }
+
+        //The single subtree is split into its top nodes and the subtrees of their children.
+        while (pendingCount == 1 && singleNodes.size() < MAX_SINGLE_NODES) {
+            Node<T> currNode = pop();
+            singleNodes.add(currNode);
+            pushChildren(currNode);
+        }
+
+        if (pendingCount == 0) {
+            return null;
+        }
+
+        if (pendingCount == 1) {
+            return singleNodes.size() > 0 ? splitOff(0) : null;
+        }
+
+        return splitOff(pendingCount / 2);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+
+
+    /**
+     * Gives away the single nodes and the given number of subtrees from the top of the stack.
+     * @return The spliterator of the nodes which come before the rest nodes of this spliterator.
+     */
+    private Spliterator<Node<T>> splitOff(int subtreesCount) {
+        Deque<Node<T>> prefixSingleNodes = new ArrayDeque<>(singleNodes);
+        singleNodes.clear();
+
+        Object[] prefixPendingNodes = Arrays.copyOfRange(pendingNodes, pendingCount - subtreesCount,
+                pendingCount - subtreesCount + Math.max(subtreesCount, INITIAL_CAPACITY));
+        Arrays.fill(pendingNodes, pendingCount - subtreesCount, pendingCount, null);
+        pendingCount -= subtreesCount;
+
+        long prefixEstimatedSize = estimatedSize == Long.MAX_VALUE ? Long.MAX_VALUE : estimatedSize / 2;
+        estimatedSize -= estimatedSize == Long.MAX_VALUE ? 0 : prefixEstimatedSize;
+
+        return new SubtreeSpliterator<>(prefixSingleNodes, prefixPendingNodes, subtreesCount, prefixEstimatedSize);
+    }
+
+    /**
+     * Pushes the children of the node in the reversed order, so the first child is at the top.
+     */
+    private void pushChildren(Node<T> node) {
+        Collection<Node<T>> children = node.getChildren();
+
+        if (children == null) {
+            return;
+        }
+
+        int firstChildIndex = pendingCount;
+        for (Node<T> child : children) {
+            push(child);
+        }
+
+        for (int i = firstChildIndex, j = pendingCount - 1; i < j; i++, j--) {
+            Object child = pendingNodes[i];
+            pendingNodes[i] = pendingNodes[j];
+            pendingNodes[j] = child;
+        }
+    }
+
+    private void push(Node<T> node) {
+        if (pendingCount == pendingNodes.length) {
+            pendingNodes = Arrays.copyOf(pendingNodes, pendingNodes.length * 2);
+        }
+
+        pendingNodes[pendingCount++] = node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T> pop() {
+        Node<T> node = (Node<T>)pendingNodes[--pendingCount];
+        pendingNodes[pendingCount] = null;
+
+        return node;
+    }
+}
@@ -0,0 +1,21 @@
+package tree.traversal;
+
+/**
+ * The result of the visit of the node, which tells the traversal how to continue.
+ */
+public enum TraversalAction {
+    /**
+     * Continue the traversal as usual.
+     */
+    CONTINUE,
+
+    /**
+     * Do not visit the subtree of the current node.
+     */
+    SKIP_SUBTREE,
+
+    /**
+     * Stop the traversal.
+     */
+    STOP
+}
@@ -0,0 +1,24 @@
+package tree.traversal;
+
+import tree.Node;
+
+import java.util.Iterator;
+
+/**
+ * The iterator over the nodes of a tree, which is created by the TreeTraversal.
+ * @param <T> The type of nodes' values.
+ */
+public interface TraversalCursor<T extends Number> extends Iterator<Node<T>> {
+
+    /**
+     * Skips the subtree of the node which was returned by the last call of next.
+     * @throws UnsupportedOperationException If the subtree is already visited (post-order cursor).
+     */
+    void skipSubtree() throws UnsupportedOperationException;
+
+    /**
+     * Stops the traversal and releases the work buffers, so they can be used by the next traversal.
+     * The cursor releases them automatically when all nodes are visited.
+     */
+    void close();
+}
@@ -0,0 +1,412 @@
+package tree.traversal;
+
+import tree.Node;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The iterative traversal engine: pre-order, post-order and level-order (BFS) traversals of a tree of any height
+ * without recursion. The traversals can be used as cursors (iterators) or with visitors.
+ *
+ * The work stack (and queue) is kept between the traversals, so the traversals do not allocate it again. The buffers
+ * are kept for every thread separately and they are shared by all engines, so the engine can be used by several
+ * threads at once, and the engines which are created for one traversal reuse the buffers too. A traversal takes
+ * the buffers of its thread and gives them back when it is finished or closed: if another traversal is started in
+ * the meantime (for example, from a visitor), it gets new buffers. A cursor which is dropped before the end only
+ * loses its buffers, the next finished traversal leaves its own ones instead.
+ *
+ * The children of every node are visited in the order of its children collection (null is treated as no children).
+ * @param <T> The type of nodes' values.
+ */
+public class TreeTraversal<T extends Number> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The free buffers of every thread, or null while a traversal of the thread uses them.
+     */
+    private static final ThreadLocal<WorkBuffers> FREE_BUFFERS = ThreadLocal.withInitial(WorkBuffers::new);
+
+
+    public TraversalCursor<T> preOrderCursor(Node<T> root) {
+        return new PreOrderCursor(root);
+    }
+
+    public TraversalCursor<T> postOrderCursor(Node<T> root) {
+        return new PostOrderCursor(root, null);
+    }
+
+    /**
+     * Creates the post-order cursor which calls the enterVisitor when it reaches a node for the first time
+     * (before its children). If the enterVisitor returns SKIP_SUBTREE, the children of the node are not visited,
+     * but the node itself is still returned by the cursor. If it returns STOP, the traversal stops.
+     */
+    public TraversalCursor<T> postOrderCursor(Node<T> root, TreeVisitor<T> enterVisitor) {
+        return new PostOrderCursor(root, enterVisitor);
+    }
+
+    public TraversalCursor<T> levelOrderCursor(Node<T> root) {
+        return new LevelOrderCursor(root);
+    }
+
+
+    /**
+     * Visits the nodes in the pre-order. SKIP_SUBTREE skips the children of the visited node.
+     */
+    public void preOrder(Node<T> root, TreeVisitor<T> visitor) {
+        visitAll(preOrderCursor(root), visitor, true);
+    }
+
+    /**
+     * Visits the nodes in the post-order (every node is visited after its children).
+     */
+    public void postOrder(Node<T> root, TreeVisitor<T> visitor) {
+        visitAll(postOrderCursor(root), visitor, false);
+    }
+
+    /**
+     * Visits the nodes in the post-order. The enterVisitor is called before the children of the node are visited,
+     * and it can skip them with SKIP_SUBTREE.
+     */
+    public void postOrder(Node<T> root, TreeVisitor<T> enterVisitor, TreeVisitor<T> visitor) {
+        visitAll(postOrderCursor(root, enterVisitor), visitor, false);
+    }
+
+    /**
+     * Visits the nodes in the BFS order. SKIP_SUBTREE skips the children of the visited node.
+     */
+    public void levelOrder(Node<T> root, TreeVisitor<T> visitor) {
+        visitAll(levelOrderCursor(root), visitor, true);
+    }
+
+
+    /**
+     * @param canSkipSubtree False for the post-order, where the subtree is already visited when the node is visited.
+     */
+    private void visitAll(TraversalCursor<T> cursor, TreeVisitor<T> visitor, boolean canSkipSubtree) {
+        try {
+            while (cursor.hasNext()) {
+                TraversalAction action = visitor.visit(cursor.next());
+
+                if (action == TraversalAction.STOP) {
+                    return;
+                }
+
+                if (action == TraversalAction.SKIP_SUBTREE && canSkipSubtree) {
+                    cursor.skipSubtree();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static WorkBuffers acquireBuffers() {
+        WorkBuffers buffers = FREE_BUFFERS.get();
+
+        if (buffers == null) {
+            return new WorkBuffers();
+        }
+
+        FREE_BUFFERS.set(null);
+        return buffers;
+    }
+
+    private static void releaseBuffers(WorkBuffers releasedBuffers) {
+        if (FREE_BUFFERS.get() == null) {
+            FREE_BUFFERS.set(releasedBuffers);
+        }
+    }
+
+
+    /**
+     * The arrays which are used as the stack or as the queue of the traversal.
+     */
+    private static class WorkBuffers {
+        private Object[] nodes = new Object[INITIAL_CAPACITY];
+        private boolean[] expanded = new boolean[INITIAL_CAPACITY];
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > nodes.length) {
+                int newCapacity = Math.max(capacity, nodes.length * 2);
+
+                nodes = Arrays.copyOf(nodes, newCapacity);
+                expanded = Arrays.copyOf(expanded, newCapacity);
+            }
+        }
+    }
+
+
+    /**
+     * The base class for the cursors which use the work buffers as a stack.
+     */
+    private abstract class StackCursor implements TraversalCursor<T> {
+        WorkBuffers workBuffers;
+        int top;
+
+        StackCursor(Node<T> root) {
+            workBuffers = acquireBuffers();
+
+            if (root != null) {
+                push(root);
+            } else {
+                close();
+            }
+        }
+
+        void push(Node<T> node) {
+            workBuffers.ensureCapacity(top + 1);
+            workBuffers.nodes[top] = node;
+            workBuffers.expanded[top] = false;
+            top++;
+        }
+
+        /**
+         * Pushes the children of the node in the reversed order, so they are popped in the direct order.
+         */
+        void pushChildren(Node<T> node) {
+            if (node.getChildren() == null) {
+                return;
+            }
+
+            int first = top;
+
+            for (Node<T> child : node.getChildren()) {
+                push(child);
+            }
+
+            for (int i = first, j = top - 1; i < j; i++, j--) {
+                Object temp = workBuffers.nodes[i];
+                workBuffers.nodes[i] = workBuffers.nodes[j];
+                workBuffers.nodes[j] = temp;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> pop() {
+            top--;
+            Node<T> node = (Node<T>)workBuffers.nodes[top];
+            workBuffers.nodes[top] = null;
+
+            return node;
+        }
+
+        @Override
+        public void close() {
+            if (workBuffers == null) {
+                return;
+            }
+
+            Arrays.fill(workBuffers.nodes, 0, top, null);
+            top = 0;
+            releaseBuffers(workBuffers);
+            workBuffers = null;
+        }
+    }
+
+    private class PreOrderCursor extends StackCursor {
+        private Node<T> lastNode;
+
+        PreOrderCursor(Node<T> root) {
+            super(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (workBuffers == null) {
+                return false;
+            }
+
+            if (lastNode != null) {
+                pushChildren(lastNode);
+                lastNode = null;
+            }
+
+            if (top == 0) {
+                close();
+                return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastNode = pop();
+            return lastNode;
+        }
+
+        @Override
+        public void skipSubtree() {
+            lastNode = null;
+        }
+    }
+
+    private class PostOrderCursor extends StackCursor {
+        private TreeVisitor<T> enterVisitor;
+        private Node<T> nextNode;
+
+        PostOrderCursor(Node<T> root, TreeVisitor<T> enterVisitor) {
+            super(root);
+            this.enterVisitor = enterVisitor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextNode != null) {
+                return true;
+            }
+
+            if (workBuffers == null) {
+                return false;
+            }
+
+            while (top > 0) {
+                if (workBuffers.expanded[top - 1]) {
+                    nextNode = pop();
+                    return true;
+                }
+
+                workBuffers.expanded[top - 1] = true;
+                @SuppressWarnings("unchecked")
+                Node<T> node = (Node<T>)workBuffers.nodes[top - 1];
+                TraversalAction action = enterVisitor == null ? TraversalAction.CONTINUE : enterVisitor.visit(node);
+
+                if (action == TraversalAction.STOP) {
+                    break;
+                }
+
+                if (action == TraversalAction.CONTINUE) {
+                    pushChildren(node);
+                }
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Node<T> node = nextNode;
+            nextNode = null;
+
+            return node;
+        }
+
+        @Override
+        public void skipSubtree() throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("The subtree is already visited in the post-order");
+        }
+    }
+
+    /**
+     * The cursor which uses the work buffers as a ring queue.
+     */
+    private class LevelOrderCursor implements TraversalCursor<T> {
+        private WorkBuffers workBuffers;
+        private int head;
+        private int count;
+        private Node<T> lastNode;
+
+        LevelOrderCursor(Node<T> root) {
+            workBuffers = acquireBuffers();
+
+            if (root != null) {
+                add(root);
+            } else {
+                close();
+            }
+        }
+
+        private void add(Node<T> node) {
+            Object[] nodes = workBuffers.nodes;
+
+            if (count == nodes.length) {
+                //Unrolling the ring, so the head is at the beginning of the new array.
+                Object[] newNodes = new Object[nodes.length * 2];
+                int firstPart = nodes.length - head;
+
+                System.arraycopy(nodes, head, newNodes, 0, firstPart);
+                System.arraycopy(nodes, 0, newNodes, firstPart, head);
+
+                workBuffers.nodes = newNodes;
+                workBuffers.expanded = new boolean[newNodes.length];
+                nodes = newNodes;
+                head = 0;
+            }
+
+            nodes[(head + count) % nodes.length] = node;
+            count++;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<T> poll() {
+            Node<T> node = (Node<T>)workBuffers.nodes[head];
+            workBuffers.nodes[head] = null;
+            head = (head + 1) % workBuffers.nodes.length;
+            count--;
+
+            return node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (workBuffers == null) {
+                return false;
+            }
+
+            if (lastNode != null && lastNode.getChildren() != null) {
+                for (Node<T> child : lastNode.getChildren()) {
+                    add(child);
+                }
+
+                lastNode = null;
+            }
+
+            if (count == 0) {
+                close();
+                return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastNode = poll();
+            return lastNode;
+        }
+
+        @Override
+        public void skipSubtree() {
+            lastNode = null;
+        }
+
+        @Override
+        public void close() {
+            if (workBuffers == null) {
+                return;
+            }
+
+            while (count > 0) {
+                poll();
+            }
+
+            head = 0;
+            releaseBuffers(workBuffers);
+            workBuffers = null;
+        }
+    }
+}
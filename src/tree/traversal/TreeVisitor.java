@@ -0,0 +1,11 @@
+package tree.traversal;
+
+import tree.Node;
+
+/**
+ * The callback which is called by the TreeTraversal for every visited node.
+ * @param <T> The type of nodes' values.
+ */
+public interface TreeVisitor<T extends Number> {
+    TraversalAction visit(Node<T> node);
+}
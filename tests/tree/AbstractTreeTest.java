@@ -1,9 +1,15 @@
 package tree;
 
 import org.junit.jupiter.api.Test;
+import tree.columnar.LongColumnarTree;
 import tree.generators.*;
+import tree.operations.DoubleOperations;
+import tree.operations.IntOperations;
 import tree.operations.Operations;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AbstractTreeTest {
@@ -47,4 +53,109 @@ class AbstractTreeTest {
 
         assertEquals(results.getTree().getSum(), results.getSum());
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveOperationsAsBoxed() {
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> tree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            LongColumnarTree columnarTree = LongColumnarTree.fromTree(tree);
+            MutableTree<Integer> intTree = columnarTree.toMutableTree(new IntOperations(), value -> (int)value);
+            MutableTree<Double> doubleTree = columnarTree.toMutableTree(new DoubleOperations(), value -> (double)value);
+
+            tree.calculateSizeAndSum();
+            intTree.calculateSizeAndSum();
+            doubleTree.calculateSizeAndSum();
+
+            assertEquals(intTree.getSize(), tree.getSize());
+            assertEquals(intTree.getSum(), tree.getSum());
+            assertEquals(doubleTree.getSum(), (double)tree.getSum());
+
+            List<Node<Integer>> nodesToRemove = tree.findNegativeSubtreesToRemove();
+            List<Node<Integer>> intNodesToRemove = intTree.findNegativeSubtreesToRemove();
+            List<Node<Double>> doubleNodesToRemove = doubleTree.findNegativeSubtreesToRemove();
+
+            assertEquals(intNodesToRemove.size(), nodesToRemove.size());
+            assertEquals(doubleNodesToRemove.size(), nodesToRemove.size());
+
+            for (int j = 0; j < nodesToRemove.size(); j++) {
+                assertEquals(intNodesToRemove.get(j).getHeight(), nodesToRemove.get(j).getHeight());
+                assertEquals(intNodesToRemove.get(j).getValue(), nodesToRemove.get(j).getValue());
+                assertEquals(doubleNodesToRemove.get(j).getValue(), (double)nodesToRemove.get(j).getValue());
+            }
+        }
+    }
+
+    @Test
+    void calculateSizeAndSumInParallel() {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        Operations<Double> doubleOperations = new DoubleOperations();
+        TreeGenerator<Integer> integerGenerator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(operations, -10, 10), 100000));
+        TreeGenerator<Double> doubleGenerator = new TreeGenerator<>(doubleOperations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(doubleOperations, -1.0, 1.0), 100000));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            AbstractTree<Integer> integerTree = integerGenerator.generateRandomMutableTree(3).getTree();
+            AbstractTree<Double> doubleTree = doubleGenerator.generateRandomMutableTree(3).getTree();
+
+            integerTree.calculateSizeAndSum();
+            doubleTree.calculateSizeAndSum();
+            int integerSize = integerTree.getSize();
+            Integer integerSum = integerTree.getSum();
+            int doubleSize = doubleTree.getSize();
+            Double doubleSum = doubleTree.getSum();
+
+            integerTree.setParallelPool(pool).calculateSizeAndSum();
+            doubleTree.setParallelPool(pool).calculateSizeAndSum();
+
+            assertEquals(integerTree.getSize(), integerSize);
+            assertEquals(integerTree.getSum(), integerSum);
+            assertEquals(doubleTree.getSize(), doubleSize);
+            assertEquals(doubleTree.getSum(), doubleSum, 1e-6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void getNodesCollectionInParallel() {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(operations, -10, 10), 100000));
+
+        //The wide root makes sure that at least one level is processed in the pool.
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        for (int i = 0; i < 3 * ParallelLevelTraversal.LEVEL_THRESHOLD; i++) {
+            root.addChild(new MutableNode<>(operations, i % 7 - 3));
+        }
+
+        List<AbstractTree<Integer>> trees = List.of(generator.generateRandomMutableTree(5).getTree(),
+                new MutableTree<>(operations, root), new MutableTree<>(operations));
+
+        for (AbstractTree<Integer> tree : trees) {
+            List<Node<Integer>> nodes = tree.getNodesCollection();
+            List<Node<Integer>> parallelNodes = tree.setParallelPool(ForkJoinPool.commonPool()).getNodesCollection();
+
+            assertEquals(parallelNodes.size(), nodes.size());
+
+            for (int i = 0; i < nodes.size(); i++) {
+                assertSame(parallelNodes.get(i), nodes.get(i));
+            }
+
+            tree.calculateSizeAndSum();
+            assertEquals(tree.getSize(), nodes.size());
+        }
+    }
+
+    @Test
+    void profitCurve() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        int size = tree.getSize();
+
+        assertEquals(tree.profitCurve(3).getProfits(), List.of(0, 35, 40, 40));
+        assertEquals(tree.findBestOperationsCount(3), 2);
+        assertEquals(tree.getSize(), size);
+    }
+}
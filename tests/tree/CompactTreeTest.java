@@ -0,0 +1,120 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.*;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactTreeTest {
+    private TreeGenerator<Integer> treeGenerator;
+    private Operations<Integer> operations = Operations.getIntegerOperations();
+
+    public CompactTreeTest() {
+        treeGenerator = new TreeGenerator<>(Operations.getIntegerOperations(),
+                new TreeGeneratorParams(6, 5,
+                        new Interval<Integer>(Operations.getIntegerOperations(), -10, 10)));
+    }
+
+
+    @Test
+    void copyOfTree() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        CompactTree<Integer> compactTree = new CompactTree<>(operations, tree);
+
+        assertEquals(compactTree.getSize(), 12);
+        assertEquals(compactTree.getSum(), -30);
+        assertEquals(compactTree.getRoot().getSubtreeWeight(), -30);
+        assertEquals(getValues(compactTree), getValues(tree));
+
+        for (Node<Integer> node : compactTree.getNodesCollection()) {
+            for (Node<Integer> child : node.getChildren()) {
+                assertSame(child.getParent(), node);
+                assertEquals(child.getHeight(), node.getHeight() + 1);
+            }
+        }
+    }
+
+    @Test
+    void childrenOfCompactNodes() {
+        CompactTree<Integer> compactTree = new CompactTree<>(operations, TreeGenerator.getIntegerMutableTree());
+        Node<Integer> rightChild = (Node<Integer>)compactTree.getRoot().getChildren().toArray()[1];
+        Node<Integer> leaf = (Node<Integer>)rightChild.getChildren().toArray()[1];
+
+        assertEquals(compactTree.getRoot().getChildren().size(), 2);
+        assertEquals(leaf.getChildren().size(), 0);
+        assertSame(leaf.getSubtreeWeight(), leaf.getValue());
+        assertEquals(rightChild.getSubtreeWeight(), -35);
+
+        assertThrows(UnsupportedOperationException.class, () -> compactTree.getRoot().getChildren().remove(rightChild));
+    }
+
+    @Test
+    void emptyTree() {
+        CompactTree<Integer> compactTree = new CompactTree<>(operations, new MutableTree<>(operations));
+
+        assertNull(compactTree.getRoot());
+        assertEquals(compactTree.getSize(), 0);
+        assertEquals(compactTree.getSum(), 0);
+    }
+
+    @Test
+    void removeSubtree() {
+        CompactTree<Integer> compactTree = new CompactTree<>(operations, TreeGenerator.getIntegerMutableTree());
+        Node<Integer> rightChild = (Node<Integer>)compactTree.getRoot().getChildren().toArray()[1];
+
+        AbstractTree<Integer> newTree = compactTree.removeSubtree(rightChild);
+
+        assertEquals(newTree.getSize(), 7);
+        assertEquals(newTree.getSum(), 5);
+        assertEquals(newTree.getRoot().getChildren().size(), 1);
+        assertEquals(compactTree.getSize(), 12);
+
+        newTree = compactTree.removeSubtree(compactTree.getRoot());
+
+        assertNull(newTree.getRoot());
+        assertEquals(newTree.getSize(), 0);
+    }
+
+    @Test
+    void maximizeAsMutableTree() {
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> mutableTree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            CompactTree<Integer> compactTree = new CompactTree<>(operations, mutableTree);
+
+            AbstractTree<Integer> maximizedTree = compactTree.maximize();
+            mutableTree.maximize();
+
+            assertEquals(maximizedTree.getSum(), mutableTree.getSum());
+            assertEquals(maximizedTree.getSize(), mutableTree.getSize());
+        }
+    }
+
+    @Test
+    void maximizeWithKAsMutableTree() {
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> mutableTree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            CompactTree<Integer> compactTree = new CompactTree<>(operations, mutableTree);
+
+            AbstractTree<Integer> maximizedTree = compactTree.maximize(3);
+            mutableTree.maximize(3);
+
+            assertEquals(maximizedTree.getSum(), mutableTree.getSum());
+            assertEquals(maximizedTree.getSize(), mutableTree.getSize());
+        }
+    }
+
+
+    private static List<Integer> getValues(AbstractTree<Integer> tree) {
+        List<Integer> values = new ArrayList<>();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            values.add(node.getValue());
+        }
+
+        return values;
+    }
+}
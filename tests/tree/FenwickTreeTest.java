@@ -0,0 +1,56 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenwickTreeTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    @Test
+    void rangeSum() {
+        FenwickTree<Integer> tree = new FenwickTree<>(operations, List.of(1, 2, -4, 2, 1, -5));
+
+        assertEquals(tree.getSize(), 6);
+        assertEquals(tree.prefixSum(0), 0);
+        assertEquals(tree.prefixSum(6), -3);
+        assertEquals(tree.rangeSum(1, 3), 0);
+        assertEquals(tree.rangeSum(4, 4), 1);
+    }
+
+    @Test
+    void add() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            values.add(random.nextInt(21) - 10);
+        }
+
+        FenwickTree<Integer> tree = new FenwickTree<>(operations, values);
+
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(values.size());
+            int delta = random.nextInt(21) - 10;
+
+            tree.add(index, delta);
+            values.set(index, values.get(index) + delta);
+
+            int from = random.nextInt(values.size());
+            int to = from + random.nextInt(values.size() - from);
+            int expected = 0;
+
+            for (int j = from; j <= to; j++) {
+                expected += values.get(j);
+            }
+
+            assertEquals(tree.rangeSum(from, to), expected);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package tree;
 
 import com.sun.java.accessibility.util.AccessibilityListenerList;
 import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
 import tree.operations.Operations;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -90,6 +92,27 @@ class ImmutableNodeTest {
         assertNotEquals(newNode, node);
     }
 
+    @Test
+    void copyWithoutDeepChildrenSharesSubtrees() {
+        ImmutableTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        ImmutableNode<Integer> root = (ImmutableNode<Integer>)tree.getRoot();
+        Node<Integer> leftChild = (Node<Integer>)root.getChildren().toArray()[0];
+        Node<Integer> rightChild = (Node<Integer>)root.getChildren().toArray()[1];
+
+        List<Node<Integer>> extraNodes = new ArrayList<>();
+        extraNodes.add((Node<Integer>)leftChild.getChildren().toArray()[2]);
+        extraNodes.add((Node<Integer>)rightChild.getChildren().toArray()[1]);
+
+        ImmutableNode<Integer> newRoot = root.copyWithoutDeepChildren(extraNodes, null);
+        Node<Integer> newLeftChild = (Node<Integer>)newRoot.getChildren().toArray()[0];
+
+        assertEquals(newRoot.getSubtreeWeight(), -5);
+        assertEquals(newRoot.getOrigin(), root);
+        assertEquals(newLeftChild.getChildren().size(), 2);
+        assertSame(newLeftChild.getChildren().toArray()[0], leftChild.getChildren().toArray()[0]);
+        assertEquals(root.getSubtreeWeight(), -30);
+    }
+
     @Test
     void getAllParents() {
         ImmutableNode<Integer> node = new ImmutableNode<Integer>(operations, 1, null , null);
@@ -121,6 +144,41 @@ class ImmutableNodeTest {
         assertEquals(child2.getSubtreeWeight(), 2);
     }
 
+    @Test
+    void getSubtreeWeightAfterChildrenChange() {
+        ImmutableNode<Integer> root = new ImmutableNode<>(operations, 1);
+        ImmutableNode<Integer> child = new ImmutableNode<>(operations, 2, new ArrayList<>(), root);
+        root.getChildren().add(child);
+
+        assertEquals(root.getSubtreeWeight(), 3);
+
+        ImmutableNode<Integer> grandChild = new ImmutableNode<>(operations, 5, new ArrayList<>(), child);
+        child.getChildren().add(grandChild);
+
+        assertEquals(child.getSubtreeWeight(), 7);
+        assertEquals(root.getSubtreeWeight(), 8);
+
+        child.getChildren().removeIf(node -> node == grandChild);
+
+        assertEquals(root.getSubtreeWeight(), 3);
+    }
+
+    @Test
+    void getSubtreeWeightOfDeepTree() {
+        ImmutableNode<Integer> root = new ImmutableNode<Integer>(operations, 1, new ArrayList<>(), null);
+        ImmutableNode<Integer> currNode = root;
+
+        for (int i = 0; i < 100000; i++) {
+            ImmutableNode<Integer> child = new ImmutableNode<Integer>(operations, 1, new ArrayList<>(), currNode);
+            currNode.getChildren().add(child);
+            currNode = child;
+        }
+
+        assertEquals(root.getSubtreeWeight(), 100001);
+        assertEquals(currNode.getSubtreeWeight(), 1);
+        assertSame(root.getSubtreeWeight(), root.getSubtreeWeight());
+    }
+
     @Test
     void getHeight() {
         ImmutableNode<Integer> node = new ImmutableNode<Integer>(operations, 1, null , null);
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import tree.generators.*;
 import tree.operations.Operations;
 
+import java.time.Duration;
+import java.util.ArrayList;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ImmutableTreeTest {
@@ -40,6 +43,57 @@ class ImmutableTreeTest {
         assertEquals(((ImmutableNode<Integer>)testNode.getChildren().toArray()[0]).getValue(), 1);
     }
 
+    @Test
+    void removeSubtreeSharesSubtrees() {
+        ImmutableTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        Node<Integer> leftChild = (Node<Integer>)tree.getRoot().getChildren().toArray()[0];
+        Node<Integer> rightChild = (Node<Integer>)tree.getRoot().getChildren().toArray()[1];
+        Node<Integer> deletedNode = (Node<Integer>)rightChild.getChildren().toArray()[1];
+
+        AbstractTree<Integer> newTree = tree.removeSubtree(deletedNode).calculateSizeAndSum();
+        Node<Integer> newRightChild = (Node<Integer>)newTree.getRoot().getChildren().toArray()[1];
+
+        assertNotSame(newTree.getRoot(), tree.getRoot());
+        assertSame(newTree.getRoot().getChildren().toArray()[0], leftChild);
+        assertNotSame(newRightChild, rightChild);
+        assertEquals(newRightChild.getChildren().size(), 1);
+        assertEquals(newTree.getSize(), 11);
+        assertEquals(newTree.getSum(), -10);
+        assertEquals(newTree.getRoot().getSubtreeWeight(), -10);
+
+        tree.calculateSizeAndSum();
+        assertEquals(tree.getSize(), 12);
+        assertEquals(tree.getSum(), -30);
+        assertEquals(rightChild.getChildren().size(), 2);
+    }
+
+    @Test
+    void removeSubtreeFromSharedSubtree() {
+        ImmutableTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        Node<Integer> rightChild = (Node<Integer>)tree.getRoot().getChildren().toArray()[1];
+
+        ImmutableTree<Integer> newTree = (ImmutableTree<Integer>)tree.removeSubtree(
+                (Node<Integer>)rightChild.getChildren().toArray()[1]);
+
+        Node<Integer> leftChild = (Node<Integer>)newTree.getRoot().getChildren().toArray()[0];
+        Node<Integer> deepNode = (Node<Integer>)leftChild.getChildren().toArray()[0];
+
+        //The left child is shared by both versions, so its parent is taken only from the tree.
+        assertThrows(IllegalStateException.class, leftChild::getParent);
+        assertThrows(IllegalStateException.class, deepNode::getAllParents);
+        assertSame(deepNode.getParent(), leftChild);
+        assertSame(newTree.getParent(leftChild), newTree.getRoot());
+        assertSame(newTree.getParent(deepNode), leftChild);
+        assertNull(newTree.getParent(newTree.getRoot()));
+
+        AbstractTree<Integer> lastTree = newTree.removeSubtree(deepNode).calculateSizeAndSum();
+
+        assertEquals(lastTree.getSize(), 8);
+        assertEquals(lastTree.getSum(), -16);
+        newTree.calculateSizeAndSum();
+        assertEquals(newTree.getSize(), 11);
+    }
+
     @Test
     void maximize() {
         ImmutableTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
@@ -50,6 +104,54 @@ class ImmutableTreeTest {
         assertEquals(tree.getSum(), 10);
     }
 
+    @Test
+    void maximizeAsGreedy() {
+        for (int i = 0; i < 20; i++) {
+            ImmutableTree<Integer> tree = (ImmutableTree<Integer>)treeGenerator.generateRandomImmutableTree().getTree();
+
+            AbstractTree<Integer> expectedTree = tree.maximizeGreedy().calculateSizeAndSum();
+            AbstractTree<Integer> actualTree = tree.maximize().calculateSizeAndSum();
+
+            assertEquals(expectedTree.getSum(), actualTree.getSum());
+            assertEquals(expectedTree.getSize(), actualTree.getSize());
+        }
+    }
+
+    @Test
+    void maximizeDeepTreeWithManyRemovals() {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        ImmutableNode<Integer> root = new ImmutableNode<>(operations, 1);
+        ImmutableNode<Integer> currNode = root;
+
+        //Every node of the long path has a negative leaf, so all leaves are removed.
+        for (int i = 1; i < 50000; i++) {
+            currNode.getChildren().add(new ImmutableNode<>(operations, -1, new ArrayList<>(), currNode));
+
+            ImmutableNode<Integer> nextNode = new ImmutableNode<>(operations, 1, new ArrayList<>(), currNode);
+            currNode.getChildren().add(nextNode);
+            currNode = nextNode;
+        }
+
+        ImmutableTree<Integer> tree = new ImmutableTree<>(operations, root);
+
+        AbstractTree<Integer> maximizedTree = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> tree.maximize().calculateSizeAndSum());
+
+        assertEquals(maximizedTree.getSize(), 50000);
+        assertEquals(maximizedTree.getSum(), 50000);
+    }
+
+    @Test
+    void maximizeNegativeTree() {
+        ImmutableNode<Integer> root = new ImmutableNode<>(Operations.getIntegerOperations(), -1);
+        ImmutableTree<Integer> tree = new ImmutableTree<>(Operations.getIntegerOperations(), root);
+
+        AbstractTree<Integer> maximizedTree = tree.maximize().calculateSizeAndSum();
+
+        assertNull(maximizedTree.getRoot());
+        assertEquals(maximizedTree.getSize(), 0);
+    }
+
     @Test
     void testMaximize() {
         AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
@@ -3,6 +3,8 @@ package tree;
 import org.junit.jupiter.api.Test;
 import tree.operations.Operations;
 
+import java.util.Collection;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MutableNodeTest {
@@ -35,7 +37,7 @@ class MutableNodeTest {
 
         MutableNode<Integer> newChild = new MutableNode<>(operations, 34);
 
-        mutableNode.getChildren().add(newChild);
+        mutableNode.addChild(newChild);
 
         assertEquals(mutableNode.getChildren().toArray().length, 1);
         assertEquals(mutableNode.getChildren().toArray()[0], newChild);
@@ -130,4 +132,132 @@ class MutableNodeTest {
 
         assertEquals(mutableNode.getParent(), newParent);
     }
-}
\ No newline at end of file
+
+    @Test
+    void leafHasNoChildren() {
+        mutableNode = new MutableNode<>(operations, 3);
+
+        assertEquals(mutableNode.getChildren().size(), 0);
+        assertTrue(mutableNode.getChildren().isEmpty());
+        assertFalse(mutableNode.getChildren().iterator().hasNext());
+    }
+
+    @Test
+    void childrenOrder() {
+        mutableNode = new MutableNode<>(operations);
+
+        for (int i = 0; i < 5; i++) {
+            mutableNode.addChild(new MutableNode<>(operations, i));
+        }
+
+        int expectedValue = 0;
+        for (Node<Integer> child : mutableNode.getChildren()) {
+            assertEquals(child.getValue(), expectedValue++);
+            assertEquals(child.getParent(), mutableNode);
+            assertEquals(child.getHeight(), 1);
+        }
+
+        assertEquals(mutableNode.getChildren().size(), 5);
+    }
+
+    @Test
+    void removeMiddleFirstAndLastChildren() {
+        mutableNode = new MutableNode<>(operations);
+        MutableNode<Integer>[] children = createChildren(mutableNode, 5);
+
+        mutableNode.removeChild(children[2]);
+        assertArrayEquals(mutableNode.getChildren().toArray(),
+                new Object[] {children[0], children[1], children[3], children[4]});
+
+        mutableNode.removeChild(children[0]);
+        assertArrayEquals(mutableNode.getChildren().toArray(), new Object[] {children[1], children[3], children[4]});
+
+        mutableNode.removeChild(children[4]);
+        assertArrayEquals(mutableNode.getChildren().toArray(), new Object[] {children[1], children[3]});
+
+        mutableNode.removeChild(children[4]);
+        assertEquals(mutableNode.getChildren().size(), 2);
+        assertFalse(mutableNode.getChildren().contains(children[0]));
+        assertTrue(mutableNode.getChildren().contains(children[3]));
+        assertEquals(mutableNode.getChildren().size(), 2);
+
+        //The removed node still knows its parent, as before.
+        assertEquals(children[2].getParent(), mutableNode);
+    }
+
+    @Test
+    void removeChildren() {
+        mutableNode = new MutableNode<>(operations);
+        MutableNode<Integer>[] children = createChildren(mutableNode, 6);
+
+        mutableNode.removeChildren(child -> child.getValue() % 2 == 0);
+
+        assertArrayEquals(mutableNode.getChildren().toArray(), new Object[] {children[1], children[3], children[5]});
+
+        mutableNode.removeChildren(child -> true);
+
+        assertEquals(mutableNode.getChildren().size(), 0);
+        assertTrue(mutableNode.getChildren().isEmpty());
+    }
+
+    @Test
+    void readOnlyChildrenView() {
+        mutableNode = new MutableNode<>(operations);
+        MutableNode<Integer>[] children = createChildren(mutableNode, 2);
+        Collection<Node<Integer>> childrenView = mutableNode.getChildren();
+
+        assertThrows(UnsupportedOperationException.class, () -> childrenView.add(new MutableNode<>(operations)));
+        assertThrows(UnsupportedOperationException.class, () -> childrenView.remove(children[0]));
+        assertThrows(UnsupportedOperationException.class, () -> childrenView.removeIf(child -> true));
+        assertThrows(UnsupportedOperationException.class, childrenView::clear);
+
+        //The view is live.
+        mutableNode.addChild(new MutableNode<>(operations, 7));
+        assertEquals(childrenView.size(), 3);
+    }
+
+    @Test
+    void leavesShareEmptyChildren() {
+        MutableNode<Integer> firstLeaf = new MutableNode<>(operations, 1);
+        MutableNode<Integer> secondLeaf = new MutableNode<>(operations, 2);
+
+        assertSame(firstLeaf.getChildren(), secondLeaf.getChildren());
+        assertThrows(UnsupportedOperationException.class, () -> firstLeaf.getChildren().add(secondLeaf));
+    }
+
+    @Test
+    void reparentChild() {
+        mutableNode = new MutableNode<>(operations);
+        MutableNode<Integer>[] children = createChildren(mutableNode, 3);
+
+        MutableNode<Integer> newParent = new MutableNode<>(operations);
+        newParent.setHeight(5);
+        newParent.addChild(children[1]);
+
+        assertArrayEquals(mutableNode.getChildren().toArray(), new Object[] {children[0], children[2]});
+        assertArrayEquals(newParent.getChildren().toArray(), new Object[] {children[1]});
+        assertEquals(children[1].getParent(), newParent);
+        assertEquals(children[1].getHeight(), 6);
+
+        //setParent detaches the node from the old parent, the new parent gets it with addChild.
+        children[0].setParent(newParent);
+        assertArrayEquals(mutableNode.getChildren().toArray(), new Object[] {children[2]});
+
+        newParent.addChild(children[0]);
+        assertArrayEquals(newParent.getChildren().toArray(), new Object[] {children[1], children[0]});
+        assertEquals(newParent.getChildren().size(), 2);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private MutableNode<Integer>[] createChildren(MutableNode<Integer> parent, int count) {
+        MutableNode<Integer>[] children = new MutableNode[count];
+
+        for (int i = 0; i < count; i++) {
+            children[i] = new MutableNode<>(operations, i);
+            parent.addChild(children[i]);
+        }
+
+        return children;
+    }
+}
@@ -2,9 +2,19 @@ package tree;
 
 import org.junit.jupiter.api.Test;
 
+import tree.columnar.LongColumnarTree;
 import tree.generators.*;
+import tree.operations.DoubleOperations;
+import tree.operations.IntOperations;
 import tree.operations.Operations;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -58,6 +68,268 @@ class MutableTreeTest {
         assertEquals(tree.getSum(), 10);
     }
 
+    private static MutableTree<Integer> copyTree(MutableTree<Integer> tree) {
+        Operations<Integer> operations = tree.getOperationsObject();
+        MutableNode<Integer> newRoot = new MutableNode<>(operations, tree.getRoot().getValue());
+
+        Queue<Node<Integer>> pendingNodes = new ArrayDeque<>();
+        Queue<MutableNode<Integer>> pendingCopies = new ArrayDeque<>();
+        pendingNodes.add(tree.getRoot());
+        pendingCopies.add(newRoot);
+
+        while (pendingNodes.size() > 0) {
+            Node<Integer> currNode = pendingNodes.poll();
+            MutableNode<Integer> currCopy = pendingCopies.poll();
+
+            for (Node<Integer> child : currNode.getChildren()) {
+                MutableNode<Integer> childCopy = new MutableNode<>(operations, child.getValue());
+                childCopy.setParent(currCopy);
+                currCopy.addChild(childCopy);
+
+                pendingNodes.add(child);
+                pendingCopies.add(childCopy);
+            }
+        }
+
+        return new MutableTree<>(operations, newRoot);
+    }
+
+    @Test
+    void maximizeAsGreedy() {
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> expectedTree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            MutableTree<Integer> actualTree = copyTree(expectedTree);
+
+            expectedTree.maximizeGreedy();
+            expectedTree.calculateSizeAndSum();
+            actualTree.maximize();
+            actualTree.calculateSizeAndSum();
+
+            assertEquals(expectedTree.getSum(), actualTree.getSum());
+            assertEquals(expectedTree.getSize(), actualTree.getSize());
+        }
+    }
+
+    @Test
+    void maximizeWithPrimitiveOperations() {
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> tree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            MutableTree<Integer> intTree = LongColumnarTree.fromTree(tree).toMutableTree(new IntOperations(),
+                    value -> (int)value);
+            MutableTree<Integer> intKTree = LongColumnarTree.fromTree(tree).toMutableTree(new IntOperations(),
+                    value -> (int)value);
+            MutableTree<Integer> kTree = copyTree(tree);
+
+            intTree.calculateSubtreesWeights();
+            tree.calculateSubtreesWeights();
+            assertEquals(intTree.getRoot().getSubtreeWeight(), tree.getRoot().getSubtreeWeight());
+
+            tree.maximize();
+            intTree.maximize();
+            kTree.maximize(3);
+            intKTree.maximize(3);
+
+            assertEquals(intTree.getSum(), tree.getSum());
+            assertEquals(intTree.getSize(), tree.getSize());
+            assertEquals(intKTree.getSum(), kTree.getSum());
+            assertEquals(intKTree.getSize(), kTree.getSize());
+        }
+    }
+
+    @Test
+    void maximizeNegativeTree() {
+        MutableTree<Integer> tree = new MutableTree<>(operations, new MutableNode<>(operations, -1));
+
+        tree.maximize();
+        tree.calculateSizeAndSum();
+
+        assertNull(tree.getRoot());
+        assertEquals(tree.getSize(), 0);
+    }
+
+    @Test
+    void calculateSubtreesWeightsTwice() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+
+        tree.calculateSubtreesWeights();
+        tree.calculateSubtreesWeights();
+
+        assertEquals(tree.getRoot().getSubtreeWeight(), -30);
+        assertEquals(tree.getRoot().getChildren().iterator().next().getSubtreeWeight(), 4);
+    }
+
+    @Test
+    void overflowedWeightsOfPrimitiveOperations() {
+        IntOperations intOperations = new IntOperations();
+        MutableTree<Integer> tree = new MutableTree<>(operations, buildOverflowedChain(operations));
+        MutableTree<Integer> intTree = new MutableTree<>(intOperations, buildOverflowedChain(intOperations));
+
+        tree.calculateSubtreesWeights();
+        intTree.calculateSubtreesWeights();
+
+        Node<Integer> currNode = tree.getRoot();
+        Node<Integer> currIntNode = intTree.getRoot();
+
+        while (currNode != null) {
+            assertEquals(currIntNode.getSubtreeWeight(), currNode.getSubtreeWeight());
+
+            currNode = currNode.getChildren().isEmpty() ? null : currNode.getChildren().iterator().next();
+            currIntNode = currIntNode.getChildren().isEmpty() ? null : currIntNode.getChildren().iterator().next();
+        }
+
+        assertEquals(intTree.getRoot().getSubtreeWeight(), Integer.MAX_VALUE * 3 + 1);
+    }
+
+    private static MutableNode<Integer> buildOverflowedChain(Operations<Integer> operations) {
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        MutableNode<Integer> currNode = root;
+
+        for (int i = 0; i < 3; i++) {
+            MutableNode<Integer> child = new MutableNode<>(operations, Integer.MAX_VALUE);
+            currNode.addChild(child);
+            currNode = child;
+        }
+
+        return root;
+    }
+
+    @Test
+    void subtreeWeight() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        tree.calculateSubtreesWeights();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            assertEquals(tree.subtreeWeight(node), node.getSubtreeWeight());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tree.subtreeWeight(new MutableNode<>(operations, 1)));
+    }
+
+    @Test
+    void updateValue() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        tree.calculateSizeAndSum();
+
+        Node<Integer> root = tree.getRoot();
+        Node<Integer> leftChild = (Node<Integer>)root.getChildren().toArray()[0];
+        Node<Integer> rightChild = (Node<Integer>)root.getChildren().toArray()[1];
+        Node<Integer> leaf = (Node<Integer>)leftChild.getChildren().toArray()[0];
+
+        tree.updateValue(leaf, 10);
+
+        assertEquals(leaf.getValue(), 10);
+        assertEquals(tree.subtreeWeight(leaf), 14);
+        assertEquals(tree.subtreeWeight(leftChild), 12);
+        assertEquals(tree.subtreeWeight(rightChild), -35);
+        assertEquals(tree.subtreeWeight(root), -22);
+        assertEquals(tree.getSum(), -22);
+
+        tree.updateValue(root, 0);
+        assertEquals(tree.subtreeWeight(root), -23);
+
+        tree.removeSubtree(rightChild);
+        assertEquals(tree.subtreeWeight(root), 12);
+        assertThrows(IllegalArgumentException.class, () -> tree.updateValue(rightChild, 1));
+    }
+
+    @Test
+    void calculateSubtreesWeightsInParallel() {
+        Operations<Double> doubleOperations = new DoubleOperations();
+        TreeGenerator<Integer> integerGenerator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(operations, -10, 10), 100000));
+        TreeGenerator<Double> doubleGenerator = new TreeGenerator<>(doubleOperations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(doubleOperations, -1.0, 1.0), 100000));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertParallelWeightsAreEqual((MutableTree<Integer>)integerGenerator.generateRandomMutableTree(7).getTree(),
+                    pool);
+            assertParallelWeightsAreEqual((MutableTree<Double>)doubleGenerator.generateRandomMutableTree(7).getTree(),
+                    pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void calculateSubtreesWeightsOfDeepTreeInParallel() {
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        MutableNode<Integer> currNode = root;
+
+        for (int i = 1; i < 200000; i++) {
+            MutableNode<Integer> child = new MutableNode<>(operations, 1);
+            currNode.addChild(child);
+            currNode = child;
+        }
+
+        MutableTree<Integer> tree = new MutableTree<>(operations, root);
+        tree.setParallelPool(ForkJoinPool.commonPool());
+        tree.calculateSubtreesWeights();
+
+        assertEquals(root.getSubtreeWeight(), 200000);
+        assertEquals(currNode.getSubtreeWeight(), 1);
+    }
+
+    private static <T extends Number> void assertParallelWeightsAreEqual(MutableTree<T> tree, ForkJoinPool pool) {
+        List<Node<T>> nodes = tree.getNodesCollection();
+        List<T> expectedWeights = new ArrayList<>();
+
+        tree.calculateSubtreesWeights();
+        for (Node<T> node : nodes) {
+            expectedWeights.add(node.getSubtreeWeight());
+            ((MutableNode<T>)node).setSubtreeWeight(null);
+        }
+
+        tree.setParallelPool(pool);
+        tree.calculateSubtreesWeights();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals(nodes.get(i).getSubtreeWeight(), expectedWeights.get(i));
+        }
+    }
+
+    @Test
+    void updateValueOfRandomTrees() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20; i++) {
+            MutableTree<Integer> tree = (MutableTree<Integer>)treeGenerator.generateRandomMutableTree().getTree();
+            List<Node<Integer>> nodes = tree.getNodesCollection();
+
+            for (int j = 0; j < 50; j++) {
+                tree.updateValue(nodes.get(random.nextInt(nodes.size())), random.nextInt(21) - 10);
+            }
+
+            tree.calculateSubtreesWeights();
+
+            for (Node<Integer> node : nodes) {
+                assertEquals(tree.subtreeWeight(node), node.getSubtreeWeight());
+            }
+        }
+    }
+
+    @Test
+    void maximizeDeepTree() {
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        MutableNode<Integer> currNode = root;
+
+        for (int i = 0; i < 100000; i++) {
+            MutableNode<Integer> child = new MutableNode<>(operations, i % 2 == 0 ? 1 : -3);
+            child.setParent(currNode);
+            currNode.addChild(child);
+            currNode = child;
+        }
+
+        MutableTree<Integer> tree = new MutableTree<>(operations, root);
+        tree.maximize();
+        tree.calculateSizeAndSum();
+
+        assertEquals(tree.getSize(), 2);
+        assertEquals(tree.getSum(), 2);
+    }
+
     @Test
     void MishasTest() {
         MutableNode<Integer> root = new MutableNode<>(operations, 1);
@@ -0,0 +1,64 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegativeSubtreeIndexTest {
+    private final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    @Test
+    void findsSameNodesAsScan() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(8, 4, new Interval<>(operations, -10, 10), 2000));
+
+        for (int seed = 0; seed < 20; seed++) {
+            MutableTree<Integer> tree = (MutableTree<Integer>)generator.generateRandomMutableTree(seed).getTree();
+            tree.calculateSubtreesWeights();
+
+            NegativeSubtreeIndex<Integer> index = new NegativeSubtreeIndex<>(tree);
+            Node<Integer> deepestNode = index.findDeepestNegativeSubtree();
+            int removalsCount = 0;
+
+            while (deepestNode != null && deepestNode.getSubtreeWeight() < 0) {
+                assertSame(deepestNode, tree.findDeepestNegativeSubtree());
+
+                index.removeSubtree(deepestNode);
+                removalsCount++;
+                deepestNode = index.findDeepestNegativeSubtree();
+            }
+
+            assertSame(deepestNode, tree.findDeepestNegativeSubtree());
+            assertTrue(removalsCount > 0);
+        }
+    }
+
+    @Test
+    void removeRoot() {
+        MutableNode<Integer> root = new MutableNode<>(operations, -5);
+        root.addChild(new MutableNode<>(operations, 2));
+        MutableTree<Integer> tree = new MutableTree<>(operations, root);
+        tree.calculateSubtreesWeights();
+
+        NegativeSubtreeIndex<Integer> index = new NegativeSubtreeIndex<>(tree);
+
+        assertSame(index.findDeepestNegativeSubtree(), root);
+
+        index.removeSubtree(root);
+
+        assertNull(index.findDeepestNegativeSubtree());
+        assertNull(tree.getRoot());
+    }
+
+    @Test
+    void emptyTree() {
+        MutableTree<Integer> tree = new MutableTree<>(operations);
+
+        assertNull(new NegativeSubtreeIndex<>(tree).findDeepestNegativeSubtree());
+    }
+}
@@ -0,0 +1,76 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeIdsTest {
+
+    @Test
+    void mutableNodesKeepIds() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        NodeIds<Integer> nodeIds = tree.getNodeIds();
+        List<Node<Integer>> nodes = tree.getNodesCollection();
+
+        assertEquals(nodeIds.getSize(), nodes.size());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals(nodes.get(i).getId(), i);
+            assertEquals(nodeIds.getId(nodes.get(i)), i);
+            assertSame(nodeIds.getNode(i), nodes.get(i));
+        }
+    }
+
+    @Test
+    void immutableNodes() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        NodeIds<Integer> nodeIds = tree.getNodeIds();
+        List<Node<Integer>> nodes = tree.getNodesCollection();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals(nodes.get(i).getId(), -1);
+            assertEquals(nodeIds.getId(nodes.get(i)), i);
+        }
+
+        assertFalse(nodeIds.contains(TreeGenerator.getIntegerImmutableTree().getRoot()));
+    }
+
+    @Test
+    void idsOfAnotherNodeIds() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        List<Node<Integer>> nodes = tree.getNodesCollection();
+        NodeIds<Integer> nodeIds = tree.getNodeIds();
+
+        //The new NodeIds does not change the kept ids, so it must find its own ids in its map.
+        Collections.reverse(nodes);
+        NodeIds<Integer> reversedNodeIds = new NodeIds<>(nodes);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            assertEquals(reversedNodeIds.getId(nodes.get(i)), i);
+            assertEquals(nodeIds.getId(nodes.get(i)), nodes.size() - 1 - i);
+            assertEquals(nodes.get(i).getId(), nodes.size() - 1 - i);
+        }
+
+        assertFalse(nodeIds.contains(TreeGenerator.getIntegerMutableTree().getRoot()));
+    }
+
+    @Test
+    void subtreeIndexKeepsIds() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        NodeIds<Integer> nodeIds = tree.getNodeIds();
+        Node<Integer> subtreeRoot = nodeIds.getNode(2);
+
+        TreeIndex<Integer> subtreeIndex = new TreeIndex<>(subtreeRoot);
+
+        assertTrue(subtreeIndex.isAncestor(subtreeRoot, nodeIds.getNode(6)));
+        assertEquals(subtreeRoot.getId(), 2);
+
+        for (int i = 0; i < nodeIds.getSize(); i++) {
+            assertEquals(nodeIds.getNode(i).getId(), i);
+        }
+    }
+}
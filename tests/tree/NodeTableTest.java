@@ -0,0 +1,54 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeTableTest {
+
+    @Test
+    void putAndGet() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        NodeTable<Integer, String> table = new NodeTable<>(tree.getNodeIds());
+        List<Node<Integer>> nodes = tree.getNodesCollection();
+
+        for (Node<Integer> node : nodes) {
+            table.put(node, String.valueOf(node.getValue()));
+        }
+
+        for (Node<Integer> node : nodes) {
+            assertEquals(table.get(node), String.valueOf(node.getValue()));
+        }
+
+        assertEquals(table.remove(tree.getRoot()), String.valueOf(tree.getRoot().getValue()));
+        assertNull(table.get(tree.getRoot()));
+
+        Node<Integer> otherNode = TreeGenerator.getIntegerMutableTree().getRoot();
+        assertNull(table.get(otherNode));
+        assertThrows(IllegalArgumentException.class, () -> table.put(otherNode, ""));
+    }
+
+    @Test
+    void intTable() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        IntNodeTable<Integer> table = new IntNodeTable<>(tree.getNodeIds(), -1);
+        List<Node<Integer>> nodes = tree.getNodesCollection();
+
+        assertEquals(table.get(tree.getRoot()), -1);
+
+        for (Node<Integer> node : nodes) {
+            table.set(node, node.getHeight());
+        }
+
+        for (Node<Integer> node : nodes) {
+            assertEquals(table.get(node), node.getHeight());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.get(TreeGenerator.getIntegerImmutableTree().getRoot()));
+        assertThrows(IllegalArgumentException.class, () -> new IntNodeTable<>(null, 0));
+    }
+}
@@ -0,0 +1,109 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemovalPlanTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    private static Node<Integer> getChild(Node<Integer> node, int index) {
+        return (Node<Integer>)node.getChildren().toArray()[index];
+    }
+
+
+    @Test
+    void apply() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        Node<Integer> root = tree.getRoot();
+        Node<Integer> leftChild = getChild(root, 0);
+        Node<Integer> rightChild = getChild(root, 1);
+        Node<Integer> coveredNode = getChild(rightChild, 0);
+        Node<Integer> leaf = getChild(leftChild, 2);
+
+        List<Node<Integer>> removedRoots = new RemovalPlan<>(tree,
+                List.of(coveredNode, rightChild, leaf, new MutableNode<>(operations, 5))).apply();
+
+        assertEquals(removedRoots, List.of(leaf, rightChild));
+        assertEquals(root.getChildren().size(), 1);
+        assertEquals(leftChild.getChildren().size(), 2);
+        assertEquals(tree.getSize(), 6);
+        assertEquals(tree.getSum(), 10);
+        assertEquals(root.getSubtreeWeight(), 10);
+        assertEquals(leftChild.getSubtreeWeight(), 9);
+    }
+
+    @Test
+    void applyToRoot() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        Node<Integer> root = tree.getRoot();
+
+        List<Node<Integer>> removedRoots = new RemovalPlan<>(tree, List.of(getChild(root, 0), root)).apply();
+
+        assertEquals(removedRoots, List.of(root));
+        assertNull(tree.getRoot());
+        assertEquals(tree.getSize(), 0);
+        assertEquals(tree.getSum(), 0);
+    }
+
+    @Test
+    void applyEmptyPlan() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+
+        assertTrue(new RemovalPlan<>(tree, new ArrayList<>()).apply().isEmpty());
+        assertEquals(tree.getSize(), 12);
+        assertEquals(tree.getSum(), -30);
+        assertEquals(tree.getRoot().getSubtreeWeight(), -30);
+
+        assertThrows(IllegalArgumentException.class, () -> new RemovalPlan<>(null, new ArrayList<Node<Integer>>()));
+    }
+
+    @Test
+    void applyAsRemoveSubtree() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(6, 5, new Interval<>(operations, -10, 10), 300));
+        Random random = new Random(42);
+
+        for (int seed = 0; seed < 20; seed++) {
+            MutableTree<Integer> expectedTree = (MutableTree<Integer>)generator.generateRandomMutableTree(seed).getTree();
+            MutableTree<Integer> actualTree = (MutableTree<Integer>)generator.generateRandomMutableTree(seed).getTree();
+            List<Node<Integer>> expectedNodes = expectedTree.getNodesCollection();
+            List<Node<Integer>> actualNodes = actualTree.getNodesCollection();
+            List<Node<Integer>> plannedNodes = new ArrayList<>();
+
+            expectedTree.calculateSubtreesWeights();
+
+            //Removing the nodes from the leaves to the root, so every removed node is still in the tree.
+            for (int i = expectedNodes.size() - 1; i > 0; i--) {
+                if (random.nextInt(10) == 0) {
+                    expectedTree.removeSubtree(expectedNodes.get(i));
+                    plannedNodes.add(actualNodes.get(i));
+                }
+            }
+
+            new RemovalPlan<>(actualTree, plannedNodes).apply();
+            expectedTree.calculateSizeAndSum();
+
+            assertEquals(actualTree.getSize(), expectedTree.getSize());
+            assertEquals(actualTree.getSum(), expectedTree.getSum());
+
+            expectedNodes = expectedTree.getNodesCollection();
+            actualNodes = actualTree.getNodesCollection();
+            assertEquals(actualNodes.size(), expectedNodes.size());
+
+            for (int i = 0; i < expectedNodes.size(); i++) {
+                assertEquals(actualNodes.get(i).getSubtreeWeight(), expectedNodes.get(i).getSubtreeWeight());
+                assertEquals(actualNodes.get(i).getChildren().size(), expectedNodes.get(i).getChildren().size());
+            }
+        }
+    }
+}
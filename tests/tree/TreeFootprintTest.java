@@ -0,0 +1,76 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
+import tree.operations.Operations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeFootprintTest {
+    private Operations<Integer> operations = Operations.getIntegerOperations();
+
+    @Test
+    void emptyTree() {
+        TreeFootprint footprint = new MutableTree<>(operations).estimateFootprint();
+
+        assertEquals(footprint.getNodesCount(), 0);
+        assertEquals(footprint.getTotalBytes(), 0);
+        assertEquals(footprint.getBytesPerNode(), 0.0);
+    }
+
+    @Test
+    void mutableTree() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        TreeFootprint footprint = tree.estimateFootprint();
+
+        assertEquals(footprint.getNodesCount(), 12);
+        assertEquals(footprint.getNodeBytes(), 12 * 56);
+        assertEquals(footprint.getChildrenBytes(), 0);
+
+        //All small values and weights are cached by the JVM.
+        assertEquals(footprint.getValueBytes(), 0);
+        assertEquals(footprint.getWeightBytes(), 0);
+    }
+
+    @Test
+    void immutableTree() {
+        ImmutableTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeFootprint footprint = tree.estimateFootprint();
+
+        //6 nodes with children have ArrayLists of the default capacity, 6 leaves have empty ArrayLists. Every node
+        //has a view of its children.
+        assertEquals(footprint.getNodesCount(), 12);
+        assertEquals(footprint.getNodeBytes(), 12 * 48);
+        assertEquals(footprint.getChildrenBytes(), 12 * 24 + 5 * 56 + 12 * 16);
+    }
+
+    @Test
+    void compactTree() {
+        CompactTree<Integer> tree = new CompactTree<>(operations, TreeGenerator.getIntegerMutableTree());
+        TreeFootprint footprint = tree.estimateFootprint();
+
+        //Only the nodes with several children have arrays: 4 nodes with 2 children and 1 node with 3 children.
+        assertEquals(footprint.getNodesCount(), 12);
+        assertEquals(footprint.getNodeBytes(), 12 * 32);
+        assertEquals(footprint.getChildrenBytes(), 4 * 24 + 32);
+        assertTrue(footprint.getTotalBytes() < TreeGenerator.getIntegerImmutableTree().estimateFootprint().getTotalBytes());
+    }
+
+    @Test
+    void boxedValuesAndWeights() {
+        MutableNode<Integer> root = new MutableNode<>(operations, 1000);
+        MutableNode<Integer> child = new MutableNode<>(operations, 2000);
+        root.addChild(child);
+
+        MutableTree<Integer> tree = new MutableTree<>(operations, root);
+        CompactTree<Integer> compactTree = new CompactTree<>(operations, tree);
+
+        //The weights of the mutable nodes are zeros (cached) until they are calculated.
+        assertEquals(tree.estimateFootprint().getValueBytes(), 2 * 16);
+        assertEquals(tree.estimateFootprint().getWeightBytes(), 0);
+
+        //The weight of the compact leaf is its value, so only the weight of the root is boxed.
+        assertEquals(compactTree.estimateFootprint().getValueBytes(), 2 * 16);
+        assertEquals(compactTree.estimateFootprint().getWeightBytes(), 16);
+    }
+}
@@ -0,0 +1,46 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
+import tree.operations.Operations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeIndexTest {
+
+    @Test
+    void isAncestor() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        TreeIndex<Integer> index = tree.getTreeIndex();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            for (Node<Integer> otherNode : tree.getNodesCollection()) {
+                assertEquals(index.isAncestor(otherNode, node), node.getAllParents().contains(otherNode));
+            }
+        }
+    }
+
+    @Test
+    void getEntryAndExitTime() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeIndex<Integer> index = tree.getTreeIndex();
+
+        assertEquals(index.getSize(), 12);
+        assertEquals(index.getEntryTime(tree.getRoot()), 0);
+        assertEquals(index.getExitTime(tree.getRoot()), 11);
+        assertEquals(index.getNode(0), tree.getRoot());
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            assertTrue(index.contains(node));
+            assertEquals(index.getNode(index.getEntryTime(node)), node);
+        }
+    }
+
+    @Test
+    void emptyTree() {
+        TreeIndex<Integer> index = new ImmutableTree<>(Operations.getIntegerOperations()).getTreeIndex();
+
+        assertEquals(index.getSize(), 0);
+        assertFalse(index.contains(new ImmutableNode<>(Operations.getIntegerOperations())));
+    }
+}
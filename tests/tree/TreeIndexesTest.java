@@ -0,0 +1,89 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import tree.generators.TreeGenerator;
+import tree.maximizer.TreeKMaximizer;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeIndexesTest {
+
+    @Test
+    void indexesAreShared() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeIndexes<Integer> indexes = tree.getIndexes();
+
+        assertSame(tree.getIndexes(), indexes);
+        assertSame(indexes.getNodes(), indexes.getNodes());
+        assertSame(tree.getNodeIds(), indexes.getNodeIds());
+        assertSame(tree.getTreeIndex(), indexes.getTreeIndex());
+        assertEquals(indexes.getNodes(), tree.getNodesCollection());
+    }
+
+    @Test
+    void indexesAreBuiltAgainAfterChange() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        TreeIndexes<Integer> indexes = tree.getIndexes();
+        List<Node<Integer>> nodes = indexes.getNodes();
+        TreeIndex<Integer> treeIndex = indexes.getTreeIndex();
+        int version = tree.getVersion();
+
+        Node<Integer> removedNode = nodes.get(2);
+        tree.removeSubtree(removedNode);
+
+        assertNotEquals(tree.getVersion(), version);
+        assertNotSame(indexes.getNodes(), nodes);
+        assertNotSame(indexes.getTreeIndex(), treeIndex);
+        assertEquals(indexes.getNodes(), tree.getNodesCollection());
+        assertFalse(indexes.getNodeIds().contains(removedNode));
+        assertFalse(tree.getTreeIndex().contains(removedNode));
+    }
+
+    @Test
+    void markModified() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        Node<Integer> root = tree.getRoot();
+        List<Node<Integer>> nodes = tree.getIndexes().getNodes();
+
+        MutableNode<Integer> newNode = new MutableNode<>(Operations.getIntegerOperations(), 7);
+        ((MutableNode<Integer>)root).addChild(newNode);
+
+        assertSame(tree.getIndexes().getNodes(), nodes);
+
+        tree.markModified();
+
+        assertEquals(tree.getIndexes().getNodes().size(), nodes.size() + 1);
+        assertEquals(tree.getIndexes().getDepth(newNode), 1);
+    }
+
+    @Test
+    void getDepth() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeIndexes<Integer> indexes = tree.getIndexes();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            assertEquals(indexes.getDepth(node), node.getHeight());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> indexes.getDepth(TreeGenerator.getIntegerImmutableTree().getRoot()));
+    }
+
+    @Test
+    void maximizerIsNotStale() {
+        MutableTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        TreeKMaximizer<Integer> maximizer = new TreeKMaximizer<>(tree);
+        tree.calculateSubtreesWeights();
+
+        List<Node<Integer>> firstAnswer = new ArrayList<>(maximizer.maximize(1));
+        tree.removeSubtree(firstAnswer.get(0));
+
+        for (Node<Integer> node : maximizer.maximize(2)) {
+            assertTrue(tree.getNodeIds().contains(node));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package tree.columnar;
+
+import org.junit.jupiter.api.Test;
+import tree.MutableTree;
+import tree.generators.TreeGenerator;
+import tree.operations.Operations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleColumnarTreeTest {
+
+    @Test
+    void fromAndToTree() {
+        DoubleColumnarTree tree = DoubleColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree());
+        MutableTree<Integer> mutableTree = tree.toMutableTree(Operations.getIntegerOperations(), value -> (int)value);
+        mutableTree.calculateSizeAndSum();
+
+        assertEquals(tree.getSize(), 12);
+        assertEquals(mutableTree.getSum(), -30);
+    }
+
+    @Test
+    void calculateSubtreesWeights() {
+        DoubleColumnarTree tree = DoubleColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree())
+                .calculateSizeAndSum().calculateSubtreesWeights();
+
+        assertEquals(tree.getSum(), -30.0);
+        assertEquals(tree.getSubtreeWeight(0), -30.0);
+    }
+
+    @Test
+    void maximize() {
+        DoubleColumnarTree tree = DoubleColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree());
+
+        assertEquals(tree.maximize().getSum(), 10.0);
+        assertEquals(tree.maximize(1).getSum(), 5.0);
+        assertEquals(tree.maximize(2).getSum(), 10.0);
+    }
+}
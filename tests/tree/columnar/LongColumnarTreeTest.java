@@ -0,0 +1,105 @@
+package tree.columnar;
+
+import org.junit.jupiter.api.Test;
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongColumnarTreeTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    @Test
+    void fromTree() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree());
+
+        assertEquals(tree.getSize(), 12);
+        assertEquals(tree.getValue(0), 1);
+        assertEquals(tree.getParent(0), ColumnarTree.NONE);
+        assertEquals(tree.getValue(tree.getFirstChild(0)), 2);
+        assertEquals(tree.getValue(tree.getNextSibling(tree.getFirstChild(0))), -4);
+    }
+
+    @Test
+    void fromEmptyTree() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(new ImmutableTree<>(operations));
+
+        assertEquals(tree.getSize(), 0);
+        assertNull(tree.toMutableTree(operations, value -> (int)value).getRoot());
+    }
+
+    @Test
+    void toMutableAndImmutableTree() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerImmutableTree());
+
+        MutableTree<Integer> mutableTree = tree.toMutableTree(operations, value -> (int)value);
+        mutableTree.calculateSizeAndSum();
+        ImmutableTree<Integer> immutableTree = tree.toImmutableTree(operations, value -> (int)value);
+        immutableTree.calculateSizeAndSum();
+
+        assertEquals(mutableTree.getSize(), 12);
+        assertEquals(mutableTree.getSum(), -30);
+        assertEquals(immutableTree.getSize(), 12);
+        assertEquals(immutableTree.getSum(), -30);
+        assertEquals(immutableTree.getRoot().getSubtreeWeight(), -30);
+    }
+
+    @Test
+    void calculateSizeAndSum() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree()).calculateSizeAndSum();
+
+        assertEquals(tree.getSum(), -30);
+    }
+
+    @Test
+    void calculateSubtreesWeights() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree())
+                .calculateSubtreesWeights();
+
+        assertEquals(tree.getSubtreeWeight(0), -30);
+        assertEquals(tree.getSubtreeWeight(tree.getFirstChild(0)), 4);
+        assertEquals(tree.getSubtreeWeight(tree.getNextSibling(tree.getFirstChild(0))), -35);
+    }
+
+    @Test
+    void maximize() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree()).maximize();
+
+        assertEquals(tree.getSum(), 10);
+        assertEquals(tree.getSize(), 6);
+    }
+
+    @Test
+    void maximizeWithLimit() {
+        LongColumnarTree tree = LongColumnarTree.fromTree(TreeGenerator.getIntegerMutableTree());
+
+        assertEquals(tree.maximize(1).getSum(), 5);
+        assertEquals(tree.maximize(2).getSum(), 10);
+        assertEquals(tree.findNodesToRemove(0).length, 0);
+    }
+
+    @Test
+    void maximizeAsTrees() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(6, 5, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 20; i++) {
+            LongColumnarTree columnarTree = LongColumnarTree.fromTree(generator.generateRandomMutableTree().getTree());
+
+            for (int k = 1; k <= 4; k++) {
+                MutableTree<Integer> tree = columnarTree.toMutableTree(operations, value -> (int)value);
+                tree.maximize(k);
+
+                assertEquals(columnarTree.maximize(k).getSum(), (long)tree.getSum());
+                assertEquals(columnarTree.maximize(k).getSize(), tree.getSize());
+            }
+
+            assertEquals(columnarTree.maximize().getSum(), columnarTree.maximize(columnarTree.getSize()).getSum());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package tree.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelPostOrderTest {
+
+    /**
+     * Runs the post-order and checks that every node is processed once, after all its children.
+     */
+    private static void assertPostOrder(int[] parents, ForkJoinPool pool, int sequentialThreshold) {
+        AtomicIntegerArray processedChildren = new AtomicIntegerArray(parents.length);
+        AtomicIntegerArray visits = new AtomicIntegerArray(parents.length);
+        int[] childrenCounts = new int[parents.length];
+
+        for (int i = 1; i < parents.length; i++) {
+            childrenCounts[parents[i]]++;
+        }
+
+        new ParallelPostOrder(parents, sequentialThreshold).forEach(node -> {
+            assertEquals(processedChildren.get(node), childrenCounts[node]);
+            visits.incrementAndGet(node);
+
+            if (parents[node] != ColumnarTree.NONE) {
+                processedChildren.incrementAndGet(parents[node]);
+            }
+        }, pool);
+
+        for (int i = 0; i < parents.length; i++) {
+            assertEquals(visits.get(i), 1);
+        }
+    }
+
+    private static int[] createRandomParents(int size, SplittableRandom random) {
+        int[] parents = new int[size];
+        parents[0] = ColumnarTree.NONE;
+
+        for (int i = 1; i < size; i++) {
+            parents[i] = random.nextInt(Math.max(0, i - 50), i);
+        }
+
+        return parents;
+    }
+
+
+    @Test
+    void forEach() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 20; i++) {
+            int[] parents = createRandomParents(1 + random.nextInt(2000), random);
+
+            assertPostOrder(parents, pool, 1 + random.nextInt(64));
+            assertPostOrder(parents, null, 1);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    void forEachChain() {
+        int[] parents = new int[5000];
+        parents[0] = ColumnarTree.NONE;
+
+        for (int i = 1; i < parents.length; i++) {
+            parents[i] = i - 1;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        assertPostOrder(parents, pool, 8);
+        pool.shutdown();
+    }
+
+    @Test
+    void forEachEmptyTree() {
+        new ParallelPostOrder(new int[0], 1).forEach(node -> fail(), ForkJoinPool.commonPool());
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPostOrder(new int[] { ColumnarTree.NONE }, 0));
+    }
+}
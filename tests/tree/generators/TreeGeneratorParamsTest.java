@@ -29,4 +29,28 @@ class TreeGeneratorParamsTest {
         TreeGeneratorParams<Integer> params = new TreeGeneratorParams<>(height, maxChildrenCount, interval);
         assertEquals(params.getValuesInterval(), interval);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getNodesCount() {
+        TreeGeneratorParams<Integer> params = new TreeGeneratorParams<>(height, maxChildrenCount, interval, 100);
+        assertEquals(params.getNodesCount(), 100);
+        assertTrue(params.hasNodesCount());
+
+        params = new TreeGeneratorParams<>(height, maxChildrenCount, interval);
+        assertFalse(params.hasNodesCount());
+    }
+
+    @Test
+    void getMaxNodesCount() {
+        assertEquals(new TreeGeneratorParams<>(3, 3, interval).getMaxNodesCount(), 7);
+        assertEquals(new TreeGeneratorParams<>(5, 2, interval).getMaxNodesCount(), 5);
+        assertEquals(new TreeGeneratorParams<>(5, 1, interval).getMaxNodesCount(), 1);
+        assertEquals(new TreeGeneratorParams<>(100, 3, interval).getMaxNodesCount(), Integer.MAX_VALUE);
+    }
+
+    @Test
+    void nodesCountDoesNotFit() {
+        assertThrows(IllegalArgumentException.class, () -> new TreeGeneratorParams<>(3, 3, interval, 8));
+        assertThrows(IllegalArgumentException.class, () -> new TreeGeneratorParams<>(3, 3, interval, -1));
+    }
+}
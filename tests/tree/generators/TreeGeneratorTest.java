@@ -6,9 +6,13 @@ import org.junit.jupiter.api.TestInstance;
 import tree.AbstractTree;
 import tree.ImmutableTree;
 import tree.MutableTree;
+import tree.Node;
 import tree.operations.Operations;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +29,22 @@ class TreeGeneratorTest {
         generator = new TreeGenerator<>(operations, params);
     }
 
+
+    /**
+     * Writes the values and the numbers of children of all nodes in the BFS order.
+     */
+    private static List<Integer> describeTree(AbstractTree<Integer> tree) {
+        List<Integer> description = new ArrayList<>();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            description.add(node.getValue());
+            description.add(node.getChildren().size());
+        }
+
+        return description;
+    }
+
+
     @Test
     void generateRandomImmutableTree() {
         TreeCreationResults<Integer> results = generator.generateRandomImmutableTree();
@@ -37,6 +57,13 @@ class TreeGeneratorTest {
         assertTrue(tree instanceof ImmutableTree);
     }
 
+    @Test
+    void generateRandomImmutableTreeWithWeights() {
+        TreeCreationResults<Integer> results = generator.generateRandomImmutableTree(true);
+
+        assertEquals(results.getRoot().getSubtreeWeight(), results.getSum());
+    }
+
     @Test
     void generateRandomMutableTree() {
         TreeCreationResults<Integer> results = generator.generateRandomMutableTree();
@@ -66,4 +93,73 @@ class TreeGeneratorTest {
         assertEquals(tree.getSize(), 12);
         assertEquals(tree.getSum(), -30);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateRandomTreeWithNodesCount() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 4, valuesInterval, 50000));
+
+        TreeCreationResults<Integer> results = generator.generateRandomMutableTree();
+        AbstractTree<Integer> tree = results.getTree();
+        tree.calculateSizeAndSum();
+
+        assertEquals(results.getSize(), 50000);
+        assertEquals(tree.getSize(), 50000);
+        assertEquals(tree.getSum(), results.getSum());
+        assertTrue(tree instanceof MutableTree);
+
+        results = generator.generateRandomImmutableTree(true);
+        tree = results.getTree();
+        tree.calculateSizeAndSum();
+
+        assertEquals(tree.getSize(), 50000);
+        assertEquals(tree.getSum(), results.getSum());
+        assertEquals(results.getRoot().getSubtreeWeight(), results.getSum());
+        assertTrue(tree instanceof ImmutableTree);
+    }
+
+    @Test
+    void generateDeepTreeWithNodesCount() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(100000, 2, valuesInterval, 100000));
+
+        AbstractTree<Integer> tree = generator.generateRandomImmutableTree(1).getTree();
+        tree.calculateSizeAndSum();
+
+        assertEquals(tree.getSize(), 100000);
+    }
+
+    @Test
+    void generateSameTreeForSameSeed() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 6, valuesInterval, 100000));
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            List<Integer> expected = describeTree(generator.generateRandomMutableTree(42, singleThreadPool).getTree());
+
+            assertEquals(describeTree(generator.generateRandomMutableTree(42, pool).getTree()), expected);
+            assertEquals(describeTree(generator.generateRandomImmutableTree(42, pool).getTree()), expected);
+            assertEquals(describeTree(generator.generateRandomMutableTree(42).getTree()), expected);
+            assertNotEquals(describeTree(generator.generateRandomMutableTree(43, pool).getTree()), expected);
+        } finally {
+            singleThreadPool.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void generateSameTreeForSameSeedWithoutNodesCount() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(9, 6, valuesInterval));
+
+        TreeCreationResults<Integer> results = generator.generateRandomImmutableTree(7);
+        AbstractTree<Integer> tree = results.getTree();
+        tree.calculateSizeAndSum();
+
+        assertEquals(tree.getSize(), results.getSize());
+        assertEquals(tree.getSum(), results.getSum());
+        assertEquals(describeTree(generator.generateRandomMutableTree(7).getTree()), describeTree(tree));
+    }
+}
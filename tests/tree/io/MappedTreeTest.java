@@ -0,0 +1,147 @@
+package tree.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tree.ImmutableNode;
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.generators.TreeGenerator;
+import tree.operations.LongOperations;
+import tree.operations.Operations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTreeTest {
+    @TempDir
+    Path directory;
+
+    private Path path;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = directory.resolve("tree.tree");
+        TreeWriter.write(TreeGenerator.getIntegerMutableTree(), path, true);
+    }
+
+
+    private static Operations<Double> getDoubleOperations() {
+        Comparator<Double> comparator = Double::compare;
+
+        return new Operations<Double>().setAdder(Double::sum).setSubtractor((first, second) -> first - second)
+                                       .setComparator(comparator).setNeg(value -> -value).setZero(0.0)
+                                       .setNegativeInfinity(-10000000.0);
+    }
+
+
+    @Test
+    void open() throws IOException {
+        MappedTree tree = MappedTree.open(path);
+
+        assertEquals(tree.getSize(), 12);
+        assertEquals(tree.getValueType(), ValueType.INT);
+        assertTrue(tree.hasSubtreeWeights());
+        assertEquals(tree.getParent(0), -1);
+        assertEquals(tree.getValue(0), 1);
+        assertEquals(tree.getValue(2), -4);
+        assertEquals(tree.getSubtreeWeight(0), -30);
+        assertEquals(tree.getSubtreeWeight(2), -35);
+    }
+
+    @Test
+    void getChildren() throws IOException {
+        MappedTree tree = MappedTree.open(path);
+
+        //The BFS order: 1 | 2 -4 | 2 1 -5 -10 -20 | 3 1 -3 2
+        assertEquals(tree.getFirstChild(0), 1);
+        assertEquals(tree.getChildrenCount(0), 2);
+        assertEquals(tree.getFirstChild(1), 3);
+        assertEquals(tree.getChildrenCount(1), 3);
+        assertEquals(tree.getFirstChild(2), 6);
+        assertEquals(tree.getChildrenCount(2), 2);
+        assertEquals(tree.getFirstChild(6), 10);
+        assertEquals(tree.getChildrenCount(6), 2);
+        assertEquals(tree.getFirstChild(4), -1);
+        assertEquals(tree.getChildrenCount(4), 0);
+        assertEquals(tree.getFirstChild(11), -1);
+        assertEquals(tree.getParent(11), 6);
+    }
+
+    @Test
+    void noSubtreeWeights() throws IOException {
+        TreeWriter.write(TreeGenerator.getIntegerMutableTree(), path);
+        MappedTree tree = MappedTree.open(path);
+
+        assertFalse(tree.hasSubtreeWeights());
+        assertThrows(IllegalStateException.class, () -> tree.getSubtreeWeight(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getValue(12));
+    }
+
+    @Test
+    void wrongValueClass() throws IOException {
+        MappedTree tree = MappedTree.open(path);
+
+        assertThrows(IllegalArgumentException.class, () -> tree.toMutableTree(getDoubleOperations(), Double.class));
+    }
+
+    @Test
+    void doubleValues() throws IOException {
+        Operations<Double> operations = getDoubleOperations();
+        ImmutableNode<Double> root = new ImmutableNode<>(operations, 1.5);
+        root.getChildren().add(new ImmutableNode<>(operations, -2.25, new ArrayList<>(), root));
+        root.getChildren().add(new ImmutableNode<>(operations, 4.0, new ArrayList<>(), root));
+
+        TreeWriter.write(new ImmutableTree<>(operations, root), path, true);
+        MappedTree tree = MappedTree.open(path);
+        MutableTree<Double> mutableTree = tree.toMutableTree(operations, Double.class);
+        mutableTree.calculateSizeAndSum();
+
+        assertEquals(tree.getValueType(), ValueType.DOUBLE);
+        assertEquals(tree.getValue(1), -2.25);
+        assertEquals(tree.getSubtreeWeight(0), 3.25);
+        assertEquals(mutableTree.getSize(), 3);
+        assertEquals(mutableTree.getSum(), 3.25);
+    }
+
+    @Test
+    void emptyTrees() throws IOException {
+        Operations<Double> operations = getDoubleOperations();
+        TreeWriter.write(new ImmutableTree<>(operations), path);
+        MappedTree tree = MappedTree.open(path);
+
+        assertEquals(tree.getValueType(), ValueType.DOUBLE);
+        assertEquals(tree.getSize(), 0);
+        assertNull(tree.toImmutableTree(operations, Double.class).getRoot());
+
+        TreeWriter.write(new MutableTree<>(new LongOperations()), path);
+        MappedTree longTree = MappedTree.open(path);
+
+        assertEquals(longTree.getValueType(), ValueType.LONG);
+        assertNull(longTree.toMutableTree(new LongOperations(), Long.class).getRoot());
+    }
+
+    @Test
+    void notTreeFile() throws IOException {
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> MappedTree.open(path));
+
+        Files.write(path, new byte[8]);
+        assertThrows(IOException.class, () -> MappedTree.open(path));
+    }
+
+    @Test
+    void truncatedFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(IOException.class, () -> MappedTree.open(path));
+    }
+}
@@ -0,0 +1,95 @@
+package tree.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.MutableTree;
+import tree.Node;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeReaderTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+    @TempDir
+    Path directory;
+
+
+    /**
+     * Writes the values and the numbers of children of all nodes in the BFS order.
+     */
+    private static List<Integer> describeTree(AbstractTree<Integer> tree) {
+        List<Integer> description = new ArrayList<>();
+
+        for (Node<Integer> node : tree.getNodesCollection()) {
+            description.add(node.getValue());
+            description.add(node.getChildren().size());
+        }
+
+        return description;
+    }
+
+
+    @Test
+    void readMutableTree() throws IOException {
+        Path path = directory.resolve("mutable.tree");
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+
+        TreeWriter.write(tree, path);
+        MutableTree<Integer> readTree = TreeReader.readMutableTree(path, operations, Integer.class);
+        readTree.calculateSizeAndSum();
+
+        assertEquals(describeTree(readTree), describeTree(tree));
+        assertEquals(readTree.getSize(), 12);
+        assertEquals(readTree.getSum(), -30);
+        assertEquals(readTree.getRoot().getChildren().iterator().next().getParent(), readTree.getRoot());
+    }
+
+    @Test
+    void readImmutableTree() throws IOException {
+        Path path = directory.resolve("immutable.tree");
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+
+        TreeWriter.write(tree, path, true);
+        ImmutableTree<Integer> readTree = TreeReader.readImmutableTree(path, operations, Integer.class);
+
+        assertEquals(describeTree(readTree), describeTree(tree));
+        assertEquals(readTree.getRoot().getSubtreeWeight(), -30);
+    }
+
+    @Test
+    void readGeneratedTrees() throws IOException {
+        Path path = directory.resolve("generated.tree");
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(10, 5, new Interval<>(operations, -10, 10), 20000));
+
+        for (int seed = 0; seed < 5; seed++) {
+            AbstractTree<Integer> tree = generator.generateRandomMutableTree(seed).getTree();
+
+            TreeWriter.write(tree, path, seed % 2 == 0);
+
+            assertEquals(describeTree(TreeReader.readMutableTree(path, operations, Integer.class)), describeTree(tree));
+            assertEquals(describeTree(TreeReader.readImmutableTree(path, operations, Integer.class)), describeTree(tree));
+        }
+    }
+
+    @Test
+    void readEmptyTree() throws IOException {
+        Path path = directory.resolve("empty.tree");
+
+        TreeWriter.write(new MutableTree<>(operations), path);
+
+        assertNull(TreeReader.readMutableTree(path, operations, Integer.class).getRoot());
+        assertNull(TreeReader.readImmutableTree(path, operations, Integer.class).getRoot());
+    }
+}
@@ -0,0 +1,101 @@
+package tree.maximizer;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.Node;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.DoubleOperations;
+import tree.operations.IntOperations;
+import tree.operations.Operations;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTreeKnapsackKMaximizerTest {
+
+    /**
+     * Compares the results of the parallel and the sequential maximizers. The small threshold makes the pool split
+     * the tasks even on the small trees.
+     */
+    private static <T extends Number> void assertSameAsSequential(AbstractTree<T> tree, ForkJoinPool pool) {
+        KMaximizer<T> expectedMaximizer = new TreeKnapsackKMaximizer<>(tree);
+        KMaximizer<T> actualMaximizer = new ParallelTreeKnapsackKMaximizer<>(tree, pool, 4);
+
+        for (int k = 0; k <= 6; k++) {
+            assertEquals(actualMaximizer.maximize(k), expectedMaximizer.maximize(k));
+        }
+
+        assertEquals(actualMaximizer.profitCurve(6).getProfits(), expectedMaximizer.profitCurve(6).getProfits());
+    }
+
+
+    @Test
+    void maximize() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        KMaximizer<Integer> maximizer = new ParallelTreeKnapsackKMaximizer<>(TreeGenerator.getIntegerImmutableTree(),
+                pool, 1);
+
+        assertEquals(maximizer.profitCurve(3).getProfits(), List.of(0, 35, 40, 40));
+        assertTrue(new ParallelTreeKnapsackKMaximizer<>(new ImmutableTree<>(new IntOperations()), pool)
+                .maximize(3).isEmpty());
+
+        pool.shutdown();
+    }
+
+    @Test
+    void maximizeAgainstSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        IntOperations intOperations = new IntOperations();
+        DoubleOperations doubleOperations = new DoubleOperations();
+
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(6, 4, new Interval<>(operations, -10, 10)));
+        TreeGenerator<Integer> intGenerator = new TreeGenerator<>(intOperations,
+                new TreeGeneratorParams<>(6, 4, new Interval<>(intOperations, -10, 10)));
+        TreeGenerator<Double> doubleGenerator = new TreeGenerator<>(doubleOperations,
+                new TreeGeneratorParams<>(6, 4, new Interval<>(doubleOperations, -10.0, 10.0)));
+
+        for (int i = 0; i < 20; i++) {
+            assertSameAsSequential(generator.generateRandomImmutableTree().getTree(), pool);
+            assertSameAsSequential(intGenerator.generateRandomImmutableTree().getTree(), pool);
+            assertSameAsSequential(doubleGenerator.generateRandomImmutableTree().getTree(), pool);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    void maximizeTreeWithParallelPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(6, 4, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 10; i++) {
+            AbstractTree<Integer> tree = generator.generateRandomMutableTree().getTree();
+            int expectedProfit = tree.profitCurve(3).getProfit(3);
+
+            tree.setParallelPool(pool);
+
+            assertEquals(tree.profitCurve(3).getProfit(3).intValue(), expectedProfit);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    void createWithoutPool() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTreeKnapsackKMaximizer<>(tree, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelTreeKnapsackKMaximizer<>(tree, ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -0,0 +1,111 @@
+package tree.maximizer;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.Node;
+import tree.columnar.LongColumnarTree;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.DoubleOperations;
+import tree.operations.IntOperations;
+import tree.operations.Operations;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeKMaximizerTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    private static int calculateProfit(List<Node<Integer>> nodesToDelete) {
+        int profit = 0;
+
+        for (Node<Integer> node : nodesToDelete) {
+            profit -= node.getSubtreeWeight();
+        }
+
+        return profit;
+    }
+
+
+    @Test
+    void maximize() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        KMaximizer<Integer> maximizer = new TreeKMaximizer<>(tree);
+
+        assertEquals(calculateProfit(maximizer.maximize(1)), 35);
+        assertEquals(calculateProfit(maximizer.maximize(2)), 40);
+        assertEquals(calculateProfit(maximizer.maximize(3)), 40);
+    }
+
+    @Test
+    void maximizeManyTimes() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        KMaximizer<Integer> maximizer = new TreeKMaximizer<>(tree);
+
+        List<Node<Integer>> firstAnswer = maximizer.maximize(2);
+
+        assertEquals(maximizer.maximize(3).size(), 2);
+        assertEquals(maximizer.maximize(2), firstAnswer);
+        assertEquals(maximizer.maximize(1).size(), 1);
+    }
+
+    @Test
+    void maximizeWithoutOperations() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+
+        assertTrue(new TreeKMaximizer<>(tree).maximize(0).isEmpty());
+        assertTrue(new TreeKMaximizer<>(new ImmutableTree<>(operations)).maximize(3).isEmpty());
+    }
+
+    @Test
+    void profitCurve() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeKMaximizer<Integer> maximizer = new TreeKMaximizer<>(tree);
+        ProfitCurve<Integer> curve = maximizer.profitCurve(3);
+
+        assertEquals(curve.getProfits(), List.of(0, 35, 40, 40));
+        assertEquals(curve.getMarginalProfit(2), Integer.valueOf(5));
+
+        //The next runs of the maximizer do not change the answers of the curve.
+        maximizer.maximize(1);
+
+        for (int k = 0; k <= 3; k++) {
+            assertEquals(curve.getNodesToRemove(k), maximizer.maximize(k));
+        }
+    }
+
+    @Test
+    void profitCurveWithPrimitiveOperations() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(5, 4, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 30; i++) {
+            AbstractTree<Integer> tree = generator.generateRandomImmutableTree().getTree();
+            LongColumnarTree columnarTree = LongColumnarTree.fromTree(tree);
+            AbstractTree<Integer> intTree = columnarTree.toImmutableTree(new IntOperations(), value -> (int)value);
+            AbstractTree<Double> doubleTree = columnarTree.toImmutableTree(new DoubleOperations(),
+                    value -> (double)value);
+
+            List<Integer> expected = new TreeKMaximizer<>(tree).profitCurve(4).getProfits();
+
+            assertEquals(new TreeKMaximizer<>(intTree).profitCurve(4).getProfits(), expected);
+            assertEquals(new TreeKMaximizer<>(doubleTree).profitCurve(4).getProfits().stream()
+                    .map(Double::intValue).collect(Collectors.toList()), expected);
+        }
+    }
+
+    @Test
+    void rejectTooManyBackPointers() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        TreeKMaximizer<Integer> maximizer = new TreeKMaximizer<>(tree);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> maximizer.maximize((int)TreeKMaximizer.MAX_BACK_POINTERS_COUNT));
+        assertThrows(IllegalArgumentException.class, () -> maximizer.profitCurve(Integer.MAX_VALUE));
+    }
+}
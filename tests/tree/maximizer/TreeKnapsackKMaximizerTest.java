@@ -0,0 +1,156 @@
+package tree.maximizer;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.ImmutableTree;
+import tree.Node;
+import tree.columnar.LongColumnarTree;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.DoubleOperations;
+import tree.operations.IntOperations;
+import tree.operations.Operations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeKnapsackKMaximizerTest {
+    private static final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    private static int calculateProfit(List<Node<Integer>> nodesToDelete) {
+        int profit = 0;
+
+        for (Node<Integer> node : nodesToDelete) {
+            profit -= node.getSubtreeWeight();
+        }
+
+        return profit;
+    }
+
+    private static void assertIsAntichain(List<Node<Integer>> nodesToDelete) {
+        for (Node<Integer> first : nodesToDelete) {
+            for (Node<Integer> second : nodesToDelete) {
+                assertFalse(first.getAllParents().contains(second));
+            }
+        }
+    }
+
+
+    @Test
+    void maximize() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        KMaximizer<Integer> maximizer = new TreeKnapsackKMaximizer<>(tree);
+
+        assertEquals(calculateProfit(maximizer.maximize(0)), 0);
+        assertEquals(calculateProfit(maximizer.maximize(1)), 35);
+        assertEquals(calculateProfit(maximizer.maximize(2)), 40);
+        assertEquals(calculateProfit(maximizer.maximize(3)), 40);
+        assertEquals(calculateProfit(maximizer.maximize(100)), 40);
+    }
+
+    @Test
+    void maximizeEmptyTree() {
+        KMaximizer<Integer> maximizer = new TreeKnapsackKMaximizer<>(new ImmutableTree<>(operations));
+
+        assertTrue(maximizer.maximize(3).isEmpty());
+    }
+
+    @Test
+    void maximizeAgainstTreeKMaximizer() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(4, 4, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 30; i++) {
+            AbstractTree<Integer> tree = generator.generateRandomImmutableTree().getTree();
+
+            KMaximizer<Integer> expectedMaximizer = new TreeKMaximizer<>(tree);
+            KMaximizer<Integer> actualMaximizer = new TreeKnapsackKMaximizer<>(tree);
+
+            for (int k = 1; k <= 3; k++) {
+                List<Node<Integer>> expected = expectedMaximizer.maximize(k);
+                List<Node<Integer>> actual = actualMaximizer.maximize(k);
+
+                assertTrue(actual.size() <= k);
+                assertIsAntichain(actual);
+                assertEquals(Math.max(0, calculateProfit(expected)), calculateProfit(actual));
+            }
+        }
+    }
+
+    @Test
+    void maximizeWithPrimitiveOperations() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(5, 4, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 30; i++) {
+            AbstractTree<Integer> tree = generator.generateRandomImmutableTree().getTree();
+            LongColumnarTree columnarTree = LongColumnarTree.fromTree(tree);
+            AbstractTree<Integer> intTree = columnarTree.toImmutableTree(new IntOperations(), value -> (int)value);
+            AbstractTree<Double> doubleTree = columnarTree.toImmutableTree(new DoubleOperations(),
+                    value -> (double)value);
+
+            for (int k = 1; k <= 4; k++) {
+                Set<Integer> expected = getIndexes(tree, new TreeKnapsackKMaximizer<>(tree).maximize(k));
+
+                assertEquals(getIndexes(intTree, new TreeKnapsackKMaximizer<>(intTree).maximize(k)), expected);
+                assertEquals(getIndexes(doubleTree, new TreeKnapsackKMaximizer<>(doubleTree).maximize(k)), expected);
+            }
+        }
+    }
+
+    @Test
+    void profitCurve() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        ProfitCurve<Integer> curve = new TreeKnapsackKMaximizer<>(tree).profitCurve(4);
+
+        assertEquals(curve.getProfits(), List.of(0, 35, 40, 40, 40));
+        assertEquals(curve.getBestOperationsCount(), 2);
+        assertEquals(calculateProfit(curve.getNodesToRemove(1)), 35);
+        assertThrows(IllegalArgumentException.class, () -> curve.getNodesToRemove(5));
+    }
+
+    @Test
+    void profitCurveAgainstMaximize() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(5, 4, new Interval<>(operations, -10, 10)));
+
+        for (int i = 0; i < 30; i++) {
+            AbstractTree<Integer> tree = generator.generateRandomImmutableTree().getTree();
+            LongColumnarTree columnarTree = LongColumnarTree.fromTree(tree);
+            AbstractTree<Integer> intTree = columnarTree.toImmutableTree(new IntOperations(), value -> (int)value);
+
+            KMaximizer<Integer> maximizer = new TreeKnapsackKMaximizer<>(tree);
+            KMaximizer<Integer> intMaximizer = new TreeKnapsackKMaximizer<>(intTree);
+            ProfitCurve<Integer> curve = maximizer.profitCurve(6);
+            ProfitCurve<Integer> intCurve = intMaximizer.profitCurve(6);
+
+            for (int k = 0; k <= 6; k++) {
+                List<Node<Integer>> expected = maximizer.maximize(k);
+
+                assertEquals(curve.getNodesToRemove(k), expected);
+                assertEquals(curve.getProfit(k).intValue(), calculateProfit(expected));
+                assertEquals(getIndexes(intTree, intCurve.getNodesToRemove(k)), getIndexes(tree, expected));
+                assertEquals(intCurve.getProfit(k), curve.getProfit(k));
+            }
+        }
+    }
+
+    /**
+     * @return The BFS indexes of the nodes, so the nodes of the copies of the tree can be compared.
+     */
+    private static <T extends Number> Set<Integer> getIndexes(AbstractTree<T> tree, List<Node<T>> nodes) {
+        List<Node<T>> nodesCollection = tree.getNodesCollection();
+        Set<Integer> indexes = new HashSet<>();
+
+        for (Node<T> node : nodes) {
+            indexes.add(nodesCollection.indexOf(node));
+        }
+
+        return indexes;
+    }
+}
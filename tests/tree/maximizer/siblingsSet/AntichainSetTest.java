@@ -0,0 +1,88 @@
+package tree.maximizer.siblingsSet;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.Node;
+import tree.TreeIndex;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AntichainSetTest {
+    private final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    @Test
+    void add() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerImmutableTree();
+        Node<Integer> root = tree.getRoot();
+        List<Node<Integer>> children = new ArrayList<>(root.getChildren());
+        Node<Integer> subRoot1 = children.get(0);
+        Node<Integer> subRoot2 = children.get(1);
+
+        AntichainSet<Integer> antichainSet = new AntichainSet<>(tree.getTreeIndex(), operations);
+
+        assertTrue(antichainSet.add(subRoot1));
+        assertFalse(antichainSet.add(subRoot1));
+        assertTrue(antichainSet.add(subRoot2));
+        assertEquals(antichainSet.size(), 2);
+        assertEquals(antichainSet.getWeight(), subRoot1.getSubtreeWeight() + subRoot2.getSubtreeWeight());
+
+        assertTrue(antichainSet.add(root));
+        assertFalse(antichainSet.add(subRoot1));
+        assertEquals(antichainSet.size(), 1);
+        assertTrue(antichainSet.contains(root));
+        assertFalse(antichainSet.contains(subRoot1));
+        assertEquals(antichainSet.getWeight(), root.getSubtreeWeight());
+
+        assertTrue(antichainSet.remove(root));
+        assertFalse(antichainSet.remove(root));
+        assertEquals(antichainSet.getWeight(), 0);
+        assertTrue(antichainSet.isEmpty());
+    }
+
+    @Test
+    void addAsSiblingsHashSet() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(8, 4, new Interval<>(operations, -10, 10), 500));
+        Random random = new Random(7);
+
+        for (int seed = 0; seed < 10; seed++) {
+            AbstractTree<Integer> tree = generator.generateRandomImmutableTree(seed).getTree();
+
+            TreeIndex<Integer> treeIndex = tree.getTreeIndex();
+            List<Node<Integer>> nodes = tree.getNodesCollection();
+            AntichainSet<Integer> antichainSet = new AntichainSet<>(treeIndex, operations);
+            SiblingsHashSet<Integer> siblingsHashSet = new SiblingsHashSet<>(treeIndex);
+
+            for (int i = 0; i < 100; i++) {
+                Node<Integer> node = nodes.get(random.nextInt(nodes.size()));
+
+                //SiblingsHashSet returns true when the node is already in the set.
+                boolean isAdded = siblingsHashSet.add(node) && !antichainSet.contains(node);
+                assertEquals(antichainSet.add(node), isAdded);
+                assertEquals(new HashSet<>(antichainSet), siblingsHashSet);
+
+                int weight = 0;
+                for (Node<Integer> currNode : siblingsHashSet) {
+                    weight += currNode.getSubtreeWeight();
+                }
+
+                assertEquals(antichainSet.getWeight(), weight);
+            }
+        }
+    }
+
+    @Test
+    void createWithoutIndex() {
+        assertThrows(IllegalArgumentException.class, () -> new AntichainSet<>(null, operations));
+    }
+}
@@ -2,6 +2,7 @@ package tree.maximizer.siblingsSet;
 
 import org.junit.jupiter.api.Test;
 import tree.MutableNode;
+import tree.TreeIndex;
 import tree.operations.Operations;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,4 +35,24 @@ class SiblingsHashSetTest {
         assertEquals(siblingsHashSet.size(), 1);
         assertTrue(siblingsHashSet.contains(root));
     }
-}
\ No newline at end of file
+
+    @Test
+    void addWithTreeIndex() {
+        MutableNode<Integer> root = new MutableNode<>(Operations.getIntegerOperations());
+        MutableNode<Integer> subRoot1 = new MutableNode<>(Operations.getIntegerOperations());
+        MutableNode<Integer> subRoot2 = new MutableNode<>(Operations.getIntegerOperations());
+
+        root.addChild(subRoot1);
+        root.addChild(subRoot2);
+
+        SiblingsHashSet<Integer> siblingsHashSet = new SiblingsHashSet<>(new TreeIndex<>(root));
+
+        assertTrue(siblingsHashSet.add(subRoot1));
+        assertTrue(siblingsHashSet.add(subRoot2));
+        assertEquals(siblingsHashSet.size(), 2);
+        assertTrue(siblingsHashSet.add(root));
+        assertFalse(siblingsHashSet.add(subRoot1));
+        assertEquals(siblingsHashSet.size(), 1);
+        assertTrue(siblingsHashSet.contains(root));
+    }
+}
@@ -2,7 +2,10 @@ package tree.operations;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.function.BinaryOperator;
 import java.util.function.UnaryOperator;
 
@@ -156,4 +159,30 @@ class OperationsTest {
     void getIntegerOperations() {
         assertNotEquals(Operations.getIntegerOperations(), null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void addRandomValues() {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        List<Integer> values = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        operations.addRandomValues(values, 100, -10, 10, random);
+
+        assertEquals(values.size(), 100);
+
+        SplittableRandom sameRandom = new SplittableRandom(42);
+        for (Integer value : values) {
+            assertTrue(value >= -10 && value < 10);
+            assertEquals(value, operations.getRandomValue(-10, 10, sameRandom));
+        }
+    }
+
+    @Test
+    void getRandomValueWithoutSeededRandomizer() {
+        Randomizer<Integer> randomizer = (leftBorder, rightBorder) -> 1;
+        integerOperations.setRandomizer(randomizer);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> integerOperations.getRandomValue(0, 10, new SplittableRandom(42)));
+    }
+}
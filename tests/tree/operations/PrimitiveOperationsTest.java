@@ -0,0 +1,96 @@
+package tree.operations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveOperationsTest {
+
+    @Test
+    void intOperations() {
+        IntOperations operations = new IntOperations();
+
+        assertEquals(operations.add(2, 3), 5);
+        assertEquals(operations.sub(2, 3), -1);
+        assertEquals(operations.compare(2, 3), -1);
+        assertEquals(operations.compare(3, 3), 0);
+        assertEquals(operations.compare(300, 3), 1);
+        assertEquals(operations.negotiate(7), -7);
+        assertEquals(operations.getZero(), 0);
+
+        assertEquals(operations.addLong(Integer.MAX_VALUE, 1), Integer.MAX_VALUE + 1L);
+        assertEquals(operations.compareLong(-5, 4), -1);
+        assertEquals(operations.fromLong(Integer.MAX_VALUE + 1L), Integer.MIN_VALUE);
+    }
+
+    @Test
+    void intOperationsWrapLikeBoxedSum() {
+        IntOperations operations = new IntOperations();
+        int[] values = {Integer.MAX_VALUE, 7, Integer.MAX_VALUE, -3, Integer.MIN_VALUE, Integer.MIN_VALUE, -9};
+
+        Integer boxedSum = operations.getZero();
+        long longSum = 0;
+
+        for (int value : values) {
+            boxedSum = operations.add(boxedSum, value);
+            longSum = operations.addLong(longSum, value);
+
+            assertEquals(operations.fromLong(longSum), boxedSum);
+        }
+    }
+
+    @Test
+    void longOperations() {
+        LongOperations operations = new LongOperations();
+
+        assertEquals(operations.add(2L, 3L), 5L);
+        assertEquals(operations.sub(Long.MAX_VALUE, 1L), Long.MAX_VALUE - 1);
+        assertEquals(operations.compare(1L << 40, 1L), 1);
+        assertEquals(operations.negotiate(7L), -7L);
+        assertEquals(operations.getZero(), 0L);
+        assertEquals(operations.fromLong(1L << 40), 1L << 40);
+    }
+
+    @Test
+    void doubleOperations() {
+        DoubleOperations operations = new DoubleOperations();
+
+        assertEquals(operations.add(0.5, 0.25), 0.75);
+        assertEquals(operations.sub(0.5, 0.25), 0.25);
+        assertEquals(operations.compare(-0.5, 0.25), -1);
+        assertEquals(operations.negotiate(0.5), -0.5);
+        assertEquals(operations.addDouble(0.5, 0.25), 0.75);
+        assertEquals(operations.compareDouble(0.5, 0.25), 1);
+    }
+
+    @Test
+    void arithmeticCanNotBeChanged() {
+        IntOperations operations = new IntOperations();
+
+        assertThrows(UnsupportedOperationException.class, () -> operations.setAdder((first, second) -> 1));
+        assertThrows(UnsupportedOperationException.class, () -> operations.setZero(1));
+        assertThrows(UnsupportedOperationException.class, () -> new DoubleOperations().setNeg(value -> value));
+
+        Randomizer<Integer> randomizer = (leftBorder, rightBorder) -> 1;
+        operations.setRandomizer(randomizer);
+
+        assertEquals(operations.getRandomValue(0, 10), 1);
+    }
+
+    @Test
+    void randomValues() {
+        LongOperations longOperations = new LongOperations();
+        DoubleOperations doubleOperations = new DoubleOperations();
+
+        for (int i = 0; i < 100; i++) {
+            long longValue = longOperations.getRandomValue(-5L, 5L, new SplittableRandom(i));
+            double doubleValue = doubleOperations.getRandomValue(-0.5, 0.5);
+
+            assertTrue(longValue >= -5 && longValue < 5);
+            assertTrue(doubleValue >= -0.5 && doubleValue < 0.5);
+            assertEquals(longOperations.getRandomValue(-5L, 5L, new SplittableRandom(i)), longValue);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package tree.traversal;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.MutableNode;
+import tree.MutableTree;
+import tree.Node;
+import tree.generators.Interval;
+import tree.generators.TreeGenerator;
+import tree.generators.TreeGeneratorParams;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubtreeSpliteratorTest {
+    private final Operations<Integer> operations = Operations.getIntegerOperations();
+
+
+    private static List<Node<Integer>> collectPreOrder(AbstractTree<Integer> tree) {
+        List<Node<Integer>> nodes = new ArrayList<>();
+        TraversalCursor<Integer> cursor = tree.preOrderCursor();
+
+        while (cursor.hasNext()) {
+            nodes.add(cursor.next());
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Splits the spliterator while it can be split, and collects the nodes of the parts in their order.
+     */
+    private static void collectSplitting(Spliterator<Node<Integer>> spliterator, List<Node<Integer>> nodes) {
+        Spliterator<Node<Integer>> prefix = spliterator.trySplit();
+
+        if (prefix == null) {
+            spliterator.forEachRemaining(nodes::add);
+            return;
+        }
+
+        collectSplitting(prefix, nodes);
+        collectSplitting(spliterator, nodes);
+    }
+
+    private MutableTree<Integer> createChain(int height) {
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        MutableNode<Integer> currNode = root;
+
+        for (int i = 0; i < height; i++) {
+            MutableNode<Integer> child = new MutableNode<>(operations, 1);
+            currNode.addChild(child);
+            currNode = child;
+        }
+
+        return new MutableTree<>(operations, root);
+    }
+
+
+    @Test
+    void sequentialStream() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+
+        assertEquals(tree.nodes().map(Node::getValue).collect(Collectors.toList()),
+                List.of(1, 2, 2, 3, 1, 1, -5, -4, -10, -3, 2, -20));
+        assertEquals(tree.nodes().collect(Collectors.toList()), collectPreOrder(tree));
+    }
+
+    @Test
+    void emptyTree() {
+        AbstractTree<Integer> tree = new MutableTree<>(operations);
+
+        assertEquals(tree.nodes().count(), 0);
+        assertEquals(tree.nodes().parallel().count(), 0);
+    }
+
+    @Test
+    void splitKeepsPreOrder() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(10, 5, new Interval<>(operations, -10, 10), 20000));
+
+        for (int seed = 0; seed < 5; seed++) {
+            AbstractTree<Integer> tree = generator.generateRandomMutableTree(seed).getTree();
+            List<Node<Integer>> nodes = new ArrayList<>();
+
+            collectSplitting(new SubtreeSpliterator<>(tree.getRoot(), Long.MAX_VALUE), nodes);
+
+            assertEquals(nodes, collectPreOrder(tree));
+        }
+
+        List<Node<Integer>> chainNodes = new ArrayList<>();
+        AbstractTree<Integer> chain = createChain(5000);
+        collectSplitting(new SubtreeSpliterator<>(chain.getRoot(), Long.MAX_VALUE), chainNodes);
+
+        assertEquals(chainNodes, collectPreOrder(chain));
+    }
+
+    @Test
+    void parallelStream() {
+        TreeGenerator<Integer> generator = new TreeGenerator<>(operations,
+                new TreeGeneratorParams<>(12, 6, new Interval<>(operations, -10, 10), 100000));
+        AbstractTree<Integer> tree = generator.generateRandomMutableTree(3).getTree();
+        tree.calculateSizeAndSum();
+
+        assertEquals(tree.nodes().parallel().collect(Collectors.toList()), collectPreOrder(tree));
+        assertEquals(tree.nodes().parallel().count(), tree.getSize());
+        assertEquals((Integer)tree.nodes().parallel().mapToInt(Node::getValue).sum(), tree.getSum());
+        assertEquals(tree.nodes().parallel().filter(node -> node.getValue() < 0).count(),
+                tree.nodes().filter(node -> node.getValue() < 0).count());
+    }
+
+    @Test
+    void characteristicsAndEstimate() {
+        AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+        Spliterator<Node<Integer>> spliterator = tree.nodes().spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(spliterator.estimateSize(), Long.MAX_VALUE);
+
+        tree.calculateSizeAndSum();
+        spliterator = tree.nodes().spliterator();
+
+        assertEquals(spliterator.estimateSize(), 12);
+    }
+}
@@ -0,0 +1,176 @@
+package tree.traversal;
+
+import org.junit.jupiter.api.Test;
+import tree.AbstractTree;
+import tree.MutableNode;
+import tree.Node;
+import tree.generators.TreeGenerator;
+import tree.operations.Operations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeTraversalTest {
+    private final AbstractTree<Integer> tree = TreeGenerator.getIntegerMutableTree();
+    private final TreeTraversal<Integer> traversal = new TreeTraversal<>();
+
+
+    private static List<Integer> collectValues(TraversalCursor<Integer> cursor) {
+        List<Integer> values = new ArrayList<>();
+
+        while (cursor.hasNext()) {
+            values.add(cursor.next().getValue());
+        }
+
+        return values;
+    }
+
+    private static MutableNode<Integer> createChain(int height) {
+        Operations<Integer> operations = Operations.getIntegerOperations();
+        MutableNode<Integer> root = new MutableNode<>(operations, 1);
+        MutableNode<Integer> currNode = root;
+
+        for (int i = 0; i < height; i++) {
+            MutableNode<Integer> child = new MutableNode<>(operations, 1);
+            currNode.addChild(child);
+            currNode = child;
+        }
+
+        return root;
+    }
+
+
+    @Test
+    void preOrderCursor() {
+        assertEquals(collectValues(traversal.preOrderCursor(tree.getRoot())),
+                List.of(1, 2, 2, 3, 1, 1, -5, -4, -10, -3, 2, -20));
+    }
+
+    @Test
+    void postOrderCursor() {
+        assertEquals(collectValues(traversal.postOrderCursor(tree.getRoot())),
+                List.of(3, 1, 2, 1, -5, 2, -3, 2, -10, -20, -4, 1));
+    }
+
+    @Test
+    void levelOrderCursor() {
+        assertEquals(collectValues(traversal.levelOrderCursor(tree.getRoot())),
+                List.of(1, 2, -4, 2, 1, -5, -10, -20, 3, 1, -3, 2));
+    }
+
+    @Test
+    void emptyTree() {
+        assertFalse(traversal.preOrderCursor(null).hasNext());
+        assertFalse(traversal.postOrderCursor(null).hasNext());
+        assertFalse(traversal.levelOrderCursor(null).hasNext());
+    }
+
+    @Test
+    void skipSubtree() {
+        List<Integer> preOrderValues = new ArrayList<>();
+        traversal.preOrder(tree.getRoot(), node -> {
+            preOrderValues.add(node.getValue());
+            return node.getValue() == 2 ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE;
+        });
+
+        List<Integer> levelOrderValues = new ArrayList<>();
+        traversal.levelOrder(tree.getRoot(), node -> {
+            levelOrderValues.add(node.getValue());
+            return node.getValue() == -4 ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE;
+        });
+
+        List<Integer> postOrderValues = new ArrayList<>();
+        traversal.postOrder(tree.getRoot(),
+                node -> node.getValue() < 0 ? TraversalAction.SKIP_SUBTREE : TraversalAction.CONTINUE,
+                node -> {
+                    postOrderValues.add(node.getValue());
+                    return TraversalAction.CONTINUE;
+                });
+
+        assertEquals(preOrderValues, List.of(1, 2, -4, -10, -3, 2, -20));
+        assertEquals(levelOrderValues, List.of(1, 2, -4, 2, 1, -5, 3, 1));
+        assertEquals(postOrderValues, List.of(3, 1, 2, 1, -5, 2, -4, 1));
+    }
+
+    @Test
+    void stop() {
+        List<Integer> values = new ArrayList<>();
+        traversal.preOrder(tree.getRoot(), node -> {
+            values.add(node.getValue());
+            return values.size() == 3 ? TraversalAction.STOP : TraversalAction.CONTINUE;
+        });
+
+        assertEquals(values, List.of(1, 2, 2));
+        assertEquals(collectValues(traversal.levelOrderCursor(tree.getRoot())).size(), 12);
+    }
+
+    @Test
+    void skipSubtreeInPostOrderCursor() {
+        TraversalCursor<Integer> cursor = traversal.postOrderCursor(tree.getRoot());
+        cursor.next();
+
+        assertThrows(UnsupportedOperationException.class, cursor::skipSubtree);
+    }
+
+    @Test
+    void nestedTraversals() {
+        List<Integer> sizes = new ArrayList<>();
+        traversal.levelOrder(tree.getRoot(), node -> {
+            sizes.add(collectValues(traversal.preOrderCursor(node)).size());
+            return TraversalAction.CONTINUE;
+        });
+
+        assertEquals(sizes, List.of(12, 6, 5, 3, 1, 1, 3, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    void deepTree() {
+        Node<Integer> root = createChain(200000);
+        int[] count = { 0 };
+
+        traversal.postOrder(root, node -> {
+            count[0]++;
+            return TraversalAction.CONTINUE;
+        });
+
+        assertEquals(count[0], 200001);
+        assertEquals(collectValues(traversal.preOrderCursor(root)).size(), 200001);
+    }
+
+    @Test
+    void droppedCursor() {
+        TraversalCursor<Integer> droppedCursor = traversal.preOrderCursor(tree.getRoot());
+        droppedCursor.next();
+
+        assertEquals(collectValues(traversal.preOrderCursor(tree.getRoot())).size(), 12);
+        assertEquals(collectValues(droppedCursor).size(), 11);
+    }
+
+    @Test
+    void concurrentTraversals() throws InterruptedException {
+        Node<Integer> root = createChain(10000);
+        List<Thread> threads = new ArrayList<>();
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 20; j++) {
+                    sizes.add(collectValues(traversal.postOrderCursor(root)).size());
+                    sizes.add(collectValues(traversal.levelOrderCursor(root)).size());
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(sizes, Collections.nCopies(160, 10001));
+    }
+}